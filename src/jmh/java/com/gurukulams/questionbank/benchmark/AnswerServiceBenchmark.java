@@ -0,0 +1,99 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.AnswerService;
+import com.gurukulams.questionbank.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * answer of every question type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnswerServiceBenchmark {
+
+    /**
+     * Database.
+     */
+    @Param({BenchmarkDatabase.H2})
+    public String database;
+
+    /**
+     * Type of question.
+     */
+    @Param({"CHOOSE_THE_BEST", "MULTI_CHOICE", "MATCH_THE_FOLLOWING",
+            "SINGLE_LINE"})
+    public QuestionType type;
+
+    /**
+     * Question Service.
+     */
+    private QuestionService questionService;
+
+    /**
+     * Answer Service.
+     */
+    private AnswerService answerService;
+
+    /**
+     * Question answered.
+     */
+    private UUID id;
+
+    /**
+     * Answer given.
+     */
+    private String answer;
+
+    /**
+     * Creates the question to answer.
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        questionService = BenchmarkDatabase.questionService(
+                BenchmarkDatabase.dataSource(database));
+        answerService = new AnswerService(questionService);
+        questionService.delete();
+        Question question = Questions.create(questionService, type, null);
+        id = question.getId();
+        answer = Questions.correctAnswer(question);
+    }
+
+    /**
+     * Deletes the questions.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        questionService.delete();
+    }
+
+    /**
+     * answer.
+     *
+     * @return true if correct
+     */
+    @Benchmark
+    public boolean answer() throws SQLException {
+        return answerService.answer(id, answer);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.DataManager;
+import com.gurukulams.questionbank.service.QuestionService;
+import jakarta.validation.Validation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.h2.tools.RunScript;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Databases benchmarks run against. H2 runs embedded with the schema
+ * created from the upgrade scripts; PostgreSQL is expected to be the one
+ * docker compose starts, and is selected with -p database=postgres.
+ * Benchmarks delete all the questions of the database they run against.
+ */
+final class BenchmarkDatabase {
+
+    /**
+     * Embedded H2.
+     */
+    static final String H2 = "h2";
+
+    /**
+     * Local PostgreSQL.
+     */
+    static final String POSTGRES = "postgres";
+
+    /**
+     * Category of benchmark questions.
+     */
+    static final String CATEGORY = "benchmark";
+
+    /**
+     * H2 URL.
+     */
+    private static final String H2_URL = "jdbc:h2:mem:questionbank;"
+            + "MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Schema scripts, in order.
+     */
+    private static final List<String> SCRIPTS = List.of(
+            "db/upgrades/V1__practice.sql",
+            "db/upgrades/V2__matches.sql",
+            "db/upgrades/V3__indexes.sql",
+            "db/upgrades/V4__answer_text.sql");
+
+    /**
+     * Tells if H2 schema is created.
+     */
+    private static boolean h2Created;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Gets datasource of the database.
+     *
+     * @param database h2 or postgres
+     * @return datasource
+     */
+    static DataSource dataSource(final String database) throws SQLException {
+        if (POSTGRES.equals(database)) {
+            PGSimpleDataSource ds = new PGSimpleDataSource();
+            ds.setURL(System.getProperty("jdbc.url",
+                    "jdbc:postgresql://localhost:5432/questionbank"));
+            ds.setUser(System.getProperty("jdbc.user", "questionbank"));
+            ds.setPassword(System.getProperty("jdbc.password",
+                    "questionbank"));
+            return ds;
+        }
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL(H2_URL);
+        ds.setUser("sa");
+        createH2Schema(ds);
+        return ds;
+    }
+
+    /**
+     * Creates question service on the database.
+     *
+     * @param dataSource the datasource
+     * @return question service
+     */
+    static QuestionService questionService(final DataSource dataSource) {
+        return new QuestionService(Validation
+                .buildDefaultValidatorFactory().getValidator(),
+                DataManager.getManager(),
+                dataSource);
+    }
+
+    private static synchronized void createH2Schema(
+            final DataSource dataSource) throws SQLException {
+        if (!h2Created) {
+            try (Connection connection = dataSource.getConnection()) {
+                for (String script : SCRIPTS) {
+                    try (InputStream stream = BenchmarkDatabase.class
+                            .getClassLoader().getResourceAsStream(script);
+                         Reader reader = new InputStreamReader(stream,
+                                 StandardCharsets.UTF_8)) {
+                        RunScript.execute(connection, reader);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+            h2Created = true;
+        }
+    }
+}
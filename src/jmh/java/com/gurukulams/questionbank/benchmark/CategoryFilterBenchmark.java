@@ -0,0 +1,117 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.CategoryIndex;
+import com.gurukulams.questionbank.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * list filtered by categories, in database and with category index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryFilterBenchmark {
+
+    /**
+     * Categories questions are spread across.
+     */
+    private static final int NO_OF_CATEGORIES = 8;
+
+    /**
+     * Questions created per combination of categories.
+     */
+    private static final int QUESTIONS_PER_GROUP = 20;
+
+    /**
+     * Database.
+     */
+    @Param({BenchmarkDatabase.H2})
+    public String database;
+
+    /**
+     * No of categories filtered.
+     */
+    @Param({"1", "3", "8"})
+    public int categories;
+
+    /**
+     * Filter; sql for in database and bitmap for category index.
+     */
+    @Param({"sql", "bitmap"})
+    public String filter;
+
+    /**
+     * Question Service.
+     */
+    private QuestionService questionService;
+
+    /**
+     * Categories to filter.
+     */
+    private List<String> filtered;
+
+    /**
+     * Creates questions in every combination of leading categories.
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        DataSource dataSource = BenchmarkDatabase.dataSource(database);
+        questionService = BenchmarkDatabase.questionService(dataSource);
+        questionService.delete();
+        List<String> all = IntStream.range(0, NO_OF_CATEGORIES)
+                .mapToObj(i -> BenchmarkDatabase.CATEGORY + i).toList();
+        for (int i = 1; i <= NO_OF_CATEGORIES; i++) {
+            questionService.createAll(all.subList(0, i), null,
+                    QuestionService.OWNER_USER,
+                    IntStream.range(0, QUESTIONS_PER_GROUP).mapToObj(j ->
+                            Questions.of(QuestionType.CHOOSE_THE_BEST)));
+        }
+        filtered = new ArrayList<>(all.subList(0, categories));
+        if ("bitmap".equals(filter)) {
+            questionService.setCategoryIndex(
+                    CategoryIndex.load(dataSource));
+        }
+    }
+
+    /**
+     * Deletes the questions.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        questionService.delete();
+    }
+
+    /**
+     * list.
+     *
+     * @return questions
+     */
+    @Benchmark
+    public List<Question> list() throws SQLException {
+        return questionService.list(QuestionService.OWNER_USER, null,
+                filtered);
+    }
+}
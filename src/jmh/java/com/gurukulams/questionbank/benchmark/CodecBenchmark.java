@@ -0,0 +1,118 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.codec.QuestionCodec;
+import com.gurukulams.questionbank.codec.QuestionView;
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * encode and decode of questions in binary form, and reads of a field
+ * through a view without decoding the question.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    /**
+     * Type of question.
+     */
+    @Param({"CHOOSE_THE_BEST", "MATCH_THE_FOLLOWING"})
+    public QuestionType type;
+
+    /**
+     * Question.
+     */
+    private Question question;
+
+    /**
+     * Buffer questions are encoded into.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Encoded question.
+     */
+    private ByteBuffer encoded;
+
+    /**
+     * View reused across reads.
+     */
+    private final QuestionView view = new QuestionView();
+
+    /**
+     * Builds question as it is read from database.
+     */
+    @Setup
+    public void setUp() {
+        question = Questions.of(type);
+        question.setId(UUID.randomUUID());
+        question.setCreatedBy("tom");
+        question.setCreatedAt(LocalDateTime.now());
+        question.setChoices(withIds(question.getChoices()));
+        question.setMatches(withIds(question.getMatches()));
+        buffer = ByteBuffer.allocate(QuestionCodec.encodedSize(question));
+        encoded = ByteBuffer.wrap(QuestionCodec.encode(question));
+    }
+
+    private List<QuestionChoice> withIds(final List<QuestionChoice> choices) {
+        return choices == null ? null : choices.stream()
+                .map(choice -> new QuestionChoice(UUID.randomUUID(),
+                        question.getId(), choice.cValue(), choice.isAnswer()))
+                .toList();
+    }
+
+    /**
+     * Encodes question into a buffer.
+     *
+     * @return buffer
+     */
+    @Benchmark
+    public ByteBuffer encode() {
+        buffer.clear();
+        QuestionCodec.encode(question, buffer);
+        return buffer;
+    }
+
+    /**
+     * Decodes whole question.
+     *
+     * @return question
+     */
+    @Benchmark
+    public Question decode() {
+        encoded.clear();
+        return QuestionCodec.decode(encoded);
+    }
+
+    /**
+     * Reads id of the first choice through a view.
+     *
+     * @return choice id
+     */
+    @Benchmark
+    public UUID view() {
+        return view.wrap(encoded, 0).choiceId(0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * list of categories of varying size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListBenchmark {
+
+    /**
+     * Types of questions listed, in turns.
+     */
+    private static final QuestionType[] TYPES = {
+            QuestionType.CHOOSE_THE_BEST,
+            QuestionType.MULTI_CHOICE,
+            QuestionType.MATCH_THE_FOLLOWING,
+            QuestionType.SINGLE_LINE};
+
+    /**
+     * Database.
+     */
+    @Param({BenchmarkDatabase.H2})
+    public String database;
+
+    /**
+     * No of questions in the category.
+     */
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    /**
+     * Locale language; none for non localized.
+     */
+    @Param({"none", "de"})
+    public String language;
+
+    /**
+     * Question Service.
+     */
+    private QuestionService questionService;
+
+    /**
+     * Locale.
+     */
+    private Locale locale;
+
+    /**
+     * Creates the questions to list.
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        questionService = BenchmarkDatabase.questionService(
+                BenchmarkDatabase.dataSource(database));
+        questionService.delete();
+        locale = "none".equals(language) ? null : Locale.of(language);
+        questionService.createAll(List.of(BenchmarkDatabase.CATEGORY),
+                locale, QuestionService.OWNER_USER,
+                IntStream.range(0, size)
+                        .mapToObj(i -> Questions.of(TYPES[i % TYPES.length])));
+    }
+
+    /**
+     * Deletes the questions.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        questionService.delete();
+    }
+
+    /**
+     * list.
+     *
+     * @return questions
+     */
+    @Benchmark
+    public List<Question> list() throws SQLException {
+        return questionService.list(QuestionService.OWNER_USER, locale,
+                List.of(BenchmarkDatabase.CATEGORY));
+    }
+}
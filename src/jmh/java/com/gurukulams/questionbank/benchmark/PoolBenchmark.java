@@ -0,0 +1,184 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.jdbc.PooledDataSource;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.QuestionService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * read with and without the connection pool, from more threads than
+ * there are pooled connections. Opening a connection is cheap in embedded
+ * H2; run with -p database=postgres to see the cost of the handshake.
+ * Connections acquired from the pool and the time waited for them are
+ * reported as secondary results of each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PoolBenchmark {
+
+    /**
+     * Database.
+     */
+    @Param({BenchmarkDatabase.H2})
+    public String database;
+
+    /**
+     * Pool; none for the datasource itself.
+     */
+    @Param({"none", "pooled"})
+    public String pool;
+
+    /**
+     * Max no of pooled connections.
+     */
+    @Param({"4"})
+    public int poolSize;
+
+    /**
+     * Pooled datasource, if any.
+     */
+    private PooledDataSource pooledDataSource;
+
+    /**
+     * Question Service.
+     */
+    private QuestionService questionService;
+
+    /**
+     * Question read.
+     */
+    private UUID id;
+
+    /**
+     * Creates the question to read.
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        DataSource dataSource = BenchmarkDatabase.dataSource(database);
+        if ("pooled".equals(pool)) {
+            pooledDataSource = new PooledDataSource(dataSource, poolSize,
+                    Duration.ofSeconds(30), Duration.ofMinutes(1));
+            dataSource = pooledDataSource;
+        }
+        questionService = BenchmarkDatabase.questionService(dataSource);
+        questionService.delete();
+        id = Questions.create(questionService,
+                QuestionType.MATCH_THE_FOLLOWING, null).getId();
+    }
+
+    /**
+     * Deletes the questions and closes the pool.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        questionService.delete();
+        if (pooledDataSource != null) {
+            pooledDataSource.close();
+        }
+    }
+
+    /**
+     * read.
+     *
+     * @param counters pool counters of the iteration
+     * @return question
+     */
+    @Benchmark
+    public Optional<Question> read(final PoolCounters counters)
+            throws SQLException {
+        return questionService.read(id, null);
+    }
+
+    /**
+     * Pool counters of an iteration, reported by JMH with the score. The
+     * pool is shared by all the threads, so only the first one counts.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PoolCounters {
+
+        /**
+         * Connections acquired in the iteration.
+         */
+        public long acquired;
+
+        /**
+         * Milliseconds waited for connections in the iteration.
+         */
+        public long waitedMillis;
+
+        /**
+         * Pool counted, if any.
+         */
+        private PooledDataSource counted;
+
+        /**
+         * Acquire count at the start of the iteration.
+         */
+        private long acquiredBefore;
+
+        /**
+         * Wait time at the start of the iteration.
+         */
+        private Duration waitedBefore;
+
+        /**
+         * Starts counting, on the first thread of a pooled benchmark.
+         *
+         * @param benchmark the benchmark
+         * @param threads   the thread params
+         */
+        @Setup(Level.Iteration)
+        public void start(final PoolBenchmark benchmark,
+                          final ThreadParams threads) {
+            acquired = 0;
+            waitedMillis = 0;
+            counted = threads.getThreadIndex() == 0
+                    ? benchmark.pooledDataSource : null;
+            if (counted != null) {
+                acquiredBefore = counted.getAcquireCount();
+                waitedBefore = counted.getWaitTime();
+            }
+        }
+
+        /**
+         * Counts the iteration.
+         */
+        @TearDown(Level.Iteration)
+        public void stop() {
+            if (counted != null) {
+                acquired = counted.getAcquireCount() - acquiredBefore;
+                waitedMillis = counted.getWaitTime().minus(waitedBefore)
+                        .toMillis();
+            }
+        }
+    }
+}
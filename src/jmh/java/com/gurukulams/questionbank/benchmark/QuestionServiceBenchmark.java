@@ -0,0 +1,109 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * read and create of every question type, with and without locale.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionServiceBenchmark {
+
+    /**
+     * Database.
+     */
+    @Param({BenchmarkDatabase.H2})
+    public String database;
+
+    /**
+     * Type of question.
+     */
+    @Param({"CHOOSE_THE_BEST", "MULTI_CHOICE", "MATCH_THE_FOLLOWING",
+            "SINGLE_LINE", "MULTI_LINE", "CODE_SQL", "CODE_JAVA"})
+    public QuestionType type;
+
+    /**
+     * Locale language; none for non localized.
+     */
+    @Param({"none", "de"})
+    public String language;
+
+    /**
+     * Question Service.
+     */
+    private QuestionService questionService;
+
+    /**
+     * Locale.
+     */
+    private Locale locale;
+
+    /**
+     * Question read.
+     */
+    private UUID id;
+
+    /**
+     * Creates the question to read.
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        questionService = BenchmarkDatabase.questionService(
+                BenchmarkDatabase.dataSource(database));
+        questionService.delete();
+        locale = "none".equals(language) ? null : Locale.of(language);
+        id = Questions.create(questionService, type, locale).getId();
+    }
+
+    /**
+     * Deletes the questions.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        questionService.delete();
+    }
+
+    /**
+     * read.
+     *
+     * @return question
+     */
+    @Benchmark
+    public Optional<Question> read() throws SQLException {
+        return questionService.read(id, locale);
+    }
+
+    /**
+     * create.
+     *
+     * @return question
+     */
+    @Benchmark
+    public Question create() throws SQLException {
+        return Questions.create(questionService, type, locale);
+    }
+}
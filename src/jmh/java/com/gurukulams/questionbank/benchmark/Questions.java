@@ -0,0 +1,112 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.QuestionService;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Valid questions of every type for benchmarks.
+ */
+final class Questions {
+
+    /**
+     * Choices of a question.
+     */
+    private static final List<String> CHOICES =
+            List.of("Java", "C", "Tamil", "English");
+
+    /**
+     * Matches of a match the following question.
+     */
+    private static final List<String> MATCHES = List.of("Object Oriented",
+            "System Language", "Regional Language", "Universal Language");
+
+    private Questions() {
+    }
+
+    /**
+     * Builds a valid question.
+     *
+     * @param type the type
+     * @return question
+     */
+    static Question of(final QuestionType type) {
+        Question question = new Question();
+        question.setType(type);
+        question.setQuestion("Which one of the following is a "
+                + "Object Oriented Language?");
+        question.setExplanation("Language that supports class and objects");
+        switch (type) {
+            case CHOOSE_THE_BEST, MULTI_CHOICE -> {
+                List<QuestionChoice> choices = new ArrayList<>();
+                for (String choice : CHOICES) {
+                    choices.add(new QuestionChoice(null, null, choice,
+                            choice.equals("Java")
+                                    || (type == QuestionType.MULTI_CHOICE
+                                    && choice.equals("C"))));
+                }
+                question.setChoices(choices);
+            }
+            case MATCH_THE_FOLLOWING -> {
+                question.setChoices(choices(CHOICES));
+                question.setMatches(choices(MATCHES));
+            }
+            default -> question.setAnswer("Java");
+        }
+        return question;
+    }
+
+    /**
+     * Creates a question.
+     *
+     * @param questionService the question service
+     * @param type            the type
+     * @param locale          the locale
+     * @return created question
+     */
+    static Question create(final QuestionService questionService,
+                           final QuestionType type,
+                           final Locale locale) throws SQLException {
+        return questionService.create(List.of(BenchmarkDatabase.CATEGORY),
+                null, type, locale, QuestionService.OWNER_USER, of(type))
+                .get();
+    }
+
+    /**
+     * Gets correct answer of a created question.
+     *
+     * @param question the question
+     * @return answer
+     */
+    static String correctAnswer(final Question question) {
+        return switch (question.getType()) {
+            case CHOOSE_THE_BEST, MULTI_CHOICE -> question.getChoices()
+                    .stream()
+                    .filter(QuestionChoice::isAnswer)
+                    .map(choice -> choice.id().toString())
+                    .collect(Collectors.joining(","));
+            case MATCH_THE_FOLLOWING -> Stream.concat(
+                    question.getChoices().stream(),
+                    question.getMatches().stream())
+                    .map(choice -> choice.id().toString())
+                    .collect(Collectors.joining(","));
+            default -> question.getAnswer();
+        };
+    }
+
+    private static List<QuestionChoice> choices(final List<String> values) {
+        List<QuestionChoice> choices = new ArrayList<>();
+        for (String value : values) {
+            choices.add(new QuestionChoice(null, null, value, false));
+        }
+        return choices;
+    }
+}
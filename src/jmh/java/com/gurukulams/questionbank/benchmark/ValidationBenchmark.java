@@ -0,0 +1,165 @@
+package com.gurukulams.questionbank.benchmark;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.service.QuestionValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.internal.engine.ConstraintViolationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * validation of the questions of a 100k question import, of every type
+ * and one in a hundred invalid, by Hibernate Validator with violations
+ * built per rule, as before, and by the validator compiled per type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    /**
+     * No of questions imported.
+     */
+    private static final int NO_OF_QUESTIONS = 100_000;
+
+    /**
+     * One in this many questions is invalid.
+     */
+    private static final int INVALID_EVERY = 100;
+
+    /**
+     * Validation; hibernate for as before and compiled for per type.
+     */
+    @Param({"hibernate", "compiled"})
+    public String validation;
+
+    /**
+     * Bean Validator.
+     */
+    private Validator validator;
+
+    /**
+     * Validator compiled per type.
+     */
+    private QuestionValidator questionValidator;
+
+    /**
+     * Questions imported.
+     */
+    private List<Question> questions;
+
+    /**
+     * Builds the questions.
+     */
+    @Setup
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        questionValidator = new QuestionValidator(validator);
+        final QuestionType[] types = QuestionType.values();
+        questions = new ArrayList<>(NO_OF_QUESTIONS);
+        for (int i = 0; i < NO_OF_QUESTIONS; i++) {
+            final Question question = Questions.of(types[i % types.length]);
+            if (i % INVALID_EVERY == 0) {
+                question.setAnswer(null);
+                question.setChoices(null);
+            }
+            questions.add(question);
+        }
+    }
+
+    /**
+     * validates the questions.
+     *
+     * @return no of invalid questions
+     */
+    @Benchmark
+    public int validate() {
+        int invalid = 0;
+        final boolean compiled = "compiled".equals(validation);
+        for (Question question : questions) {
+            final Set<ConstraintViolation<Question>> violations = compiled
+                    ? questionValidator.validate(question)
+                    : validateWithHibernate(question);
+            if (!violations.isEmpty()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Validates as QuestionService did before rules were compiled.
+     *
+     * @param question the question
+     * @return violations
+     */
+    private Set<ConstraintViolation<Question>> validateWithHibernate(
+            final Question question) {
+        Set<ConstraintViolation<Question>> violations =
+                new HashSet<>(validator.validate(question));
+        if (violations.isEmpty()) {
+            final Map<String, Object> messageParameters = new HashMap<>();
+            final Map<String, Object> expressionVariables = new HashMap<>();
+            String message = null;
+            if (question.getType() == null) {
+                message = "Type is mandatory";
+            } else if (question.getType()
+                    .equals(QuestionType.MATCH_THE_FOLLOWING)) {
+                List<QuestionChoice> choices = question.getChoices();
+                List<QuestionChoice> matches = question.getMatches();
+                if (choices == null || choices.isEmpty()) {
+                    message = "No choices are provided";
+                } else if (matches == null || matches.isEmpty()) {
+                    message = "No matches are provided";
+                } else if (choices.size() > matches.size()) {
+                    message = "Not Enough Matches";
+                }
+            } else if (question.getType().equals(QuestionType.MULTI_CHOICE)
+                    || question.getType()
+                    .equals(QuestionType.CHOOSE_THE_BEST)) {
+                List<QuestionChoice> choices = question.getChoices();
+                if (choices == null || choices.size() < 2) {
+                    message = "Minimum 2 choices";
+                } else if (choices.stream()
+                        .filter(choice -> choice.isAnswer() != null
+                                && choice.isAnswer())
+                        .findFirst().isEmpty()) {
+                    message = "At-least One Answer should be available";
+                }
+            } else if (question.getAnswer() == null) {
+                message = "Answer should not be empty";
+            }
+            if (message != null) {
+                violations.add(ConstraintViolationImpl.forBeanValidation(
+                        null, messageParameters, expressionVariables,
+                        message, Question.class, question, null, null,
+                        null, null, null));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,397 @@
+package com.gurukulams.questionbank.codec;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, versioned binary form of a Question. Ids are written as two
+ * longs, the type as its ordinal, lengths as varints and text as UTF-8.
+ * <p>
+ * Layout, after the version byte and a byte of flags telling which of
+ * the optional parts are present:
+ * <pre>
+ * id          long, long        (if present)
+ * type        byte              (if present)
+ * question, explanation, answer, createdBy   text
+ * createdAt, updatedAt          long seconds, int nanos (if present)
+ * choices, matches              varint count, choice... (if present)
+ *
+ * text        varint length + 1 (0 for null), UTF-8 bytes
+ * choice      byte flags, id (if present), question id (if it differs
+ *             from the id of the question), value text
+ * </pre>
+ * Encoded questions are read back field by field, without copying, with
+ * a {@link QuestionView}.
+ */
+public final class QuestionCodec {
+
+    /**
+     * Version of the format.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Flag of id.
+     */
+    static final int HAS_ID = 1;
+
+    /**
+     * Flag of type.
+     */
+    static final int HAS_TYPE = 1 << 1;
+
+    /**
+     * Flag of created at.
+     */
+    static final int HAS_CREATED_AT = 1 << 2;
+
+    /**
+     * Flag of updated at.
+     */
+    static final int HAS_UPDATED_AT = 1 << 3;
+
+    /**
+     * Flag of choices.
+     */
+    static final int HAS_CHOICES = 1 << 4;
+
+    /**
+     * Flag of matches.
+     */
+    static final int HAS_MATCHES = 1 << 5;
+
+    /**
+     * Flag of choice id.
+     */
+    static final int CHOICE_HAS_ID = 1;
+
+    /**
+     * Flag of choice of the question it is encoded with.
+     */
+    static final int CHOICE_OF_QUESTION = 1 << 1;
+
+    /**
+     * Flag of choice with question id of its own.
+     */
+    static final int CHOICE_HAS_QUESTION_ID = 1 << 2;
+
+    /**
+     * Flag of choice telling whether it is an answer.
+     */
+    static final int CHOICE_HAS_IS_ANSWER = 1 << 3;
+
+    /**
+     * Flag of choice that is an answer.
+     */
+    static final int CHOICE_IS_ANSWER = 1 << 4;
+
+    /**
+     * Bytes of an id.
+     */
+    static final int ID_BYTES = 2 * Long.BYTES;
+
+    /**
+     * Bytes of a time.
+     */
+    static final int TIME_BYTES = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Bits of a varint byte that carry the value.
+     */
+    static final int VARINT_BITS = 7;
+
+    /**
+     * Value bits of a varint byte.
+     */
+    static final int VARINT_VALUE = 0x7F;
+
+    /**
+     * Bit of a varint byte telling that more bytes follow.
+     */
+    static final int VARINT_MORE = 0x80;
+
+    /**
+     * Largest code point encoded in one byte of UTF-8.
+     */
+    private static final int UTF8_ONE_BYTE = 0x7F;
+
+    /**
+     * Largest code point encoded in two bytes of UTF-8.
+     */
+    private static final int UTF8_TWO_BYTES = 0x7FF;
+
+    /**
+     * Bytes of UTF-8 of a surrogate pair.
+     */
+    private static final int UTF8_SURROGATE_PAIR = 4;
+
+    /**
+     * Bytes of UTF-8 of the other chars.
+     */
+    private static final int UTF8_THREE_BYTES = 3;
+
+    private QuestionCodec() {
+    }
+
+    /**
+     * Encodes question.
+     *
+     * @param question the question
+     * @return bytes
+     */
+    public static byte[] encode(final Question question) {
+        final ByteBuffer buffer = ByteBuffer.allocate(encodedSize(question));
+        encode(question, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Encodes question into the buffer, at its position.
+     *
+     * @param question the question
+     * @param buffer   the buffer
+     */
+    public static void encode(final Question question,
+                              final ByteBuffer buffer) {
+        buffer.put(VERSION);
+        buffer.put((byte) flags(question));
+        if (question.getId() != null) {
+            putId(buffer, question.getId());
+        }
+        if (question.getType() != null) {
+            buffer.put((byte) question.getType().ordinal());
+        }
+        putText(buffer, question.getQuestion());
+        putText(buffer, question.getExplanation());
+        putText(buffer, question.getAnswer());
+        putText(buffer, question.getCreatedBy());
+        if (question.getCreatedAt() != null) {
+            putTime(buffer, question.getCreatedAt());
+        }
+        if (question.getUpdatedAt() != null) {
+            putTime(buffer, question.getUpdatedAt());
+        }
+        if (question.getChoices() != null) {
+            putChoices(buffer, question.getId(), question.getChoices());
+        }
+        if (question.getMatches() != null) {
+            putChoices(buffer, question.getId(), question.getMatches());
+        }
+    }
+
+    /**
+     * Decodes question at the position of the buffer and moves past it.
+     *
+     * @param buffer the buffer
+     * @return question
+     */
+    public static Question decode(final ByteBuffer buffer) {
+        final QuestionView view = new QuestionView()
+                .wrap(buffer, buffer.position());
+        buffer.position(buffer.position() + view.length());
+        return view.toQuestion();
+    }
+
+    /**
+     * Decodes question.
+     *
+     * @param bytes the bytes
+     * @return question
+     */
+    public static Question decode(final byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Computes no of bytes question is encoded in.
+     *
+     * @param question the question
+     * @return size
+     */
+    public static int encodedSize(final Question question) {
+        int size = 2;
+        if (question.getId() != null) {
+            size += ID_BYTES;
+        }
+        if (question.getType() != null) {
+            size++;
+        }
+        size += textSize(question.getQuestion())
+                + textSize(question.getExplanation())
+                + textSize(question.getAnswer())
+                + textSize(question.getCreatedBy());
+        if (question.getCreatedAt() != null) {
+            size += TIME_BYTES;
+        }
+        if (question.getUpdatedAt() != null) {
+            size += TIME_BYTES;
+        }
+        if (question.getChoices() != null) {
+            size += choicesSize(question.getId(), question.getChoices());
+        }
+        if (question.getMatches() != null) {
+            size += choicesSize(question.getId(), question.getMatches());
+        }
+        return size;
+    }
+
+    private static int flags(final Question question) {
+        int flags = 0;
+        if (question.getId() != null) {
+            flags |= HAS_ID;
+        }
+        if (question.getType() != null) {
+            flags |= HAS_TYPE;
+        }
+        if (question.getCreatedAt() != null) {
+            flags |= HAS_CREATED_AT;
+        }
+        if (question.getUpdatedAt() != null) {
+            flags |= HAS_UPDATED_AT;
+        }
+        if (question.getChoices() != null) {
+            flags |= HAS_CHOICES;
+        }
+        if (question.getMatches() != null) {
+            flags |= HAS_MATCHES;
+        }
+        return flags;
+    }
+
+    private static int choiceFlags(final UUID questionId,
+                                   final QuestionChoice choice) {
+        int flags = 0;
+        if (choice.id() != null) {
+            flags |= CHOICE_HAS_ID;
+        }
+        if (choice.questionId() != null) {
+            flags |= choice.questionId().equals(questionId)
+                    ? CHOICE_OF_QUESTION : CHOICE_HAS_QUESTION_ID;
+        }
+        if (choice.isAnswer() != null) {
+            flags |= CHOICE_HAS_IS_ANSWER;
+            if (choice.isAnswer()) {
+                flags |= CHOICE_IS_ANSWER;
+            }
+        }
+        return flags;
+    }
+
+    private static void putChoices(final ByteBuffer buffer,
+                                   final UUID questionId,
+                                   final List<QuestionChoice> choices) {
+        putVarint(buffer, choices.size());
+        for (QuestionChoice choice : choices) {
+            final int flags = choiceFlags(questionId, choice);
+            buffer.put((byte) flags);
+            if (choice.id() != null) {
+                putId(buffer, choice.id());
+            }
+            if ((flags & CHOICE_HAS_QUESTION_ID) != 0) {
+                putId(buffer, choice.questionId());
+            }
+            putText(buffer, choice.cValue());
+        }
+    }
+
+    private static int choicesSize(final UUID questionId,
+                                   final List<QuestionChoice> choices) {
+        int size = varintSize(choices.size());
+        for (QuestionChoice choice : choices) {
+            size++;
+            if (choice.id() != null) {
+                size += ID_BYTES;
+            }
+            if ((choiceFlags(questionId, choice)
+                    & CHOICE_HAS_QUESTION_ID) != 0) {
+                size += ID_BYTES;
+            }
+            size += textSize(choice.cValue());
+        }
+        return size;
+    }
+
+    private static void putId(final ByteBuffer buffer, final UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static void putTime(final ByteBuffer buffer,
+                                final LocalDateTime time) {
+        buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(time.getNano());
+    }
+
+    private static void putText(final ByteBuffer buffer, final String text) {
+        if (text == null) {
+            putVarint(buffer, 0);
+        } else {
+            final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            putVarint(buffer, bytes.length + 1);
+            buffer.put(bytes);
+        }
+    }
+
+    private static int textSize(final String text) {
+        if (text == null) {
+            return 1;
+        }
+        final int length = utf8Length(text);
+        return varintSize(length + 1) + length;
+    }
+
+    /**
+     * Counts bytes of UTF-8 of text without encoding it.
+     *
+     * @param text the text
+     * @return no of bytes
+     */
+    private static int utf8Length(final String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c <= UTF8_ONE_BYTE) {
+                length++;
+            } else if (c <= UTF8_TWO_BYTES) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += UTF8_SURROGATE_PAIR;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogates are replaced by '?'
+                length++;
+            } else {
+                length += UTF8_THREE_BYTES;
+            }
+        }
+        return length;
+    }
+
+    private static void putVarint(final ByteBuffer buffer, final int value) {
+        int remaining = value;
+        while ((remaining & ~VARINT_VALUE) != 0) {
+            buffer.put((byte) ((remaining & VARINT_VALUE) | VARINT_MORE));
+            remaining >>>= VARINT_BITS;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    private static int varintSize(final int value) {
+        int size = 1;
+        int remaining = value >>> VARINT_BITS;
+        while (remaining != 0) {
+            size++;
+            remaining >>>= VARINT_BITS;
+        }
+        return size;
+    }
+}
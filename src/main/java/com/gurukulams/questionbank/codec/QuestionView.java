@@ -0,0 +1,467 @@
+package com.gurukulams.questionbank.codec;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flyweight over a question encoded by {@link QuestionCodec}. Wrapping
+ * only finds where the fields are; they are read from the buffer when
+ * asked for, so reading the id or the type of a question costs no copy of
+ * its text. A view is reused by wrapping it again and is not thread safe.
+ */
+public final class QuestionView {
+
+    /**
+     * Options a view makes room for at first.
+     */
+    private static final int INITIAL_OPTIONS = 8;
+
+    /**
+     * Question types by ordinal.
+     */
+    private static final QuestionType[] TYPES = QuestionType.values();
+
+    /**
+     * Index of question among the texts.
+     */
+    private static final int QUESTION = 0;
+
+    /**
+     * Index of explanation among the texts.
+     */
+    private static final int EXPLANATION = 1;
+
+    /**
+     * Index of answer among the texts.
+     */
+    private static final int ANSWER = 2;
+
+    /**
+     * Index of created by among the texts.
+     */
+    private static final int CREATED_BY = 3;
+
+    /**
+     * No of texts.
+     */
+    private static final int TEXTS = 4;
+
+    /**
+     * Buffer wrapped.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Offset of the question.
+     */
+    private int offset;
+
+    /**
+     * Flags of the question.
+     */
+    private int flags;
+
+    /**
+     * Offset of the type.
+     */
+    private int typeOffset;
+
+    /**
+     * Offset of the question text; other texts follow it.
+     */
+    private int textOffset;
+
+    /**
+     * Offset of the times.
+     */
+    private int timeOffset;
+
+    /**
+     * Offsets of options; choices followed by matches.
+     */
+    private int[] optionOffsets = new int[INITIAL_OPTIONS];
+
+    /**
+     * No of choices.
+     */
+    private int choiceCount;
+
+    /**
+     * No of matches.
+     */
+    private int matchCount;
+
+    /**
+     * Offset past the question.
+     */
+    private int end;
+
+    /**
+     * Position while finding fields.
+     */
+    private int cursor;
+
+    /**
+     * Wraps question encoded at the offset of the buffer. The position of
+     * the buffer is left as it is.
+     *
+     * @param aBuffer the buffer
+     * @param anOffset the offset
+     * @return this view
+     */
+    public QuestionView wrap(final ByteBuffer aBuffer, final int anOffset) {
+        this.buffer = aBuffer;
+        this.offset = anOffset;
+        final byte version = aBuffer.get(anOffset);
+        if (version != QuestionCodec.VERSION) {
+            throw new IllegalArgumentException(
+                    "Unsupported version " + version);
+        }
+        this.flags = aBuffer.get(anOffset + 1);
+        this.cursor = anOffset + 2;
+        if (has(QuestionCodec.HAS_ID)) {
+            cursor += QuestionCodec.ID_BYTES;
+        }
+        this.typeOffset = cursor;
+        if (has(QuestionCodec.HAS_TYPE)) {
+            cursor++;
+        }
+        this.textOffset = cursor;
+        for (int i = 0; i < TEXTS; i++) {
+            skipText();
+        }
+        this.timeOffset = cursor;
+        if (has(QuestionCodec.HAS_CREATED_AT)) {
+            cursor += QuestionCodec.TIME_BYTES;
+        }
+        if (has(QuestionCodec.HAS_UPDATED_AT)) {
+            cursor += QuestionCodec.TIME_BYTES;
+        }
+        this.choiceCount = has(QuestionCodec.HAS_CHOICES)
+                ? skipOptions(0) : 0;
+        this.matchCount = has(QuestionCodec.HAS_MATCHES)
+                ? skipOptions(choiceCount) : 0;
+        this.end = cursor;
+        return this;
+    }
+
+    private boolean has(final int flag) {
+        return (flags & flag) != 0;
+    }
+
+    private int skipOptions(final int from) {
+        final int count = readVarint();
+        if (optionOffsets.length < from + count) {
+            optionOffsets = Arrays.copyOf(optionOffsets,
+                    Math.max(from + count, optionOffsets.length * 2));
+        }
+        for (int i = 0; i < count; i++) {
+            optionOffsets[from + i] = cursor;
+            final int optionFlags = buffer.get(cursor++);
+            if ((optionFlags & QuestionCodec.CHOICE_HAS_ID) != 0) {
+                cursor += QuestionCodec.ID_BYTES;
+            }
+            if ((optionFlags & QuestionCodec.CHOICE_HAS_QUESTION_ID) != 0) {
+                cursor += QuestionCodec.ID_BYTES;
+            }
+            skipText();
+        }
+        return count;
+    }
+
+    private void skipText() {
+        final int length = readVarint();
+        if (length > 0) {
+            cursor += length - 1;
+        }
+    }
+
+    private int readVarint() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get(cursor++);
+            value |= (b & QuestionCodec.VARINT_VALUE) << shift;
+            shift += QuestionCodec.VARINT_BITS;
+        } while ((b & QuestionCodec.VARINT_MORE) != 0);
+        return value;
+    }
+
+    /**
+     * gets no of bytes of the question.
+     *
+     * @return length
+     */
+    public int length() {
+        return end - offset;
+    }
+
+    /**
+     * gets id.
+     *
+     * @return id; null if absent
+     */
+    public UUID getId() {
+        return has(QuestionCodec.HAS_ID) ? readId(offset + 2) : null;
+    }
+
+    /**
+     * gets type.
+     *
+     * @return type; null if absent
+     */
+    public QuestionType getType() {
+        return has(QuestionCodec.HAS_TYPE)
+                ? TYPES[buffer.get(typeOffset)] : null;
+    }
+
+    /**
+     * gets question.
+     *
+     * @return question
+     */
+    public String getQuestion() {
+        return readText(QUESTION);
+    }
+
+    /**
+     * gets explanation.
+     *
+     * @return explanation
+     */
+    public String getExplanation() {
+        return readText(EXPLANATION);
+    }
+
+    /**
+     * gets answer.
+     *
+     * @return answer
+     */
+    public String getAnswer() {
+        return readText(ANSWER);
+    }
+
+    /**
+     * gets created by.
+     *
+     * @return created by
+     */
+    public String getCreatedBy() {
+        return readText(CREATED_BY);
+    }
+
+    /**
+     * gets created at.
+     *
+     * @return created at; null if absent
+     */
+    public LocalDateTime getCreatedAt() {
+        return has(QuestionCodec.HAS_CREATED_AT)
+                ? readTime(timeOffset) : null;
+    }
+
+    /**
+     * gets updated at.
+     *
+     * @return updated at; null if absent
+     */
+    public LocalDateTime getUpdatedAt() {
+        if (!has(QuestionCodec.HAS_UPDATED_AT)) {
+            return null;
+        }
+        return readTime(has(QuestionCodec.HAS_CREATED_AT)
+                ? timeOffset + QuestionCodec.TIME_BYTES : timeOffset);
+    }
+
+    /**
+     * Tells whether question has choices, even if none.
+     *
+     * @return true if choices are present
+     */
+    public boolean hasChoices() {
+        return has(QuestionCodec.HAS_CHOICES);
+    }
+
+    /**
+     * gets no of choices.
+     *
+     * @return no of choices
+     */
+    public int choiceCount() {
+        return choiceCount;
+    }
+
+    /**
+     * gets choice.
+     *
+     * @param index the index
+     * @return choice
+     */
+    public QuestionChoice choice(final int index) {
+        return option(optionOffsets[checkIndex(index, choiceCount)]);
+    }
+
+    /**
+     * gets id of choice.
+     *
+     * @param index the index
+     * @return id; null if absent
+     */
+    public UUID choiceId(final int index) {
+        final int at = optionOffsets[checkIndex(index, choiceCount)];
+        return (buffer.get(at) & QuestionCodec.CHOICE_HAS_ID) != 0
+                ? readId(at + 1) : null;
+    }
+
+    /**
+     * Tells whether choice is an answer.
+     *
+     * @param index the index
+     * @return isAnswer; null if absent
+     */
+    public Boolean isAnswer(final int index) {
+        return answerOf(
+                buffer.get(optionOffsets[checkIndex(index, choiceCount)]));
+    }
+
+    /**
+     * Tells whether question has matches, even if none.
+     *
+     * @return true if matches are present
+     */
+    public boolean hasMatches() {
+        return has(QuestionCodec.HAS_MATCHES);
+    }
+
+    /**
+     * gets no of matches.
+     *
+     * @return no of matches
+     */
+    public int matchCount() {
+        return matchCount;
+    }
+
+    /**
+     * gets match.
+     *
+     * @param index the index
+     * @return match
+     */
+    public QuestionChoice match(final int index) {
+        return option(optionOffsets[choiceCount
+                + checkIndex(index, matchCount)]);
+    }
+
+    /**
+     * Reads the whole question.
+     *
+     * @return question
+     */
+    public Question toQuestion() {
+        final Question question = new Question();
+        question.setId(getId());
+        question.setType(getType());
+        cursor = textOffset;
+        question.setQuestion(nextText());
+        question.setExplanation(nextText());
+        question.setAnswer(nextText());
+        question.setCreatedBy(nextText());
+        question.setCreatedAt(getCreatedAt());
+        question.setUpdatedAt(getUpdatedAt());
+        if (hasChoices()) {
+            final List<QuestionChoice> choices = new ArrayList<>(choiceCount);
+            for (int i = 0; i < choiceCount; i++) {
+                choices.add(choice(i));
+            }
+            question.setChoices(choices);
+        }
+        if (hasMatches()) {
+            final List<QuestionChoice> matches = new ArrayList<>(matchCount);
+            for (int i = 0; i < matchCount; i++) {
+                matches.add(match(i));
+            }
+            question.setMatches(matches);
+        }
+        return question;
+    }
+
+    private static int checkIndex(final int index, final int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index;
+    }
+
+    private QuestionChoice option(final int at) {
+        final int optionFlags = buffer.get(at);
+        cursor = at + 1;
+        UUID id = null;
+        if ((optionFlags & QuestionCodec.CHOICE_HAS_ID) != 0) {
+            id = readId(cursor);
+            cursor += QuestionCodec.ID_BYTES;
+        }
+        UUID questionId = null;
+        if ((optionFlags & QuestionCodec.CHOICE_HAS_QUESTION_ID) != 0) {
+            questionId = readId(cursor);
+            cursor += QuestionCodec.ID_BYTES;
+        } else if ((optionFlags & QuestionCodec.CHOICE_OF_QUESTION) != 0) {
+            questionId = getId();
+        }
+        return new QuestionChoice(id, questionId, nextText(),
+                answerOf(optionFlags));
+    }
+
+    private static Boolean answerOf(final int optionFlags) {
+        return (optionFlags & QuestionCodec.CHOICE_HAS_IS_ANSWER) != 0
+                ? (optionFlags & QuestionCodec.CHOICE_IS_ANSWER) != 0 : null;
+    }
+
+    private String readText(final int index) {
+        cursor = textOffset;
+        for (int i = 0; i < index; i++) {
+            skipText();
+        }
+        return nextText();
+    }
+
+    private String nextText() {
+        final int length = readVarint() - 1;
+        if (length < 0) {
+            return null;
+        }
+        final String text;
+        if (buffer.hasArray()) {
+            text = new String(buffer.array(),
+                    buffer.arrayOffset() + cursor, length,
+                    StandardCharsets.UTF_8);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(cursor, bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        cursor += length;
+        return text;
+    }
+
+    private UUID readId(final int at) {
+        return new UUID(buffer.getLong(at), buffer.getLong(at + Long.BYTES));
+    }
+
+    private LocalDateTime readTime(final int at) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(at),
+                buffer.getInt(at + Long.BYTES), ZoneOffset.UTC);
+    }
+}
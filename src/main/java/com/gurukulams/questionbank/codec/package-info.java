@@ -0,0 +1,4 @@
+/**
+ * Binary Encoding of Questions.
+ */
+package com.gurukulams.questionbank.codec;
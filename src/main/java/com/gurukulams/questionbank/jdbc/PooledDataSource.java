@@ -0,0 +1,612 @@
+package com.gurukulams.questionbank.jdbc;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of connections of a DataSource. Callers wait for a free
+ * connection on a fair semaphore, so waiting parks virtual threads
+ * without pinning their carrier. Idle connections are validated before
+ * they are lent and connections held longer than the leak threshold are
+ * reported, with the stack of the caller that borrowed them when leak
+ * traces are on. Statements
+ * prepared with just their sql are cached per connection, so a query
+ * with stable text is prepared on the server once per connection rather
+ * than once per borrow.
+ */
+public final class PooledDataSource implements DataSource, AutoCloseable {
+
+    /**
+     * Default Max no of connections.
+     */
+    private static final int DEFAULT_MAX_SIZE = 10;
+
+    /**
+     * Default time to wait for a connection.
+     */
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Default time a connection is held before it is reported as leaked.
+     */
+    private static final Duration DEFAULT_LEAK_THRESHOLD =
+            Duration.ofMinutes(1);
+
+    /**
+     * Seconds to wait for validation of an idle connection.
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Default Max no of statements cached per connection.
+     */
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    /**
+     * Logger.
+     */
+    private static final System.Logger LOGGER =
+            System.getLogger(PooledDataSource.class.getName());
+
+    /**
+     * DataSource connections are opened with.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Max no of connections.
+     */
+    private final int maxSize;
+
+    /**
+     * Time to wait for a connection.
+     */
+    private final Duration timeout;
+
+    /**
+     * Time a connection is held before it is reported as leaked.
+     */
+    private final Duration leakThreshold;
+
+    /**
+     * Permits to hold a connection; one per connection lent.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle connections, most recently returned first.
+     */
+    private final Deque<Connection> idle = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Connections lent.
+     */
+    private final Map<Connection, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * Statements cached, by pooled connection.
+     */
+    private final Map<Connection, StatementCache> statementCaches =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Tells if the stack of every borrower is captured, to be reported
+     * on leak.
+     */
+    private volatile boolean leakTraces;
+
+    /**
+     * Max no of statements cached per connection; 0 to not cache.
+     */
+    private volatile int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+
+    /**
+     * No of connections lent.
+     */
+    private final LongAdder acquireCount = new LongAdder();
+
+    /**
+     * Total nanoseconds waited for connections.
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * No of borrowers that timed out.
+     */
+    private final LongAdder timeoutCount = new LongAdder();
+
+    /**
+     * No of connections reported as leaked.
+     */
+    private final LongAdder leakCount = new LongAdder();
+
+    /**
+     * No of statements reused from the cache.
+     */
+    private final LongAdder statementCacheHitCount = new LongAdder();
+
+    /**
+     * No of statements prepared as they were not in the cache.
+     */
+    private final LongAdder statementCacheMissCount = new LongAdder();
+
+    /**
+     * Nano time of last leak check.
+     */
+    private final AtomicLong lastLeakCheck =
+            new AtomicLong(System.nanoTime());
+
+    /**
+     * Tells if the pool is closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Builds Pool with default size, timeout and leak threshold.
+     *
+     * @param theDataSource the datasource
+     */
+    public PooledDataSource(final DataSource theDataSource) {
+        this(theDataSource, DEFAULT_MAX_SIZE, DEFAULT_TIMEOUT,
+                DEFAULT_LEAK_THRESHOLD);
+    }
+
+    /**
+     * Builds Pool.
+     *
+     * @param theDataSource    the datasource
+     * @param theMaxSize       max no of connections
+     * @param theTimeout       time to wait for a connection
+     * @param theLeakThreshold time a connection is held before it is
+     *                         reported as leaked
+     */
+    public PooledDataSource(final DataSource theDataSource,
+                            final int theMaxSize,
+                            final Duration theTimeout,
+                            final Duration theLeakThreshold) {
+        if (theMaxSize < 1) {
+            throw new IllegalArgumentException(
+                    "Pool size should be positive");
+        }
+        this.dataSource = theDataSource;
+        this.maxSize = theMaxSize;
+        this.timeout = theTimeout;
+        this.leakThreshold = theLeakThreshold;
+        this.permits = new Semaphore(theMaxSize, true);
+    }
+
+    /**
+     * Sets max no of statements cached per connection. Connections
+     * already pooled keep the size they were cached with.
+     *
+     * @param theStatementCacheSize max no of statements; 0 to not cache
+     */
+    public void setStatementCacheSize(final int theStatementCacheSize) {
+        if (theStatementCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Statement cache size should not be negative");
+        }
+        this.statementCacheSize = theStatementCacheSize;
+    }
+
+    /**
+     * Sets whether leaks are reported with the stack of the caller that
+     * borrowed the connection. Capturing it costs a stack walk on every
+     * borrow, so it is off by default and leaks are reported with the
+     * name of the borrowing thread only.
+     *
+     * @param theLeakTraces true to capture stacks of borrowers
+     */
+    public void setLeakTraces(final boolean theLeakTraces) {
+        this.leakTraces = theLeakTraces;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool is closed");
+        }
+        checkLeaks();
+        final long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeout.toNanos(),
+                    TimeUnit.NANOSECONDS)) {
+                timeoutCount.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + timeout.toMillis()
+                                + " ms waiting for one of " + maxSize
+                                + " connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for connection", e);
+        } finally {
+            waitNanos.add(System.nanoTime() - start);
+        }
+        try {
+            final Connection connection = borrow();
+            acquireCount.increment();
+            return lend(connection);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a valid idle connection or opens a new one.
+     *
+     * @return connection
+     */
+    private Connection borrow() throws SQLException {
+        Connection connection = idle.pollFirst();
+        while (connection != null) {
+            if (isValid(connection)) {
+                return connection;
+            }
+            closeQuietly(connection);
+            connection = idle.pollFirst();
+        }
+        return dataSource.getConnection();
+    }
+
+    private static boolean isValid(final Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lend(final Connection connection) {
+        final Lease lease = new Lease(connection);
+        final Connection lent = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                lease);
+        leases.put(lent, lease);
+        return lent;
+    }
+
+    /**
+     * Takes back a connection that was lent.
+     *
+     * @param lent  the connection lent
+     * @param lease the lease
+     */
+    private void giveBack(final Connection lent, final Lease lease) {
+        leases.remove(lent);
+        final Connection connection = lease.connection;
+        try {
+            if (closed || connection.isClosed()) {
+                closeQuietly(connection);
+            } else {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.clearWarnings();
+                idle.offerFirst(connection);
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Reports connections held longer than the leak threshold, at most
+     * once per threshold.
+     */
+    private void checkLeaks() {
+        final long now = System.nanoTime();
+        final long last = lastLeakCheck.get();
+        if (now - last < leakThreshold.toNanos()
+                || !lastLeakCheck.compareAndSet(last, now)) {
+            return;
+        }
+        for (Lease lease : leases.values()) {
+            if (now - lease.borrowedAt >= leakThreshold.toNanos()
+                    && lease.reported.compareAndSet(false, true)) {
+                leakCount.increment();
+                LOGGER.log(System.Logger.Level.WARNING,
+                        "Connection held for more than "
+                                + leakThreshold.toMillis() + " ms by "
+                                + lease.borrowerThread,
+                        lease.borrower);
+            }
+        }
+    }
+
+    private void closeQuietly(final Connection connection) {
+        statementCaches.remove(connection);
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(System.Logger.Level.DEBUG,
+                    "Unable to close connection", e);
+        }
+    }
+
+    /**
+     * Closes idle connections. Connections lent are closed when they are
+     * returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection = idle.pollFirst();
+        while (connection != null) {
+            closeQuietly(connection);
+            connection = idle.pollFirst();
+        }
+    }
+
+    /**
+     * gets max no of connections.
+     *
+     * @return max size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * gets no of connections lent.
+     *
+     * @return active count
+     */
+    public int getActiveCount() {
+        return leases.size();
+    }
+
+    /**
+     * gets no of idle connections.
+     *
+     * @return idle count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * gets no of callers waiting for a connection.
+     *
+     * @return waiting count
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * gets no of connections lent so far.
+     *
+     * @return acquire count
+     */
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    /**
+     * gets total time waited for connections. This divided by the acquire
+     * count is the average wait.
+     *
+     * @return wait time
+     */
+    public Duration getWaitTime() {
+        return Duration.ofNanos(waitNanos.sum());
+    }
+
+    /**
+     * gets no of callers that timed out waiting for a connection.
+     *
+     * @return timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * gets no of connections reported as leaked.
+     *
+     * @return leak count
+     */
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    /**
+     * gets no of statements reused from the cache. This divided by the
+     * sum of hits and misses is the hit rate.
+     *
+     * @return statement cache hit count
+     */
+    public long getStatementCacheHitCount() {
+        return statementCacheHitCount.sum();
+    }
+
+    /**
+     * gets no of statements prepared as they were not in the cache.
+     *
+     * @return statement cache miss count
+     */
+    public long getStatementCacheMissCount() {
+        return statementCacheMissCount.sum();
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+                                    final String password)
+            throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                "Pool lends connections of its datasource");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    /**
+     * A connection lent. Closing it returns the connection to the pool;
+     * any other use after that fails.
+     */
+    private final class Lease implements InvocationHandler {
+
+        /**
+         * Pooled connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Nano time of borrow.
+         */
+        private final long borrowedAt = System.nanoTime();
+
+        /**
+         * Name of the thread that borrowed the connection.
+         */
+        private final String borrowerThread =
+                Thread.currentThread().getName();
+
+        /**
+         * Stack of the borrower, reported on leak; null unless leak
+         * traces are on.
+         */
+        private final Throwable borrower = leakTraces
+                ? new Throwable("Connection borrowed here") : null;
+
+        /**
+         * Tells if the connection is returned.
+         */
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        /**
+         * Tells if the lease is reported as leaked.
+         */
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        Lease(final Connection theConnection) {
+            this.connection = theConnection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy,
+                             final Method method,
+                             final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        giveBack((Connection) proxy, this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || connection.isClosed();
+                case "toString":
+                    return "Pooled " + connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                    if (args.length == 1 && statementCacheSize > 0) {
+                        return prepare((String) args[0]);
+                    }
+                    return forward(method, args);
+                default:
+                    return forward(method, args);
+            }
+        }
+
+        private Object forward(final Method method,
+                               final Object[] args) throws Throwable {
+            if (returned.get()) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Prepares statement of the sql, reusing the one cached for the
+         * connection if any.
+         *
+         * @param sql the sql
+         * @return statement
+         */
+        private PreparedStatement prepare(final String sql)
+                throws SQLException {
+            if (returned.get()) {
+                throw new SQLException("Connection is closed");
+            }
+            final StatementCache statements = statementCaches
+                    .computeIfAbsent(connection, key ->
+                            new StatementCache(statementCacheSize));
+            PreparedStatement statement = statements.take(sql);
+            if (statement == null) {
+                statementCacheMissCount.increment();
+                statement = connection.prepareStatement(sql);
+            } else {
+                statementCacheHitCount.increment();
+            }
+            return statements.lend(sql, statement);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.gurukulams.questionbank.jdbc;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Profiles statements executed on connections of a DataSource. Time
+ * taken to execute and parameters bound are summed by statement shape,
+ * the sql with its literals and list lengths normalized away, so the
+ * shapes that take most of the time can be listed. Executions slower
+ * than the threshold are logged with their shape and the method of the
+ * caller class they were executed in.
+ * Time is of the execution only; rows fetched later from the result set
+ * are not included.
+ */
+public final class ProfilingDataSource implements DataSource {
+
+    /**
+     * Logger.
+     */
+    private static final System.Logger LOGGER =
+            System.getLogger(ProfilingDataSource.class.getName());
+
+    /**
+     * Walks stack of slow statements to find the caller.
+     */
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /**
+     * Max no of sql texts whose shape is remembered. Texts beyond it
+     * are normalized on every execution.
+     */
+    private static final int MAX_SQLS = 1024;
+
+    /**
+     * List of parameters after IN.
+     */
+    private static final Pattern IN_LIST = Pattern.compile(
+            "(?i)\\bIN \\( ?\\?(?: ?, ?\\?)+ ?\\)");
+
+    /**
+     * Same parenthesized group repeated, as rows of a multi row insert.
+     */
+    private static final Pattern REPEATED_GROUP = Pattern.compile(
+            "(\\([^()]*\\))(?: ?, ?\\1)+");
+
+    /**
+     * DataSource profiled.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Executions that take this many nanoseconds or more are slow.
+     */
+    private final long slowNanos;
+
+    /**
+     * Class whose method is reported as the caller of a slow statement.
+     */
+    private final Class<?> caller;
+
+    /**
+     * Shapes, by normalized sql.
+     */
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * Shapes, by sql text as prepared.
+     */
+    private final Map<String, Shape> shapesBySql =
+            new ConcurrentHashMap<>();
+
+    /**
+     * No of slow executions.
+     */
+    private final LongAdder slowCount = new LongAdder();
+
+    /**
+     * Builds Profiler.
+     *
+     * @param theDataSource    the datasource
+     * @param theSlowThreshold executions that take this long or longer
+     *                         are logged
+     * @param theCaller        class whose method is reported as the
+     *                         caller of a slow statement, such as
+     *                         QuestionService
+     */
+    public ProfilingDataSource(final DataSource theDataSource,
+                               final Duration theSlowThreshold,
+                               final Class<?> theCaller) {
+        if (theSlowThreshold.isNegative()) {
+            throw new IllegalArgumentException(
+                    "Slow threshold should not be negative");
+        }
+        this.dataSource = theDataSource;
+        this.slowNanos = theSlowThreshold.toNanos();
+        this.caller = theCaller;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+                                    final String password)
+            throws SQLException {
+        return profiled(dataSource.getConnection(username, password));
+    }
+
+    private Connection profiled(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    final Object result = invoke(connection, method, args);
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                        case "prepareCall":
+                            return profiled((Statement) result,
+                                    (String) args[0]);
+                        case "createStatement":
+                            return profiled((Statement) result, null);
+                        default:
+                            return result;
+                    }
+                });
+    }
+
+    private Statement profiled(final Statement statement,
+                               final String sql) {
+        final Class<?> type;
+        if (statement instanceof CallableStatement) {
+            type = CallableStatement.class;
+        } else if (statement instanceof PreparedStatement) {
+            type = PreparedStatement.class;
+        } else {
+            type = Statement.class;
+        }
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] {type},
+                new Profiled(statement, sql));
+    }
+
+    private static Object invoke(final Object target,
+                                 final Method method,
+                                 final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Records an execution.
+     *
+     * @param sql   sql executed
+     * @param nanos time taken
+     * @param binds no of parameters bound
+     */
+    private void record(final String sql,
+                        final long nanos,
+                        final int binds) {
+        final Shape shape = shape(sql);
+        shape.add(nanos, binds);
+        if (nanos >= slowNanos) {
+            slowCount.increment();
+            if (LOGGER.isLoggable(System.Logger.Level.WARNING)) {
+                LOGGER.log(System.Logger.Level.WARNING, "Slow statement of "
+                        + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms with "
+                        + binds + " binds in " + caller() + ": "
+                        + shape.sql);
+            }
+        }
+    }
+
+    private Shape shape(final String sql) {
+        Shape shape = shapesBySql.get(sql);
+        if (shape == null) {
+            shape = shapes.computeIfAbsent(normalize(sql), Shape::new);
+            if (shapesBySql.size() < MAX_SQLS) {
+                shapesBySql.putIfAbsent(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Finds method of the caller class that executed the statement; the
+     * outermost, as helpers of the class are called from its operation.
+     *
+     * @return class and method; unknown if not called from it
+     */
+    private String caller() {
+        final String className = caller.getName();
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().equals(className))
+                .reduce((inner, outer) -> outer)
+                .map(frame -> caller.getSimpleName() + "."
+                        + methodName(frame.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    /**
+     * Gets method a lambda is declared in.
+     *
+     * @param name name of method, as in the stack
+     * @return name of method
+     */
+    private static String methodName(final String name) {
+        if (name.startsWith("lambda$")) {
+            final int start = name.indexOf('$') + 1;
+            final int end = name.indexOf('$', start);
+            return end < 0 ? name : name.substring(start, end);
+        }
+        return name;
+    }
+
+    /**
+     * Normalizes sql to its shape. Whitespace is collapsed, string and
+     * numeric literals are replaced by ?, lists after IN by a single ?
+     * and repeated groups, such as rows of a multi row insert, by the
+     * first.
+     *
+     * @param sql the sql
+     * @return normalized sql
+     */
+    static String normalize(final String sql) {
+        final StringBuilder builder = new StringBuilder(sql.length());
+        int index = 0;
+        while (index < sql.length()) {
+            final char c = sql.charAt(index);
+            if (Character.isWhitespace(c)) {
+                while (index < sql.length()
+                        && Character.isWhitespace(sql.charAt(index))) {
+                    index++;
+                }
+                if (!builder.isEmpty()) {
+                    builder.append(' ');
+                }
+            } else if (c == '\'') {
+                index = skipQuoted(sql, index, '\'');
+                builder.append('?');
+            } else if (c == '"') {
+                final int end = skipQuoted(sql, index, '"');
+                builder.append(sql, index, end);
+                index = end;
+            } else if (Character.isDigit(c) && !inIdentifier(builder)) {
+                while (index < sql.length()
+                        && (Character.isDigit(sql.charAt(index))
+                        || sql.charAt(index) == '.')) {
+                    index++;
+                }
+                builder.append('?');
+            } else {
+                builder.append(c);
+                index++;
+            }
+        }
+        final String collapsed = builder.toString().stripTrailing();
+        return REPEATED_GROUP.matcher(IN_LIST.matcher(collapsed)
+                .replaceAll("IN (?)")).replaceAll("$1");
+    }
+
+    /**
+     * Skips a quoted literal or identifier; a doubled quote is part of
+     * it.
+     *
+     * @param sql   the sql
+     * @param start index of the opening quote
+     * @param quote the quote
+     * @return index after the closing quote
+     */
+    private static int skipQuoted(final String sql,
+                                  final int start,
+                                  final char quote) {
+        int index = start + 1;
+        while (index < sql.length()) {
+            if (sql.charAt(index) == quote) {
+                if (index + 1 < sql.length()
+                        && sql.charAt(index + 1) == quote) {
+                    index += 2;
+                    continue;
+                }
+                return index + 1;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean inIdentifier(final StringBuilder builder) {
+        if (builder.isEmpty()) {
+            return false;
+        }
+        final char last = builder.charAt(builder.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_'
+                || last == '$';
+    }
+
+    /**
+     * Gets statement shapes that took most time to execute.
+     *
+     * @param limit max no of shapes
+     * @return profiles, by total time descending
+     */
+    public List<StatementProfile> getTopStatements(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(
+                    "Limit should not be negative");
+        }
+        return shapes.values().stream()
+                .map(Shape::profile)
+                .sorted(Comparator.comparing(StatementProfile::getTotalTime)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * gets no of executions that took the slow threshold or longer.
+     *
+     * @return slow count
+     */
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * Forgets executions profiled so far.
+     */
+    public void reset() {
+        shapesBySql.clear();
+        shapes.clear();
+        slowCount.reset();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    /**
+     * Executions of a statement shape.
+     */
+    private static final class Shape {
+
+        /**
+         * Normalized sql.
+         */
+        private final String sql;
+
+        /**
+         * No of executions.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * No of parameters bound.
+         */
+        private final LongAdder binds = new LongAdder();
+
+        /**
+         * Total nanoseconds taken.
+         */
+        private final LongAdder nanos = new LongAdder();
+
+        /**
+         * Longest nanoseconds taken.
+         */
+        private final LongAccumulator maxNanos =
+                new LongAccumulator(Math::max, 0);
+
+        Shape(final String theSql) {
+            this.sql = theSql;
+        }
+
+        void add(final long theNanos, final int theBinds) {
+            count.increment();
+            binds.add(theBinds);
+            nanos.add(theNanos);
+            maxNanos.accumulate(theNanos);
+        }
+
+        StatementProfile profile() {
+            return new StatementProfile(sql, count.sum(), binds.sum(),
+                    Duration.ofNanos(nanos.sum()),
+                    Duration.ofNanos(maxNanos.get()));
+        }
+    }
+
+    /**
+     * A statement profiled. Counts parameters bound since the last
+     * execution and times executions.
+     */
+    private final class Profiled implements InvocationHandler {
+
+        /**
+         * Statement profiled.
+         */
+        private final Statement statement;
+
+        /**
+         * Sql prepared; null for a plain statement.
+         */
+        private final String sql;
+
+        /**
+         * First sql added to the batch of a plain statement.
+         */
+        private String batchSql;
+
+        /**
+         * No of parameters bound since last execution.
+         */
+        private int binds;
+
+        Profiled(final Statement theStatement, final String theSql) {
+            this.statement = theStatement;
+            this.sql = theSql;
+        }
+
+        @Override
+        public Object invoke(final Object proxy,
+                             final Method method,
+                             final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            switch (name) {
+                case "clearParameters":
+                case "clearBatch":
+                    binds = 0;
+                    batchSql = null;
+                    break;
+                case "addBatch":
+                    if (args != null && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    break;
+                default:
+                    // parameters are set by index and value
+                    if (name.startsWith("set") && args != null
+                            && args.length > 1) {
+                        binds++;
+                    }
+                    break;
+            }
+            return ProfilingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(final Method method,
+                               final Object[] args) throws Throwable {
+            final String executed;
+            if (args != null && args.length > 0
+                    && args[0] instanceof String text) {
+                executed = text;
+            } else {
+                executed = sql == null ? batchSql : sql;
+            }
+            final long start = System.nanoTime();
+            try {
+                return ProfilingDataSource.invoke(statement, method, args);
+            } finally {
+                if (executed != null) {
+                    record(executed, System.nanoTime() - start, binds);
+                }
+                binds = 0;
+                batchSql = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.gurukulams.questionbank.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Prepared statements of a pooled connection, by their sql, least
+ * recently used first. A statement is taken out while it is in use and
+ * closing it puts it back, so the driver prepares it on the server once
+ * and later borrowers of the connection reuse it.
+ */
+final class StatementCache {
+
+    /**
+     * Load factor of the map.
+     */
+    private static final float LOAD_FACTOR = 0.75F;
+
+    /**
+     * Logger.
+     */
+    private static final System.Logger LOGGER =
+            System.getLogger(StatementCache.class.getName());
+
+    /**
+     * Max no of statements kept.
+     */
+    private final int capacity;
+
+    /**
+     * Guards statements. A lock (rather than synchronized) does not pin
+     * virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Statements not in use, by sql.
+     */
+    private final Map<String, PreparedStatement> statements;
+
+    /**
+     * Builds Cache.
+     *
+     * @param theCapacity max no of statements kept
+     */
+    StatementCache(final int theCapacity) {
+        this.capacity = theCapacity;
+        this.statements = new LinkedHashMap<>(theCapacity, LOAD_FACTOR,
+                true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    final Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Takes statement of the sql out of the cache.
+     *
+     * @param sql the sql
+     * @return statement; null if there is none
+     */
+    PreparedStatement take(final String sql) {
+        lock.lock();
+        try {
+            return statements.remove(sql);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wraps statement so that closing it puts it back in the cache, with
+     * the settings it is lent with.
+     *
+     * @param sql       the sql
+     * @param statement the statement
+     * @return statement to hand out
+     */
+    PreparedStatement lend(final String sql,
+                           final PreparedStatement statement)
+            throws SQLException {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                new CachedStatement(sql, statement,
+                        statement.getFetchSize(), statement.getMaxRows(),
+                        statement.getQueryTimeout()));
+    }
+
+    /**
+     * Puts statement back. When the same sql was prepared again while
+     * the statement was in use, the one already back is closed.
+     *
+     * @param sql       the sql
+     * @param statement the statement
+     */
+    private void putBack(final String sql,
+                         final PreparedStatement statement) {
+        final PreparedStatement replaced;
+        lock.lock();
+        try {
+            replaced = statements.put(sql, statement);
+        } finally {
+            lock.unlock();
+        }
+        if (replaced != null) {
+            closeQuietly(replaced);
+        }
+    }
+
+    /**
+     * gets no of statements kept.
+     *
+     * @return size
+     */
+    int size() {
+        lock.lock();
+        try {
+            return statements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void closeQuietly(final PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(System.Logger.Level.DEBUG,
+                    "Unable to close statement", e);
+        }
+    }
+
+    /**
+     * A statement lent from the cache. Closing it resets the statement,
+     * including the fetch size, max rows and query timeout the borrower
+     * may have set, and puts it back; any other use after that fails.
+     */
+    private final class CachedStatement implements InvocationHandler {
+
+        /**
+         * Sql of the statement.
+         */
+        private final String sql;
+
+        /**
+         * Cached statement.
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Fetch size the statement is lent with.
+         */
+        private final int fetchSize;
+
+        /**
+         * Max rows the statement is lent with.
+         */
+        private final int maxRows;
+
+        /**
+         * Query timeout the statement is lent with, in seconds.
+         */
+        private final int queryTimeout;
+
+        /**
+         * Result set of the last query, closed on close.
+         */
+        private ResultSet resultSet;
+
+        /**
+         * Tells if the statement is closed.
+         */
+        private boolean closed;
+
+        CachedStatement(final String theSql,
+                        final PreparedStatement theStatement,
+                        final int theFetchSize,
+                        final int theMaxRows,
+                        final int theQueryTimeout) {
+            this.sql = theSql;
+            this.statement = theStatement;
+            this.fetchSize = theFetchSize;
+            this.maxRows = theMaxRows;
+            this.queryTimeout = theQueryTimeout;
+        }
+
+        @Override
+        public Object invoke(final Object proxy,
+                             final Method method,
+                             final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "toString":
+                    return "Cached " + statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    final Object result;
+                    try {
+                        result = method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof ResultSet theResultSet) {
+                        resultSet = theResultSet;
+                    }
+                    return result;
+            }
+        }
+
+        /**
+         * Resets the statement and puts it back in the cache.
+         */
+        private void giveBack() {
+            try {
+                if (statement.isClosed()) {
+                    return;
+                }
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                statement.setFetchSize(fetchSize);
+                statement.setMaxRows(maxRows);
+                statement.setQueryTimeout(queryTimeout);
+                putBack(sql, statement);
+            } catch (SQLException e) {
+                closeQuietly(statement);
+            }
+        }
+    }
+}
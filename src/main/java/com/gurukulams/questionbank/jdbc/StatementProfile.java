@@ -0,0 +1,118 @@
+package com.gurukulams.questionbank.jdbc;
+
+import java.time.Duration;
+
+/**
+ * Executions of a statement shape; statements whose sql differs only in
+ * literals, whitespace or the length of their lists.
+ */
+public final class StatementProfile {
+
+    /**
+     * Normalized sql.
+     */
+    private final String sql;
+
+    /**
+     * No of executions.
+     */
+    private final long executionCount;
+
+    /**
+     * No of parameters bound, across executions.
+     */
+    private final long bindCount;
+
+    /**
+     * Total time taken to execute.
+     */
+    private final Duration totalTime;
+
+    /**
+     * Longest time taken by an execution.
+     */
+    private final Duration maxTime;
+
+    /**
+     * Builds Profile.
+     *
+     * @param theSql            the normalized sql
+     * @param theExecutionCount no of executions
+     * @param theBindCount      no of parameters bound
+     * @param theTotalTime      total time taken
+     * @param theMaxTime        longest time taken
+     */
+    StatementProfile(final String theSql,
+                     final long theExecutionCount,
+                     final long theBindCount,
+                     final Duration theTotalTime,
+                     final Duration theMaxTime) {
+        this.sql = theSql;
+        this.executionCount = theExecutionCount;
+        this.bindCount = theBindCount;
+        this.totalTime = theTotalTime;
+        this.maxTime = theMaxTime;
+    }
+
+    /**
+     * gets normalized sql.
+     *
+     * @return sql
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * gets no of executions.
+     *
+     * @return execution count
+     */
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * gets no of parameters bound, across executions. A batch binds the
+     * parameters of each of its rows.
+     *
+     * @return bind count
+     */
+    public long getBindCount() {
+        return bindCount;
+    }
+
+    /**
+     * gets total time taken to execute.
+     *
+     * @return total time
+     */
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * gets longest time taken by an execution.
+     *
+     * @return max time
+     */
+    public Duration getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * gets average time taken by an execution.
+     *
+     * @return mean time
+     */
+    public Duration getMeanTime() {
+        return executionCount == 0 ? Duration.ZERO
+                : totalTime.dividedBy(executionCount);
+    }
+
+    @Override
+    public String toString() {
+        return executionCount + " x " + getMeanTime().toNanos() + " ns: "
+                + sql;
+    }
+}
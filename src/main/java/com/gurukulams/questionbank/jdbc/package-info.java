@@ -0,0 +1,4 @@
+/**
+ * JDBC Support for Question Bank.
+ */
+package com.gurukulams.questionbank.jdbc;
@@ -0,0 +1,180 @@
+package com.gurukulams.questionbank.metrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics kept in memory; a latency histogram and counts of statements
+ * and rows for each operation. Percentiles are computed when asked for,
+ * so recording stays allocation free.
+ *
+ * <pre>{@code
+ * HistogramMetrics metrics = new HistogramMetrics();
+ * questionService.setMetrics(metrics);
+ * ...
+ * System.out.print(metrics.dump());
+ * }</pre>
+ */
+public final class HistogramMetrics implements QuestionMetrics {
+
+    /**
+     * Percentiles dumped.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Highest percentile.
+     */
+    private static final double MAX_PERCENTILE = 100.0;
+
+    /**
+     * Nanos in a micro second.
+     */
+    private static final double NANOS_PER_MICRO = 1_000D;
+
+    /**
+     * Header of dump.
+     */
+    private static final String HEADER = String.format(Locale.ROOT,
+            "%-14s %8s %10s %10s %10s %10s %10s %9s %9s%n",
+            "operation", "count", "p50(us)", "p90(us)", "p99(us)",
+            "p99.9(us)", "max(us)", "stmts/op", "rows/op");
+
+    /**
+     * Stats by operation ordinal.
+     */
+    private final Stats[] stats = new Stats[Operation.values().length];
+
+    /**
+     * Builds Metrics.
+     */
+    public HistogramMetrics() {
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new Stats();
+        }
+    }
+
+    @Override
+    public void record(final Operation operation,
+                       final long nanos,
+                       final long statements,
+                       final long rows) {
+        final Stats operationStats = stats[operation.ordinal()];
+        operationStats.latency.record(nanos);
+        operationStats.statements.add(statements);
+        operationStats.rows.add(rows);
+    }
+
+    /**
+     * gets no of times the operation is recorded.
+     *
+     * @param operation the operation
+     * @return count
+     */
+    public long getCount(final Operation operation) {
+        return stats[operation.ordinal()].latency.getCount();
+    }
+
+    /**
+     * gets no of statements prepared by the operation.
+     *
+     * @param operation the operation
+     * @return statements
+     */
+    public long getStatementCount(final Operation operation) {
+        return stats[operation.ordinal()].statements.sum();
+    }
+
+    /**
+     * gets no of rows fetched by the operation.
+     *
+     * @param operation the operation
+     * @return rows
+     */
+    public long getRowCount(final Operation operation) {
+        return stats[operation.ordinal()].rows.sum();
+    }
+
+    /**
+     * gets latency of the operation at the percentile, within 1.6%.
+     *
+     * @param operation  the operation
+     * @param percentile the percentile, 0 to 100
+     * @return latency; zero if not recorded
+     */
+    public Duration getLatency(final Operation operation,
+                               final double percentile) {
+        if (percentile < 0 || percentile > MAX_PERCENTILE) {
+            throw new IllegalArgumentException(
+                    "Percentile should be within 0 and 100");
+        }
+        return Duration.ofNanos(stats[operation.ordinal()].latency
+                .getValueAt(percentile));
+    }
+
+    /**
+     * gets max latency of the operation.
+     *
+     * @param operation the operation
+     * @return max latency; zero if not recorded
+     */
+    public Duration getMaxLatency(final Operation operation) {
+        return Duration.ofNanos(stats[operation.ordinal()].latency.getMax());
+    }
+
+    /**
+     * Dumps percentiles of latency and statements and rows per operation,
+     * one line per operation that is recorded.
+     *
+     * @return dump
+     */
+    public String dump() {
+        final StringBuilder dump = new StringBuilder(HEADER);
+        for (Operation operation : Operation.values()) {
+            final Stats operationStats = stats[operation.ordinal()];
+            final long count = operationStats.latency.getCount();
+            if (count == 0) {
+                continue;
+            }
+            dump.append(String.format(Locale.ROOT, "%-14s %8d",
+                    operation, count));
+            for (double percentile : PERCENTILES) {
+                dump.append(micros(
+                        operationStats.latency.getValueAt(percentile)));
+            }
+            dump.append(micros(operationStats.latency.getMax()))
+                    .append(String.format(Locale.ROOT, " %9.1f %9.1f%n",
+                            (double) operationStats.statements.sum()
+                                    / count,
+                            (double) operationStats.rows.sum() / count));
+        }
+        return dump.toString();
+    }
+
+    private static String micros(final long nanos) {
+        return String.format(Locale.ROOT, " %10.1f",
+                nanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Stats of an operation.
+     */
+    private static final class Stats {
+
+        /**
+         * Latency in nanos.
+         */
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        /**
+         * No of statements.
+         */
+        private final LongAdder statements = new LongAdder();
+
+        /**
+         * No of rows.
+         */
+        private final LongAdder rows = new LongAdder();
+    }
+}
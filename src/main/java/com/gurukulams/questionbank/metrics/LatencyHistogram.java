@@ -0,0 +1,155 @@
+package com.gurukulams.questionbank.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of nanoseconds in log-linear buckets, as in HdrHistogram.
+ * Values below 128 have a bucket each; larger ones share buckets 1/64 of
+ * their power of two wide, so any value is kept within 1.6% of itself.
+ * Recording is an index computation and an atomic increment, so it is
+ * allocation free and safe from many threads.
+ */
+final class LatencyHistogram {
+
+    /**
+     * Bits of the value that pick its bucket within a power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /**
+     * Values with a bucket of their own.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Buckets per power of two.
+     */
+    private static final int HALF = SUB_BUCKETS >> 1;
+
+    /**
+     * No of buckets to hold any long.
+     */
+    private static final int LENGTH =
+            (Long.SIZE - SUB_BUCKET_BITS + 1) * HALF;
+
+    /**
+     * Percent of all.
+     */
+    private static final double HUNDRED = 100.0;
+
+    /**
+     * Counts by bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+
+    /**
+     * No of values.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Max value.
+     */
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Records value; negative ones are recorded as 0.
+     *
+     * @param value the value
+     */
+    void record(final long value) {
+        final long recorded = Math.max(0, value);
+        counts.incrementAndGet(index(recorded));
+        count.increment();
+        max.accumulate(recorded);
+    }
+
+    /**
+     * gets no of values.
+     *
+     * @return count
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * gets max value.
+     *
+     * @return max
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets value at the percentile; the highest value of its bucket, or
+     * the max if lower.
+     *
+     * @param percentile the percentile, 0 to 100
+     * @return value; 0 if there are none
+     */
+    long getValueAt(final double percentile) {
+        final long[] snapshot = new long[LENGTH];
+        long total = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1,
+                (long) Math.ceil(percentile / HUNDRED * total));
+        long seen = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Gets bucket of value.
+     *
+     * @param value the value, not negative
+     * @return index of bucket
+     */
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - Long.numberOfLeadingZeros(value)
+                - SUB_BUCKET_BITS;
+        return exponent * HALF + (int) (value >>> exponent);
+    }
+
+    /**
+     * Gets lowest value of bucket.
+     *
+     * @param index index of bucket
+     * @return value
+     */
+    static long lowestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = index / HALF - 1;
+        return (long) (index % HALF + HALF) << exponent;
+    }
+
+    /**
+     * Gets highest value of bucket.
+     *
+     * @param index index of bucket
+     * @return value
+     */
+    static long highestValue(final int index) {
+        return index == LENGTH - 1 ? Long.MAX_VALUE
+                : lowestValue(index + 1) - 1;
+    }
+}
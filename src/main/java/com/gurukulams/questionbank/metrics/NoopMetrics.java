@@ -0,0 +1,28 @@
+package com.gurukulams.questionbank.metrics;
+
+/**
+ * Metrics that record nothing.
+ */
+final class NoopMetrics implements QuestionMetrics {
+
+    /**
+     * The instance.
+     */
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private NoopMetrics() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void record(final Operation operation,
+                       final long nanos,
+                       final long statements,
+                       final long rows) {
+        // nothing to record
+    }
+}
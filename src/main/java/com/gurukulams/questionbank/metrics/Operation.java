@@ -0,0 +1,83 @@
+package com.gurukulams.questionbank.metrics;
+
+/**
+ * Operations of question and answer services that are measured.
+ */
+public enum Operation {
+    /**
+     * Create a question.
+     */
+    CREATE,
+    /**
+     * Create questions in bulk.
+     */
+    CREATE_ALL,
+    /**
+     * Read a question.
+     */
+    READ,
+    /**
+     * Render a question as students see it.
+     */
+    RENDER,
+    /**
+     * Update a question.
+     */
+    UPDATE,
+    /**
+     * Delete a question.
+     */
+    DELETE,
+    /**
+     * Delete all questions.
+     */
+    DELETE_ALL,
+    /**
+     * Delete choices of a question.
+     */
+    DELETE_CHOICES,
+    /**
+     * Delete matches of a question.
+     */
+    DELETE_MATCHES,
+    /**
+     * List questions of categories.
+     */
+    LIST,
+    /**
+     * List a page of questions of categories.
+     */
+    LIST_PAGE,
+    /**
+     * Stream questions of categories.
+     */
+    FOR_EACH,
+    /**
+     * Sample questions for a paper.
+     */
+    SAMPLE,
+    /**
+     * Load a snapshot.
+     */
+    SNAPSHOT,
+    /**
+     * Export a question bank file.
+     */
+    EXPORT,
+    /**
+     * Export all questions as NDJSON.
+     */
+    EXPORT_JSON,
+    /**
+     * Grade an answer.
+     */
+    ANSWER,
+    /**
+     * Grade an exam.
+     */
+    GRADE_EXAM,
+    /**
+     * Validate a question; part of create, create all and update.
+     */
+    VALIDATE
+}
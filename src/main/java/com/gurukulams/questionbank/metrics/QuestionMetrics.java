@@ -0,0 +1,39 @@
+package com.gurukulams.questionbank.metrics;
+
+/**
+ * Receives measurements of operations. Implementations are called on the
+ * thread of the operation, concurrently, so recording should be cheap
+ * and should not allocate.
+ */
+public interface QuestionMetrics {
+
+    /**
+     * Gets metrics that record nothing; services do not measure anything
+     * with them.
+     *
+     * @return no-op metrics
+     */
+    static QuestionMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+
+    /**
+     * Tells if operations are to be measured at all.
+     *
+     * @return true to measure
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records an operation.
+     *
+     * @param operation  the operation
+     * @param nanos      time taken
+     * @param statements no of SQL statements prepared
+     * @param rows       no of rows fetched
+     */
+    void record(Operation operation, long nanos, long statements,
+                long rows);
+}
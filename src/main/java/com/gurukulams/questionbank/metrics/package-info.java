@@ -0,0 +1,4 @@
+/**
+ * Metrics of Question Bank Operations.
+ */
+package com.gurukulams.questionbank.metrics;
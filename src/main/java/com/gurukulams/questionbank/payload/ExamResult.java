@@ -0,0 +1,67 @@
+package com.gurukulams.questionbank.payload;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The type Exam result.
+ */
+public class ExamResult {
+
+    /**
+     * id of the exam.
+     */
+    private final UUID examId;
+
+    /**
+     * result of each question, in the order answers were submitted.
+     */
+    private final Map<UUID, Boolean> results;
+
+    /**
+     * no of correct answers.
+     */
+    private final int score;
+
+    /**
+     * Constructs Exam Result.
+     *
+     * @param anExamId   the exam id
+     * @param theResults the results by question id
+     * @param theScore   the score
+     */
+    public ExamResult(final UUID anExamId,
+                      final Map<UUID, Boolean> theResults,
+                      final int theScore) {
+        this.examId = anExamId;
+        this.results = theResults;
+        this.score = theScore;
+    }
+
+    /**
+     * gets the exam id.
+     *
+     * @return examId
+     */
+    public UUID getExamId() {
+        return examId;
+    }
+
+    /**
+     * gets whether each answer is correct, by question id.
+     *
+     * @return results
+     */
+    public Map<UUID, Boolean> getResults() {
+        return results;
+    }
+
+    /**
+     * gets no of correct answers.
+     *
+     * @return score
+     */
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,81 @@
+package com.gurukulams.questionbank.payload;
+
+import java.time.Duration;
+
+/**
+ * The type Export result.
+ */
+public class ExportResult {
+
+    /**
+     * Nanos in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    /**
+     * no of questions exported.
+     */
+    private final long questions;
+
+    /**
+     * no of rows read, across all tables.
+     */
+    private final long rows;
+
+    /**
+     * time taken for the export.
+     */
+    private final Duration duration;
+
+    /**
+     * Constructs Export Result.
+     *
+     * @param noOfQuestions the no of questions exported
+     * @param noOfRows      the no of rows read
+     * @param aDuration     the duration
+     */
+    public ExportResult(final long noOfQuestions,
+                        final long noOfRows,
+                        final Duration aDuration) {
+        this.questions = noOfQuestions;
+        this.rows = noOfRows;
+        this.duration = aDuration;
+    }
+
+    /**
+     * gets no of questions exported.
+     *
+     * @return questions
+     */
+    public long getQuestions() {
+        return questions;
+    }
+
+    /**
+     * gets no of rows read, across all tables.
+     *
+     * @return rows
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * gets time taken.
+     *
+     * @return duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * gets rows read per second.
+     *
+     * @return throughput
+     */
+    public double getRowsPerSecond() {
+        final long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : rows * NANOS_PER_SECOND / nanos;
+    }
+}
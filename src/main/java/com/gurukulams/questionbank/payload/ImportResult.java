@@ -0,0 +1,87 @@
+package com.gurukulams.questionbank.payload;
+
+import jakarta.validation.ConstraintViolation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The type Import result.
+ */
+public class ImportResult {
+
+    /**
+     * Nanos in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    /**
+     * no of questions created.
+     */
+    private final int created;
+
+    /**
+     * violations by position of the question in the import.
+     */
+    private final Map<Integer, Set<ConstraintViolation<Question>>> violations;
+
+    /**
+     * time taken for the import.
+     */
+    private final Duration duration;
+
+    /**
+     * Constructs Import Result.
+     *
+     * @param noOfCreated   the no of created questions
+     * @param theViolations the violations
+     * @param aDuration     the duration
+     */
+    public ImportResult(final int noOfCreated,
+                        final Map<Integer,
+                                Set<ConstraintViolation<Question>>>
+                                theViolations,
+                        final Duration aDuration) {
+        this.created = noOfCreated;
+        this.violations = theViolations;
+        this.duration = aDuration;
+    }
+
+    /**
+     * gets no of questions created.
+     *
+     * @return created
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * gets violations of invalid questions, keyed by their position.
+     *
+     * @return violations
+     */
+    public Map<Integer, Set<ConstraintViolation<Question>>> getViolations() {
+        return violations;
+    }
+
+    /**
+     * gets time taken.
+     *
+     * @return duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * gets questions created per second.
+     *
+     * @return throughput
+     */
+    public double getThroughput() {
+        final long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : created * NANOS_PER_SECOND / nanos;
+    }
+}
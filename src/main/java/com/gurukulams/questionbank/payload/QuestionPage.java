@@ -0,0 +1,86 @@
+package com.gurukulams.questionbank.payload;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The type Question page.
+ */
+public class QuestionPage {
+
+    /**
+     * Bytes in an id.
+     */
+    private static final int ID_BYTES = 16;
+
+    /**
+     * questions in the page.
+     */
+    private final List<Question> questions;
+
+    /**
+     * token to read next page; null for the last page.
+     */
+    private final String continuationToken;
+
+    /**
+     * Constructs Question Page.
+     *
+     * @param theQuestions        the questions
+     * @param aContinuationToken the continuation token
+     */
+    public QuestionPage(final List<Question> theQuestions,
+                        final String aContinuationToken) {
+        this.questions = theQuestions;
+        this.continuationToken = aContinuationToken;
+    }
+
+    /**
+     * gets questions in the page.
+     *
+     * @return questions
+     */
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * gets token to read next page. It is opaque to callers.
+     *
+     * @return continuation token; null for the last page
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * Encodes id of the last question of a page as token.
+     *
+     * @param lastId the last id
+     * @return token
+     */
+    public static String encode(final UUID lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ByteBuffer.allocate(ID_BYTES)
+                        .putLong(lastId.getMostSignificantBits())
+                        .putLong(lastId.getLeastSignificantBits())
+                        .array());
+    }
+
+    /**
+     * Decodes id of the last question of a page from token.
+     *
+     * @param token the token
+     * @return last id
+     */
+    public static UUID decode(final String token) {
+        final byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != ID_BYTES) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
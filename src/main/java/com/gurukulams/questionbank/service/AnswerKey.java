@@ -0,0 +1,282 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Correct choice ids of a question held as most and least significant
+ * bits, so that an answer is graded without touching the database and
+ * without allocating.
+ * <p>
+ * Answers are the choice ids in their canonical (lower case) form,
+ * separated by comma; the same form the question is read with.
+ */
+final class AnswerKey {
+
+    /**
+     * Length of an id in canonical form.
+     */
+    private static final int ID_LENGTH = 36;
+
+    /**
+     * Length of an id followed by a separator.
+     */
+    private static final int ID_WITH_SEPARATOR = ID_LENGTH + 1;
+
+    /**
+     * Separator of ids.
+     */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * Positions of dashes in canonical form.
+     */
+    private static final int[] DASHES = {8, 13, 18, 23};
+
+    /**
+     * Bits in a hex digit.
+     */
+    private static final int HEX_BITS = 4;
+
+    /**
+     * Digit value of 'a'.
+     */
+    private static final int HEX_A = 10;
+
+    /**
+     * Answers a bit mask can track.
+     */
+    private static final int MASK_SIZE = Long.SIZE;
+
+    /**
+     * Orders ids the way keys of multi choice are searched.
+     */
+    private static final Comparator<UUID> ORDER = Comparator
+            .comparingLong(UUID::getMostSignificantBits)
+            .thenComparingLong(UUID::getLeastSignificantBits);
+
+    /**
+     * type of the question.
+     */
+    private final QuestionType type;
+
+    /**
+     * most and least significant bits of correct ids, in pairs.
+     */
+    private final long[] ids;
+
+    private AnswerKey(final QuestionType theType, final List<UUID> theIds) {
+        this.type = theType;
+        this.ids = new long[theIds.size() * 2];
+        for (int i = 0; i < theIds.size(); i++) {
+            ids[2 * i] = theIds.get(i).getMostSignificantBits();
+            ids[2 * i + 1] = theIds.get(i).getLeastSignificantBits();
+        }
+    }
+
+    /**
+     * Compiles answer key of a question read by its owner.
+     *
+     * @param question the question
+     * @return answer key
+     */
+    static AnswerKey of(final Question question) {
+        final List<UUID> correctIds = new ArrayList<>();
+        final List<QuestionChoice> choices = question.getChoices() == null
+                ? List.of() : question.getChoices();
+        switch (question.getType()) {
+            case CHOOSE_THE_BEST:
+                choices.stream()
+                        .filter(AnswerKey::isAnswer)
+                        .findFirst()
+                        .ifPresent(choice -> correctIds.add(choice.id()));
+                break;
+            case MULTI_CHOICE:
+                choices.stream()
+                        .filter(AnswerKey::isAnswer)
+                        .map(QuestionChoice::id)
+                        .sorted(ORDER)
+                        .forEach(correctIds::add);
+                break;
+            case MATCH_THE_FOLLOWING:
+                final List<QuestionChoice> matches =
+                        question.getMatches() == null
+                                ? List.of() : question.getMatches();
+                if (choices.size() <= matches.size()) {
+                    choices.forEach(choice -> correctIds.add(choice.id()));
+                    matches.subList(0, choices.size())
+                            .forEach(match -> correctIds.add(match.id()));
+                }
+                break;
+            default:
+                break;
+        }
+        return new AnswerKey(question.getType(), correctIds);
+    }
+
+    private static boolean isAnswer(final QuestionChoice choice) {
+        return Boolean.TRUE.equals(choice.isAnswer());
+    }
+
+    /**
+     * gets type of the question.
+     *
+     * @return type
+     */
+    QuestionType type() {
+        return type;
+    }
+
+    /**
+     * checks whether the given answer is correct.
+     *
+     * @param answer the answer
+     * @return true if correct
+     */
+    boolean isCorrect(final String answer) {
+        final int count = ids.length / 2;
+        if (answer == null || count == 0
+                || answer.length() != count * ID_WITH_SEPARATOR - 1) {
+            return false;
+        }
+        return switch (type) {
+            case CHOOSE_THE_BEST -> count == 1 && matches(answer, 0, 0);
+            case MATCH_THE_FOLLOWING -> isSequence(answer, count);
+            case MULTI_CHOICE -> isSet(answer, count);
+            default -> false;
+        };
+    }
+
+    /**
+     * Answer should have all the ids in order.
+     */
+    private boolean isSequence(final String answer, final int count) {
+        for (int i = 0; i < count; i++) {
+            final int from = i * ID_WITH_SEPARATOR;
+            if (!isSeparated(answer, from) || !matches(answer, from, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Answer should have all the ids, each once, in any order.
+     */
+    private boolean isSet(final String answer, final int count) {
+        long seenMask = 0;
+        final boolean[] seen = count > MASK_SIZE ? new boolean[count] : null;
+        for (int i = 0; i < count; i++) {
+            final int from = i * ID_WITH_SEPARATOR;
+            if (!isSeparated(answer, from) || !isCanonical(answer, from)) {
+                return false;
+            }
+            final int index = search(msb(answer, from), lsb(answer, from),
+                    count);
+            if (index < 0) {
+                return false;
+            }
+            if (seen == null) {
+                if ((seenMask & (1L << index)) != 0) {
+                    return false;
+                }
+                seenMask |= 1L << index;
+            } else {
+                if (seen[index]) {
+                    return false;
+                }
+                seen[index] = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binary search of sorted ids.
+     */
+    private int search(final long msb, final long lsb, final int count) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            int compare = Long.compare(ids[2 * mid], msb);
+            if (compare == 0) {
+                compare = Long.compare(ids[2 * mid + 1], lsb);
+            }
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSeparated(final String answer, final int from) {
+        final int end = from + ID_LENGTH;
+        return end == answer.length() || answer.charAt(end) == SEPARATOR;
+    }
+
+    private boolean matches(final String answer,
+                            final int from,
+                            final int index) {
+        return isCanonical(answer, from)
+                && msb(answer, from) == ids[2 * index]
+                && lsb(answer, from) == ids[2 * index + 1];
+    }
+
+    /**
+     * Checks if the id at from is in the form UUID#toString gives.
+     */
+    private static boolean isCanonical(final String answer, final int from) {
+        int dash = 0;
+        for (int i = 0; i < ID_LENGTH; i++) {
+            final char c = answer.charAt(from + i);
+            if (dash < DASHES.length && i == DASHES[dash]) {
+                if (c != '-') {
+                    return false;
+                }
+                dash++;
+            } else if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long msb(final String answer, final int from) {
+        long value = hex(answer, from, 0, DASHES[0], 0L);
+        value = hex(answer, from, DASHES[0] + 1, DASHES[1], value);
+        return hex(answer, from, DASHES[1] + 1, DASHES[2], value);
+    }
+
+    private static long lsb(final String answer, final int from) {
+        final long value = hex(answer, from, DASHES[2] + 1, DASHES[3], 0L);
+        return hex(answer, from, DASHES[3] + 1, ID_LENGTH, value);
+    }
+
+    /**
+     * Appends hex digits between start and end of the id to value.
+     */
+    private static long hex(final String answer,
+                            final int from,
+                            final int start,
+                            final int end,
+                            final long value) {
+        long result = value;
+        for (int i = from + start; i < from + end; i++) {
+            final char c = answer.charAt(i);
+            result = (result << HEX_BITS)
+                    | (c <= '9' ? c - '0' : c - 'a' + HEX_A);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.gurukulams.questionbank.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answer keys of questions by question id. Keys are compiled on first use
+ * and dropped whenever the question changes.
+ */
+final class AnswerKeyIndex {
+
+    /**
+     * Answer keys by question id.
+     */
+    private final Map<UUID, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every removal, so that a key compiled before a change
+     * is never indexed after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Gets answer key of a question.
+     *
+     * @param questionId the question id
+     * @return answer key; null if not indexed
+     */
+    AnswerKey get(final UUID questionId) {
+        return answerKeys.get(questionId);
+    }
+
+    /**
+     * Gets current generation. It is to be read before loading a question
+     * and given back on put.
+     *
+     * @return generation
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Indexes answer key compiled at given generation.
+     *
+     * @param loadedAt   the generation read before loading
+     * @param questionId the question id
+     * @param answerKey  the answer key
+     */
+    void put(final long loadedAt,
+             final UUID questionId,
+             final AnswerKey answerKey) {
+        answerKeys.put(questionId, answerKey);
+        if (loadedAt != generation.get()) {
+            answerKeys.remove(questionId, answerKey);
+        }
+    }
+
+    /**
+     * Removes answer key of a question.
+     *
+     * @param questionId the question id
+     */
+    void remove(final UUID questionId) {
+        generation.incrementAndGet();
+        answerKeys.remove(questionId);
+    }
+
+    /**
+     * Removes all answer keys.
+     */
+    void clear() {
+        generation.incrementAndGet();
+        answerKeys.clear();
+    }
+
+    /**
+     * gets no of questions indexed.
+     *
+     * @return size
+     */
+    int size() {
+        return answerKeys.size();
+    }
+}
@@ -1,15 +1,16 @@
 package com.gurukulams.questionbank.service;
 
-import com.gurukulams.questionbank.model.QuestionChoice;
-import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.metrics.Operation;
+import com.gurukulams.questionbank.payload.ExamResult;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * The type Answer service.
@@ -17,6 +18,14 @@ import java.util.stream.Collectors;
 
 public class AnswerService {
 
+    /**
+     * Insert Answer.
+     */
+    private static final String INSERT_ANSWER = """
+            INSERT INTO answer (id, exam_id, question_id, student_answer)
+            VALUES (?, ?, ?, ?)
+            """;
+
     /**
      * question Service.
      */
@@ -33,6 +42,8 @@ public class AnswerService {
 
     /**
      * checks whether the given answer is correct.returns true if correct.
+     * Answers are graded against the answer key of the question, which is
+     * read from database only the first time it is needed.
      *
      * @param questionId the question id
      * @param answer     the answer
@@ -41,56 +52,81 @@ public class AnswerService {
     public final boolean answer(final UUID questionId,
                                 final String answer)
             throws SQLException {
-        boolean isRigntAnswer = false;
-        final Optional<Question> oQuestion = questionService
-                .read(questionId, null);
-        if (oQuestion.isPresent()) {
-            final Question question = oQuestion.get();
-            switch (question.getType()) {
-                case CHOOSE_THE_BEST:
-                    Optional<QuestionChoice> rightChoice = question.getChoices()
-                            .stream()
-                            .filter(QuestionChoice::isAnswer)
-                            .findFirst();
-                    if (rightChoice.isPresent()) {
-                        isRigntAnswer = rightChoice.get()
-                                .id()
-                                .toString()
-                                .equals(answer);
-                    }
-                    break;
-                case MULTI_CHOICE:
-                    List<String> rightChoiceIds = question.getChoices()
-                            .stream()
-                            .filter(QuestionChoice::isAnswer)
-                            .map(choice -> choice.id().toString())
-                            .toList();
-                    if (!rightChoiceIds.isEmpty()) {
-                        Set<String> answerIds = Set.of(answer.split(","));
-                        isRigntAnswer =
-                                answerIds.size() == rightChoiceIds.size()
-                                && answerIds.containsAll(rightChoiceIds);
-                    }
-                    break;
-                case MATCH_THE_FOLLOWING:
-                    List<QuestionChoice> questionChoices =
-                            new ArrayList<>(question.getChoices());
-                    questionChoices
-                            .addAll(question.getMatches()
-                                    .subList(0, question.getChoices().size()));
+        try (Probe probe = questionService.probe(Operation.ANSWER)) {
+            final AnswerKey answerKey =
+                    questionService.answerKey(probe, questionId);
+            return answerKey != null && answerKey.isCorrect(answer);
+        }
+    }
 
-                    if (!questionChoices.isEmpty()) {
-                        isRigntAnswer = answer.equals(questionChoices.stream()
-                                .map(choice ->
-                                        choice.id().toString())
-                                .collect(Collectors.joining(",")));
-                    }
-                    break;
-                default:
-                    break;
+    /**
+     * grades all the answers of an exam and stores them. Answer keys of
+     * all the questions are read together and answers are stored in one
+     * batch, all on one connection.
+     *
+     * @param examId  the exam id
+     * @param answers answers by question id
+     * @return exam result
+     */
+    public final ExamResult gradeExam(final UUID examId,
+                                      final Map<UUID, String> answers)
+            throws SQLException {
+        final List<Map.Entry<UUID, String>> submissions =
+                new ArrayList<>(answers.entrySet());
+        final Map<UUID, Boolean> results = new LinkedHashMap<>();
+        int score = 0;
+        try (Probe probe = questionService.probe(Operation.GRADE_EXAM);
+             ConnectionScope scope = questionService.openScope(probe)) {
+            final Map<UUID, AnswerKey> answerKeys =
+                    questionService.answerKeys(scope, answers.keySet());
+
+            for (Map.Entry<UUID, String> submission : submissions) {
+                final AnswerKey answerKey =
+                        answerKeys.get(submission.getKey());
+                final boolean correct = answerKey != null
+                        && answerKey.isCorrect(submission.getValue());
+                results.put(submission.getKey(), correct);
+                if (correct) {
+                    score++;
+                }
             }
+
+            saveAnswers(scope, examId, submissions, answerKeys);
         }
-        return isRigntAnswer;
+
+        return new ExamResult(examId, Collections.unmodifiableMap(results),
+                score);
+    }
+
+    /**
+     * Stores answers of existing questions in one transaction.
+     *
+     * @param scope       the scope
+     * @param examId      the exam id
+     * @param submissions the answers
+     * @param answerKeys  answer keys of existing questions
+     */
+    private void saveAnswers(final ConnectionScope scope,
+                             final UUID examId,
+                             final List<Map.Entry<UUID, String>> submissions,
+                             final Map<UUID, AnswerKey> answerKeys)
+            throws SQLException {
+        scope.inTransaction(() -> {
+            try (PreparedStatement statement = scope.getConnection()
+                    .prepareStatement(INSERT_ANSWER)) {
+                for (Map.Entry<UUID, String> submission : submissions) {
+                    if (submission.getValue() != null
+                            && answerKeys.containsKey(submission.getKey())) {
+                        statement.setObject(1, UUID.randomUUID());
+                        statement.setObject(2, examId);
+                        statement.setObject(3, submission.getKey());
+                        statement.setString(4, submission.getValue());
+                        statement.addBatch();
+                    }
+                }
+                return statement.executeBatch();
+            }
+        });
     }
 
 }
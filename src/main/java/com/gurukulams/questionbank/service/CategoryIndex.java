@@ -0,0 +1,233 @@
+package com.gurukulams.questionbank.service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In memory inverted index from category to the questions in it. Every
+ * question gets a dense ordinal and a category holds a bitmap of the
+ * ordinals, so questions in all the given categories are a bitmap
+ * intersection. Ordinals of removed questions are given to the next ones
+ * added, so the bitmaps stay as long as the most questions ever indexed
+ * at once.
+ */
+public final class CategoryIndex {
+
+    /**
+     * Loads all category rows.
+     */
+    private static final String SELECT_CATEGORIES =
+            "SELECT question_id, category_id FROM question_category";
+
+    /**
+     * Guards the index.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexed questions by id.
+     */
+    private final Map<UUID, Indexed> indexed = new HashMap<>();
+
+    /**
+     * Question ids by ordinal; null once a question is removed.
+     */
+    private final List<UUID> questionIds = new ArrayList<>();
+
+    /**
+     * Ordinals of removed questions, to be given again.
+     */
+    private final BitSet freeOrdinals = new BitSet();
+
+    /**
+     * Ordinals of questions by category.
+     */
+    private final Map<String, BitSet> categories = new HashMap<>();
+
+    /**
+     * Loads index of all the questions in database.
+     *
+     * @param dataSource the datasource
+     * @return category index
+     */
+    public static CategoryIndex load(final DataSource dataSource)
+            throws SQLException {
+        final CategoryIndex categoryIndex = new CategoryIndex();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement =
+                     connection.prepareStatement(SELECT_CATEGORIES);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                categoryIndex.add(resultSet.getObject(1, UUID.class),
+                        resultSet.getString(2));
+            }
+        }
+        return categoryIndex;
+    }
+
+    /**
+     * Adds question to category.
+     *
+     * @param questionId the question id
+     * @param categoryId the category id
+     */
+    void add(final UUID questionId, final String categoryId) {
+        lock.writeLock().lock();
+        try {
+            Indexed question = indexed.get(questionId);
+            if (question == null) {
+                int ordinal = freeOrdinals.nextSetBit(0);
+                if (ordinal < 0) {
+                    ordinal = questionIds.size();
+                    questionIds.add(questionId);
+                } else {
+                    freeOrdinals.clear(ordinal);
+                    questionIds.set(ordinal, questionId);
+                }
+                question = new Indexed(ordinal);
+                indexed.put(questionId, question);
+            }
+            final BitSet bitmap = categories.computeIfAbsent(categoryId,
+                    id -> new BitSet());
+            if (!bitmap.get(question.ordinal)) {
+                bitmap.set(question.ordinal);
+                question.categoryIds.add(categoryId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes question from all its categories, freeing its ordinal.
+     * Categories left without questions are dropped.
+     *
+     * @param questionId the question id
+     */
+    void remove(final UUID questionId) {
+        lock.writeLock().lock();
+        try {
+            final Indexed question = indexed.remove(questionId);
+            if (question != null) {
+                questionIds.set(question.ordinal, null);
+                freeOrdinals.set(question.ordinal);
+                for (String categoryId : question.categoryIds) {
+                    final BitSet bitmap = categories.get(categoryId);
+                    bitmap.clear(question.ordinal);
+                    if (bitmap.isEmpty()) {
+                        categories.remove(categoryId);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all questions.
+     */
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            indexed.clear();
+            questionIds.clear();
+            freeOrdinals.clear();
+            categories.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets ids of questions in all the given categories.
+     *
+     * @param categoryIds the category ids
+     * @return question ids
+     */
+    public List<UUID> questionIds(final List<String> categoryIds) {
+        final List<UUID> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet intersection = null;
+            for (String categoryId : categoryIds) {
+                final BitSet bitmap = categories.get(categoryId);
+                if (bitmap == null) {
+                    return ids;
+                }
+                if (intersection == null) {
+                    intersection = (BitSet) bitmap.clone();
+                } else {
+                    intersection.and(bitmap);
+                }
+            }
+            if (intersection != null) {
+                intersection.stream()
+                        .forEach(ordinal -> ids.add(questionIds.get(ordinal)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * gets no of questions indexed.
+     *
+     * @return size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexed.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * gets no of ordinals in use or free to be given again.
+     *
+     * @return capacity
+     */
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return questionIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A question in the index.
+     */
+    private static final class Indexed {
+
+        /**
+         * Ordinal of the question.
+         */
+        private final int ordinal;
+
+        /**
+         * Categories of the question, so that removal touches only their
+         * bitmaps.
+         */
+        private final List<String> categoryIds = new ArrayList<>();
+
+        Indexed(final int theOrdinal) {
+            this.ordinal = theOrdinal;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.gurukulams.questionbank.service;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Unit of work of a public operation. It is a DataSource that hands out
+ * the same connection to every statement of the operation, so stores and
+ * JDBC code share one connection that is borrowed on first use and
+ * returned when the scope is closed.
+ */
+final class ConnectionScope implements DataSource, AutoCloseable {
+
+    /**
+     * DataSource the connection is borrowed from.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Counts connections borrowed.
+     */
+    private final LongAdder connectionCount;
+
+    /**
+     * Probe of the operation; counts statements and rows when active.
+     */
+    private final Probe probe;
+
+    /**
+     * Borrowed connection; null until first use.
+     */
+    private Connection connection;
+
+    /**
+     * Connection handed out; closing it leaves the connection open.
+     */
+    private Connection shared;
+
+    /**
+     * Builds Scope.
+     *
+     * @param theDataSource      the datasource
+     * @param theConnectionCount counter of connections borrowed
+     */
+    ConnectionScope(final DataSource theDataSource,
+                    final LongAdder theConnectionCount) {
+        this(theDataSource, theConnectionCount, Probe.NONE);
+    }
+
+    /**
+     * Builds Scope of a measured operation.
+     *
+     * @param theDataSource      the datasource
+     * @param theConnectionCount counter of connections borrowed
+     * @param theProbe           probe of the operation
+     */
+    ConnectionScope(final DataSource theDataSource,
+                    final LongAdder theConnectionCount,
+                    final Probe theProbe) {
+        this.dataSource = theDataSource;
+        this.connectionCount = theConnectionCount;
+        this.probe = theProbe;
+    }
+
+    /**
+     * gets probe of the operation.
+     *
+     * @return probe
+     */
+    Probe getProbe() {
+        return probe;
+    }
+
+    /**
+     * Runs work in a transaction on the connection of the scope. When a
+     * transaction is already in progress the work joins it.
+     *
+     * @param work the work
+     * @param <T>  type of the result
+     * @return result of the work
+     */
+    <T> T inTransaction(final Work<T> work) throws SQLException {
+        final Connection theConnection = getConnection();
+        if (!theConnection.getAutoCommit()) {
+            return work.run();
+        }
+        theConnection.setAutoCommit(false);
+        try {
+            final T result = work.run();
+            theConnection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            theConnection.rollback();
+            throw e;
+        } finally {
+            theConnection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Runs reads in a read only, repeatable read transaction on the
+     * connection of the scope, so that all of them see the same state of
+     * the database. The transaction is rolled back at the end, and the
+     * isolation and read only flag of the connection are restored. When
+     * a transaction is already in progress the work joins it.
+     *
+     * @param work the work
+     * @param <T>  type of the result
+     * @return result of the work
+     */
+    <T> T inSnapshot(final Work<T> work) throws SQLException {
+        final Connection theConnection = getConnection();
+        if (!theConnection.getAutoCommit()) {
+            return work.run();
+        }
+        final boolean readOnly = theConnection.isReadOnly();
+        final int isolation = theConnection.getTransactionIsolation();
+        theConnection.setTransactionIsolation(
+                Connection.TRANSACTION_REPEATABLE_READ);
+        theConnection.setReadOnly(true);
+        theConnection.setAutoCommit(false);
+        try {
+            return work.run();
+        } finally {
+            theConnection.rollback();
+            theConnection.setAutoCommit(true);
+            theConnection.setReadOnly(readOnly);
+            theConnection.setTransactionIsolation(isolation);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (connection == null) {
+            connection = dataSource.getConnection();
+            connectionCount.increment();
+            final Connection borrowed = connection;
+            shared = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            return null;
+                        }
+                        final Object result;
+                        try {
+                            result = method.invoke(borrowed, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        return probe.isActive()
+                                && result instanceof Statement statement
+                                ? probe.watch(statement) : result;
+                    });
+        }
+        return shared;
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+                                    final String password)
+            throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                "Scope uses the connection of its datasource");
+    }
+
+    /**
+     * Returns the connection, if borrowed.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (connection != null) {
+            final Connection borrowed = connection;
+            connection = null;
+            shared = null;
+            borrowed.close();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return dataSource.isWrapperFor(iface);
+    }
+
+    /**
+     * Work done in a transaction.
+     *
+     * @param <T> type of the result
+     */
+    @FunctionalInterface
+    interface Work<T> {
+        /**
+         * Runs work.
+         *
+         * @return result
+         */
+        T run() throws SQLException;
+    }
+}
@@ -0,0 +1,57 @@
+package com.gurukulams.questionbank.service;
+
+/**
+ * Writes text as JSON.
+ */
+final class JsonText {
+
+    /**
+     * Highest char that is escaped as unicode.
+     */
+    private static final char LAST_CONTROL_CHAR = 0x1F;
+
+    private JsonText() {
+    }
+
+    /**
+     * Appends value as a JSON string.
+     *
+     * @param builder the builder
+     * @param value   the value; null for JSON null
+     */
+    static void appendString(final StringBuilder builder,
+                             final String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c <= LAST_CONTROL_CHAR) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
@@ -0,0 +1,229 @@
+package com.gurukulams.questionbank.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, least recently used cache of values of questions keyed by id
+ * and locale. All the localized values of a question are held (and
+ * evicted) together, so the bound is on the number of questions. Every
+ * invalidation moves to a new generation, and a value loaded before it
+ * is not cached after it, so a load racing with an update can not put
+ * back what the update invalidated.
+ *
+ * @param <V> type of the values
+ */
+final class LocalizedLruCache<V> {
+
+    /**
+     * Key for the value without locale.
+     */
+    private static final String NO_LOCALE = "";
+
+    /**
+     * Initial capacity of entries.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Load factor of entries.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Maximum no of questions held.
+     */
+    private final int maximumSize;
+
+    /**
+     * Guards entries and generation. A lock (rather than synchronized)
+     * does not pin virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Values by id in access order, each by locale language.
+     */
+    private final LinkedHashMap<UUID, Map<String, V>> entries;
+
+    /**
+     * Incremented on every invalidation.
+     */
+    private long generation;
+
+    /**
+     * Hits.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Evictions.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs Localized Lru Cache.
+     *
+     * @param theMaximumSize maximum no of questions held
+     */
+    LocalizedLruCache(final int theMaximumSize) {
+        if (theMaximumSize < 1) {
+            throw new IllegalArgumentException(
+                    "Maximum size should be positive");
+        }
+        this.maximumSize = theMaximumSize;
+        this.entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR,
+                true);
+    }
+
+    /**
+     * Gets the cached value.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return value; null if not cached
+     */
+    V get(final UUID id, final Locale locale) {
+        V value;
+        lock.lock();
+        try {
+            Map<String, V> localized = entries.get(id);
+            value = localized == null ? null
+                    : localized.get(language(locale));
+        } finally {
+            lock.unlock();
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Gets current generation. It is to be read before loading a value
+     * and given back on put.
+     *
+     * @return generation
+     */
+    long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches value loaded at given generation.
+     *
+     * @param loadedAt the generation read before loading
+     * @param id       the id
+     * @param locale   the locale
+     * @param value    the value; not to be changed afterwards
+     */
+    void put(final long loadedAt,
+             final UUID id,
+             final Locale locale,
+             final V value) {
+        lock.lock();
+        try {
+            if (loadedAt == generation) {
+                entries.computeIfAbsent(id, key -> new HashMap<>())
+                        .put(language(locale), value);
+                while (entries.size() > maximumSize) {
+                    UUID eldest = entries.keySet().iterator().next();
+                    entries.remove(eldest);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates all the locales of a question.
+     *
+     * @param id the id
+     */
+    void invalidate(final UUID id) {
+        lock.lock();
+        try {
+            generation++;
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates all questions.
+     */
+    void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * gets no of questions cached.
+     *
+     * @return size
+     */
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * gets no of gets served from cache.
+     *
+     * @return hits
+     */
+    long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * gets no of gets not served from cache.
+     *
+     * @return misses
+     */
+    long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * gets no of questions evicted to stay within maximum size.
+     *
+     * @return evictions
+     */
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static String language(final Locale locale) {
+        return locale == null ? NO_LOCALE : locale.getLanguage();
+    }
+}
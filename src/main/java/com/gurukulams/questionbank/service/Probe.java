@@ -0,0 +1,136 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.metrics.Operation;
+import com.gurukulams.questionbank.metrics.QuestionMetrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures a public operation; its time, the statements prepared in its
+ * scopes and the rows fetched from them, recorded to metrics on close.
+ * When metrics are disabled the shared inactive probe is used, which
+ * measures nothing and leaves statements as they are.
+ */
+final class Probe implements AutoCloseable {
+
+    /**
+     * Probe that measures nothing.
+     */
+    static final Probe NONE = new Probe(null, null);
+
+    /**
+     * Metrics recorded to; null if inactive.
+     */
+    private final QuestionMetrics metrics;
+
+    /**
+     * Operation measured.
+     */
+    private final Operation operation;
+
+    /**
+     * Nano time of start.
+     */
+    private final long start;
+
+    /**
+     * No of statements prepared.
+     */
+    private final LongAdder statements;
+
+    /**
+     * No of rows fetched.
+     */
+    private final LongAdder rows;
+
+    private Probe(final QuestionMetrics theMetrics,
+                  final Operation theOperation) {
+        this.metrics = theMetrics;
+        this.operation = theOperation;
+        this.start = theMetrics == null ? 0 : System.nanoTime();
+        this.statements = theMetrics == null ? null : new LongAdder();
+        this.rows = theMetrics == null ? null : new LongAdder();
+    }
+
+    /**
+     * Starts measuring operation.
+     *
+     * @param metrics   the metrics
+     * @param operation the operation
+     * @return probe; inactive if metrics are disabled
+     */
+    static Probe of(final QuestionMetrics metrics,
+                    final Operation operation) {
+        return metrics.isEnabled() ? new Probe(metrics, operation) : NONE;
+    }
+
+    /**
+     * Tells if the probe measures.
+     *
+     * @return true if active
+     */
+    boolean isActive() {
+        return metrics != null;
+    }
+
+    /**
+     * Counts statement created on a connection of the operation and
+     * wraps it to count rows fetched from its result sets.
+     *
+     * @param statement the statement
+     * @return statement to hand out
+     */
+    Statement watch(final Statement statement) {
+        statements.increment();
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] {statement instanceof PreparedStatement
+                        ? PreparedStatement.class : Statement.class},
+                (proxy, method, args) -> {
+                    final Object result = invoke(statement, method, args);
+                    return result instanceof ResultSet resultSet
+                            ? watch(resultSet) : result;
+                });
+    }
+
+    private ResultSet watch(final ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    final Object result = invoke(resultSet, method, args);
+                    if ("next".equals(method.getName())
+                            && Boolean.TRUE.equals(result)) {
+                        rows.increment();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(final Object target,
+                                 final Method method,
+                                 final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Records the operation.
+     */
+    @Override
+    public void close() {
+        if (metrics != null) {
+            metrics.record(operation, System.nanoTime() - start,
+                    statements.sum(), rows.sum());
+        }
+    }
+}
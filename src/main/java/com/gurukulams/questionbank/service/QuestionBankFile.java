@@ -0,0 +1,390 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.codec.QuestionCodec;
+import com.gurukulams.questionbank.payload.Question;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Question bank exported to a single file that is read through memory
+ * mapping, so opening it costs the same whatever the no of questions and
+ * the text stays off the heap.
+ * <p>
+ * The file has a header, the questions and an index of them:
+ * <pre>
+ * header    int magic, int version, long no of questions,
+ *           long offset of index
+ * question  short no of categories, category...,
+ *           byte no of variants, (language, int length, encoded
+ *           question)...; the first variant has no language
+ * index     (long, long id, long offset of question)... in id order
+ * text      short length, UTF-8 bytes
+ * </pre>
+ * Questions are encoded with {@link QuestionCodec} as read by their owner,
+ * once without locale and once for every language they are localized in.
+ * No question crosses a segment of the file, so that every segment is
+ * mapped on its own.
+ */
+public final class QuestionBankFile implements AutoCloseable {
+
+    /**
+     * Tells the file is a question bank.
+     */
+    private static final int MAGIC = 0x5142_4E4B;
+
+    /**
+     * Version of the file.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Bytes of header.
+     */
+    private static final int HEADER_BYTES = 2 * Integer.BYTES
+            + 2 * Long.BYTES;
+
+    /**
+     * Bytes of an index entry.
+     */
+    private static final int INDEX_ENTRY_BYTES = 3 * Long.BYTES;
+
+    /**
+     * Index entries written at a time.
+     */
+    private static final int INDEX_ENTRIES_PER_WRITE = 4096;
+
+    /**
+     * Bits of offset within a segment.
+     */
+    private static final int SEGMENT_BITS = 30;
+
+    /**
+     * Bytes of a segment.
+     */
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_BITS;
+
+    /**
+     * File.
+     */
+    private final Path path;
+
+    /**
+     * Channel the file is mapped from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapped segments of questions.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Mapped index.
+     */
+    private final MappedByteBuffer index;
+
+    /**
+     * No of questions.
+     */
+    private final int size;
+
+    private QuestionBankFile(final Path aPath) throws IOException {
+        this.path = aPath;
+        this.channel = FileChannel.open(aPath, StandardOpenOption.READ);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES
+                    || header.getInt() != MAGIC
+                    || header.getInt() != VERSION) {
+                throw new IOException(aPath + " is not a question bank");
+            }
+            this.size = Math.toIntExact(header.getLong());
+            final long indexOffset = header.getLong();
+            this.index = channel.map(FileChannel.MapMode.READ_ONLY,
+                    indexOffset, (long) size * INDEX_ENTRY_BYTES);
+            final int segmentCount = (int) ((indexOffset + SEGMENT_BYTES - 1)
+                    >>> SEGMENT_BITS);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segments.length; i++) {
+                final long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        start, Math.min(SEGMENT_BYTES, indexOffset - start));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens question bank file.
+     *
+     * @param aPath the path
+     * @return question bank file
+     */
+    public static QuestionBankFile open(final Path aPath)
+            throws IOException {
+        return new QuestionBankFile(aPath);
+    }
+
+    /**
+     * Writes questions of the snapshot to a question bank file.
+     *
+     * @param aPath    the path
+     * @param snapshot the snapshot
+     */
+    static void write(final Path aPath, final QuestionSnapshot snapshot)
+            throws IOException {
+        final List<UUID> ids = snapshot.ids();
+        final long[] offsets = new long[ids.size()];
+        try (FileChannel out = FileChannel.open(aPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = HEADER_BYTES;
+            for (int i = 0; i < ids.size(); i++) {
+                final ByteBuffer block = block(snapshot, ids.get(i));
+                if (block.remaining() > SEGMENT_BYTES) {
+                    throw new IOException("Question " + ids.get(i)
+                            + " is too large");
+                }
+                // keep every question within a segment
+                final long segmentEnd = ((position >>> SEGMENT_BITS) + 1)
+                        << SEGMENT_BITS;
+                if (position + block.remaining() > segmentEnd) {
+                    position = segmentEnd;
+                }
+                offsets[i] = position;
+                position += writeFully(out, block, position);
+            }
+            final long indexOffset = position;
+            final ByteBuffer entries = ByteBuffer.allocate(
+                    INDEX_ENTRY_BYTES * INDEX_ENTRIES_PER_WRITE);
+            for (int i = 0; i < ids.size(); i++) {
+                entries.putLong(ids.get(i).getMostSignificantBits())
+                        .putLong(ids.get(i).getLeastSignificantBits())
+                        .putLong(offsets[i]);
+                if (!entries.hasRemaining()) {
+                    position += writeFully(out, entries.flip(), position);
+                    entries.clear();
+                }
+            }
+            writeFully(out, entries.flip(), position);
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(ids.size())
+                    .putLong(indexOffset)
+                    .flip();
+            writeFully(out, header, 0);
+        }
+    }
+
+    private static int writeFully(final FileChannel out,
+                                  final ByteBuffer buffer,
+                                  final long position) throws IOException {
+        final int length = buffer.remaining();
+        int written = 0;
+        while (written < length) {
+            written += out.write(buffer, position + written);
+        }
+        return length;
+    }
+
+    /**
+     * Builds block of a question.
+     *
+     * @param snapshot the snapshot
+     * @param id       the id
+     * @return block
+     */
+    private static ByteBuffer block(final QuestionSnapshot snapshot,
+                                    final UUID id) {
+        final List<byte[]> categories = new ArrayList<>();
+        int length = Short.BYTES + 1;
+        for (String categoryId : snapshot.categories(id)) {
+            final byte[] bytes = text(categoryId);
+            categories.add(bytes);
+            length += Short.BYTES + bytes.length;
+        }
+        final List<String> languages = new ArrayList<>();
+        languages.add("");
+        languages.addAll(snapshot.languages(id));
+        if (languages.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Question " + id
+                    + " has too many languages");
+        }
+        final List<byte[]> variants = new ArrayList<>();
+        for (String language : languages) {
+            final byte[] languageBytes = text(language);
+            final byte[] bytes = QuestionCodec.encode(snapshot.read(id,
+                    language.isEmpty() ? null : Locale.of(language)));
+            variants.add(languageBytes);
+            variants.add(bytes);
+            length += Short.BYTES + languageBytes.length
+                    + Integer.BYTES + bytes.length;
+        }
+        final ByteBuffer block = ByteBuffer.allocate(length);
+        block.putShort((short) categories.size());
+        categories.forEach(bytes -> putText(block, bytes));
+        block.put((byte) languages.size());
+        for (int i = 0; i < variants.size(); i += 2) {
+            putText(block, variants.get(i));
+            block.putInt(variants.get(i + 1).length);
+            block.put(variants.get(i + 1));
+        }
+        return block.flip();
+    }
+
+    private static byte[] text(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(value + " is too long");
+        }
+        return bytes;
+    }
+
+    private static void putText(final ByteBuffer buffer,
+                                final byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * reads question with given id, as its owner reads it.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return question; null if not in file
+     */
+    Question read(final UUID id, final Locale locale) {
+        final long offset = find(id);
+        if (offset < 0) {
+            return null;
+        }
+        final ByteBuffer segment = segments[(int) (offset >>> SEGMENT_BITS)];
+        int at = (int) (offset & (SEGMENT_BYTES - 1));
+        final int categoryCount = segment.getShort(at);
+        at += Short.BYTES;
+        for (int i = 0; i < categoryCount; i++) {
+            at += Short.BYTES + segment.getShort(at);
+        }
+        final int variantCount = segment.get(at++);
+        final byte[] language = locale == null ? new byte[0]
+                : text(locale.getLanguage());
+        int base = -1;
+        for (int i = 0; i < variantCount; i++) {
+            final int languageLength = segment.getShort(at);
+            final boolean matches = languageLength == language.length
+                    && segment.slice(at + Short.BYTES, languageLength)
+                    .equals(ByteBuffer.wrap(language));
+            at += Short.BYTES + languageLength;
+            if (base < 0) {
+                base = at;
+            }
+            if (matches) {
+                return decode(segment, at);
+            }
+            at += Integer.BYTES + segment.getInt(at);
+        }
+        return decode(segment, base);
+    }
+
+    private static Question decode(final ByteBuffer segment, final int at) {
+        return QuestionCodec.decode(segment.slice(at + Integer.BYTES,
+                segment.getInt(at)));
+    }
+
+    /**
+     * gets categories of question.
+     *
+     * @param id the id
+     * @return categories; empty if not in file
+     */
+    public List<String> categories(final UUID id) {
+        final long offset = find(id);
+        if (offset < 0) {
+            return List.of();
+        }
+        final ByteBuffer segment = segments[(int) (offset >>> SEGMENT_BITS)];
+        int at = (int) (offset & (SEGMENT_BYTES - 1));
+        final int categoryCount = segment.getShort(at);
+        at += Short.BYTES;
+        final List<String> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            final byte[] bytes = new byte[segment.getShort(at)];
+            segment.get(at + Short.BYTES, bytes);
+            categories.add(new String(bytes, StandardCharsets.UTF_8));
+            at += Short.BYTES + bytes.length;
+        }
+        return categories;
+    }
+
+    /**
+     * Finds offset of question in the index.
+     *
+     * @param id the id
+     * @return offset; -1 if not in file
+     */
+    private long find(final UUID id) {
+        final long msb = id.getMostSignificantBits();
+        final long lsb = id.getLeastSignificantBits();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int at = middle * INDEX_ENTRY_BYTES;
+            int compare = Long.compareUnsigned(index.getLong(at), msb);
+            if (compare == 0) {
+                compare = Long.compareUnsigned(
+                        index.getLong(at + Long.BYTES), lsb);
+            }
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return index.getLong(at + 2 * Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * gets path of the file.
+     *
+     * @return path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * gets no of questions.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Closes the file. Mapped regions are released once they are no
+     * longer reachable.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
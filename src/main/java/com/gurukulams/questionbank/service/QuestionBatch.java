@@ -0,0 +1,483 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.Matches;
+import com.gurukulams.questionbank.model.QuestionCategory;
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.model.QuestionChoiceLocalized;
+import com.gurukulams.questionbank.model.QuestionLocalized;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Rows of new questions that are inserted together, one JDBC batch (or
+ * one PostgreSQL COPY) per table.
+ */
+final class QuestionBatch {
+
+    /**
+     * Insert Question.
+     */
+    private static final String INSERT_QUESTION = """
+            INSERT INTO question (id, question, explanation, type, answer,
+                created_at, created_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Insert Localized Question.
+     */
+    private static final String INSERT_QUESTION_LOCALIZED = """
+            INSERT INTO question_localized (question_id, locale, question,
+                explanation)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    /**
+     * Insert Choice.
+     */
+    private static final String INSERT_CHOICE = """
+            INSERT INTO question_choice (id, question_id, c_value, is_answer)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    /**
+     * Insert Localized Choice.
+     */
+    private static final String INSERT_CHOICE_LOCALIZED = """
+            INSERT INTO question_choice_localized (choice_id, locale, c_value)
+            VALUES (?, ?, ?)
+            """;
+
+    /**
+     * Insert Match.
+     */
+    private static final String INSERT_MATCH = """
+            INSERT INTO matches (question_id, choice_id, match_id)
+            VALUES (?, ?, ?)
+            """;
+
+    /**
+     * Insert Category.
+     */
+    private static final String INSERT_CATEGORY = """
+            INSERT INTO question_category (question_id, category_id)
+            VALUES (?, ?)
+            """;
+
+    /**
+     * Question rows.
+     */
+    private final List<com.gurukulams.questionbank.model.Question>
+            questions = new ArrayList<>();
+
+    /**
+     * Localized Question rows.
+     */
+    private final List<QuestionLocalized> localizedQuestions =
+            new ArrayList<>();
+
+    /**
+     * Choice rows.
+     */
+    private final List<QuestionChoice> choices = new ArrayList<>();
+
+    /**
+     * Localized Choice rows.
+     */
+    private final List<QuestionChoiceLocalized> localizedChoices =
+            new ArrayList<>();
+
+    /**
+     * Match rows.
+     */
+    private final List<Matches> matches = new ArrayList<>();
+
+    /**
+     * Category rows.
+     */
+    private final List<QuestionCategory> categories = new ArrayList<>();
+
+    /**
+     * Adds a valid question to the batch. Ids are assigned to the question
+     * and its choices, and the question is filled the way it would be read
+     * back after the batch is written.
+     *
+     * @param question    the question
+     * @param locale      the locale
+     * @param createdBy   the createdBy
+     * @param categoryIds the categories
+     * @return question
+     */
+    Question add(final Question question,
+                 final Locale locale,
+                 final String createdBy,
+                 final List<String> categoryIds) {
+        final UUID id = UUID.randomUUID();
+
+        question.setId(id);
+        question.setCreatedBy(createdBy);
+        question.setCreatedAt(LocalDateTime.now());
+
+        questions.add(new com.gurukulams.questionbank.model.Question(
+                id,
+                question.getQuestion(),
+                question.getExplanation(),
+                question.getType().name(),
+                question.getAnswer(),
+                question.getCreatedAt(),
+                createdBy,
+                null,
+                null));
+
+        if (locale != null) {
+            localizedQuestions.add(new QuestionLocalized(id,
+                    locale.getLanguage(),
+                    question.getQuestion(),
+                    question.getExplanation()));
+        }
+
+        if (QuestionService.hasChoices(question.getType())) {
+            List<QuestionChoice> createdChoices =
+                    addChoices(question.getChoices(), locale, id);
+            question.setChoices(createdChoices);
+
+            if (question.getType()
+                    .equals(QuestionType.MATCH_THE_FOLLOWING)) {
+                List<QuestionChoice> createdMatches =
+                        addChoices(question.getMatches(), locale, id);
+                for (int i = 0; i < createdMatches.size(); i++) {
+                    UUID choiceId = i < createdChoices.size()
+                            ? createdChoices.get(i).id() : null;
+                    matches.add(new Matches(id, choiceId,
+                            createdMatches.get(i).id()));
+                }
+                question.setMatches(createdMatches);
+            } else {
+                question.setMatches(null);
+            }
+        } else {
+            question.setChoices(null);
+            question.setMatches(null);
+        }
+
+        if (categoryIds != null) {
+            for (String categoryId : categoryIds) {
+                categories.add(new QuestionCategory(id, categoryId));
+            }
+        }
+        return question;
+    }
+
+    private List<QuestionChoice> addChoices(
+            final List<QuestionChoice> choicesToCreate,
+            final Locale locale,
+            final UUID questionId) {
+        List<QuestionChoice> createdChoices = new ArrayList<>();
+        if (choicesToCreate != null) {
+            for (QuestionChoice choiceToCreate : choicesToCreate) {
+                if (choiceToCreate != null) {
+                    QuestionChoice choice = choiceToCreate
+                            .withId(UUID.randomUUID())
+                            .withQuestionId(questionId);
+                    if (choice.isAnswer() == null) {
+                        choice = choice.withIsAnswer(Boolean.FALSE);
+                    }
+                    choices.add(choice);
+                    if (locale != null) {
+                        localizedChoices.add(new QuestionChoiceLocalized(
+                                choice.id(), locale.getLanguage(),
+                                choice.cValue()));
+                    }
+                    createdChoices.add(choice);
+                }
+            }
+        }
+        return createdChoices;
+    }
+
+    /**
+     * Number of questions in the batch.
+     *
+     * @return size
+     */
+    int size() {
+        return questions.size();
+    }
+
+    /**
+     * Category rows of the batch.
+     *
+     * @return categories
+     */
+    List<QuestionCategory> categories() {
+        return categories;
+    }
+
+    /**
+     * Clears the batch for reuse.
+     */
+    void clear() {
+        questions.clear();
+        localizedQuestions.clear();
+        choices.clear();
+        localizedChoices.clear();
+        matches.clear();
+        categories.clear();
+    }
+
+    /**
+     * Writes the batch in a single transaction. Nothing is written when
+     * any of the rows fails.
+     *
+     * @param connection the connection
+     * @param useCopy    use PostgreSQL COPY instead of JDBC batches
+     */
+    void save(final Connection connection,
+              final boolean useCopy) throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            if (useCopy) {
+                copy(connection);
+            } else {
+                write(connection);
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Writes the batch, one JDBC batch per table in foreign key order.
+     *
+     * @param connection the connection
+     */
+    void write(final Connection connection) throws SQLException {
+        insert(connection, INSERT_QUESTION, questions,
+                (statement, question) -> {
+                    setUuid(statement, 1, question.id());
+                    statement.setString(2, question.question());
+                    statement.setString(3, question.explanation());
+                    statement.setString(4, question.type());
+                    statement.setString(5, question.answer());
+                    statement.setObject(6, question.createdAt());
+                    statement.setString(7, question.createdBy());
+                });
+        insert(connection, INSERT_QUESTION_LOCALIZED, localizedQuestions,
+                (statement, localized) -> {
+                    setUuid(statement, 1, localized.questionId());
+                    statement.setString(2, localized.locale());
+                    statement.setString(3, localized.question());
+                    statement.setString(4, localized.explanation());
+                });
+        insert(connection, INSERT_CHOICE, choices,
+                (statement, choice) -> {
+                    setUuid(statement, 1, choice.id());
+                    setUuid(statement, 2, choice.questionId());
+                    statement.setString(3, choice.cValue());
+                    statement.setBoolean(4, choice.isAnswer());
+                });
+        insert(connection, INSERT_CHOICE_LOCALIZED, localizedChoices,
+                (statement, localized) -> {
+                    setUuid(statement, 1, localized.choiceId());
+                    statement.setString(2, localized.locale());
+                    statement.setString(3, localized.cValue());
+                });
+        insert(connection, INSERT_MATCH, matches,
+                (statement, match) -> {
+                    setUuid(statement, 1, match.questionId());
+                    setUuid(statement, 2, match.choiceId());
+                    setUuid(statement, 3, match.matchId());
+                });
+        insert(connection, INSERT_CATEGORY, categories,
+                (statement, category) -> {
+                    setUuid(statement, 1, category.questionId());
+                    statement.setString(2, category.categoryId());
+                });
+    }
+
+    /**
+     * Writes the batch with PostgreSQL COPY, one COPY per table in foreign
+     * key order.
+     *
+     * @param connection the connection
+     */
+    void copy(final Connection connection) throws SQLException {
+        final CopyManager copyManager = connection
+                .unwrap(PGConnection.class).getCopyAPI();
+        copy(copyManager, "question (id, question, explanation, type, "
+                        + "answer, created_at, created_by)", questions,
+                (line, question) -> line.value(question.id())
+                        .value(question.question())
+                        .value(question.explanation())
+                        .value(question.type())
+                        .value(question.answer())
+                        .value(question.createdAt())
+                        .value(question.createdBy()));
+        copy(copyManager, "question_localized (question_id, locale, "
+                        + "question, explanation)", localizedQuestions,
+                (line, localized) -> line.value(localized.questionId())
+                        .value(localized.locale())
+                        .value(localized.question())
+                        .value(localized.explanation()));
+        copy(copyManager, "question_choice (id, question_id, c_value, "
+                        + "is_answer)", choices,
+                (line, choice) -> line.value(choice.id())
+                        .value(choice.questionId())
+                        .value(choice.cValue())
+                        .value(choice.isAnswer()));
+        copy(copyManager, "question_choice_localized (choice_id, locale, "
+                        + "c_value)", localizedChoices,
+                (line, localized) -> line.value(localized.choiceId())
+                        .value(localized.locale())
+                        .value(localized.cValue()));
+        copy(copyManager, "matches (question_id, choice_id, match_id)",
+                matches,
+                (line, match) -> line.value(match.questionId())
+                        .value(match.choiceId())
+                        .value(match.matchId()));
+        copy(copyManager, "question_category (question_id, category_id)",
+                categories,
+                (line, category) -> line.value(category.questionId())
+                        .value(category.categoryId()));
+    }
+
+    private static <T> void copy(final CopyManager copyManager,
+                                 final String table,
+                                 final List<T> rows,
+                                 final CsvWriter<T> writer)
+            throws SQLException {
+        if (!rows.isEmpty()) {
+            CsvLine line = new CsvLine();
+            for (T row : rows) {
+                writer.write(line, row);
+                line.end();
+            }
+            try {
+                copyManager.copyIn("COPY " + table
+                                + " FROM STDIN WITH (FORMAT csv)",
+                        new StringReader(line.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Unable to copy " + table, e);
+            }
+        }
+    }
+
+    private static <T> void insert(final Connection connection,
+                                   final String sql,
+                                   final List<T> rows,
+                                   final Binder<T> binder)
+            throws SQLException {
+        if (!rows.isEmpty()) {
+            try (PreparedStatement statement =
+                         connection.prepareStatement(sql)) {
+                for (T row : rows) {
+                    binder.bind(statement, row);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static void setUuid(final PreparedStatement statement,
+                                final int index,
+                                final UUID value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.OTHER);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    /**
+     * Writes a row as a CSV line.
+     *
+     * @param <T> type of the row
+     */
+    @FunctionalInterface
+    private interface CsvWriter<T> {
+        /**
+         * Writes row.
+         *
+         * @param line the line
+         * @param row  the row
+         */
+        void write(CsvLine line, T row);
+    }
+
+    /**
+     * CSV content in the format COPY reads. Values are always quoted so
+     * that an unquoted empty value means NULL.
+     */
+    private static final class CsvLine {
+
+        /**
+         * Content.
+         */
+        private final StringBuilder builder = new StringBuilder();
+
+        /**
+         * Tells if the next value starts a new line.
+         */
+        private boolean newLine = true;
+
+        CsvLine value(final Object value) {
+            if (!newLine) {
+                builder.append(',');
+            }
+            newLine = false;
+            if (value != null) {
+                builder.append('"')
+                        .append(value.toString().replace("\"", "\"\""))
+                        .append('"');
+            }
+            return this;
+        }
+
+        void end() {
+            builder.append('\n');
+            newLine = true;
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Binds a row to a statement.
+     *
+     * @param <T> type of the row
+     */
+    @FunctionalInterface
+    private interface Binder<T> {
+        /**
+         * Binds row.
+         *
+         * @param statement the statement
+         * @param row       the row
+         */
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
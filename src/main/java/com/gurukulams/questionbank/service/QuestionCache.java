@@ -0,0 +1,142 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded, least recently used cache of questions keyed by id and locale.
+ * All the localized variants of a question are held (and evicted)
+ * together, so the bound is on the number of questions.
+ */
+public final class QuestionCache {
+
+    /**
+     * Copies of questions.
+     */
+    private final LocalizedLruCache<Question> entries;
+
+    /**
+     * Constructs Question Cache.
+     *
+     * @param theMaximumSize maximum no of questions held
+     */
+    public QuestionCache(final int theMaximumSize) {
+        this.entries = new LocalizedLruCache<>(theMaximumSize);
+    }
+
+    /**
+     * Gets a copy of the cached question.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return question optional
+     */
+    Optional<Question> get(final UUID id, final Locale locale) {
+        return Optional.ofNullable(entries.get(id, locale))
+                .map(QuestionCache::copyOf);
+    }
+
+    /**
+     * Gets current generation. It is to be read before loading a question
+     * and given back on put.
+     *
+     * @return generation
+     */
+    long generation() {
+        return entries.generation();
+    }
+
+    /**
+     * Caches a copy of question loaded at given generation.
+     *
+     * @param loadedAt the generation read before loading
+     * @param question the question
+     * @param locale   the locale
+     */
+    void put(final long loadedAt,
+             final Question question,
+             final Locale locale) {
+        entries.put(loadedAt, question.getId(), locale, copyOf(question));
+    }
+
+    /**
+     * Invalidates all the locales of a question.
+     *
+     * @param id the id
+     */
+    void invalidate(final UUID id) {
+        entries.invalidate(id);
+    }
+
+    /**
+     * Invalidates all questions.
+     */
+    void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * gets no of questions cached.
+     *
+     * @return size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * gets no of reads served from cache.
+     *
+     * @return hits
+     */
+    public long hitCount() {
+        return entries.hitCount();
+    }
+
+    /**
+     * gets no of reads not served from cache.
+     *
+     * @return misses
+     */
+    public long missCount() {
+        return entries.missCount();
+    }
+
+    /**
+     * gets no of questions evicted to stay within maximum size.
+     *
+     * @return evictions
+     */
+    public long evictionCount() {
+        return entries.evictionCount();
+    }
+
+    /**
+     * Copies the question so that callers never share a cached instance.
+     *
+     * @param question the question
+     * @return copy
+     */
+    private static Question copyOf(final Question question) {
+        Question copy = new Question();
+        copy.setId(question.getId());
+        copy.setQuestion(question.getQuestion());
+        copy.setExplanation(question.getExplanation());
+        copy.setAnswer(question.getAnswer());
+        copy.setType(question.getType());
+        copy.setCreatedBy(question.getCreatedBy());
+        copy.setCreatedAt(question.getCreatedAt());
+        copy.setUpdatedAt(question.getUpdatedAt());
+        if (question.getChoices() != null) {
+            copy.setChoices(new ArrayList<>(question.getChoices()));
+        }
+        if (question.getMatches() != null) {
+            copy.setMatches(new ArrayList<>(question.getMatches()));
+        }
+        return copy;
+    }
+}
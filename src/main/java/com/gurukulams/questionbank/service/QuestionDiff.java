@@ -0,0 +1,521 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Changes that bring a stored question to a submitted one. The current
+ * state is loaded once and only the rows that differ are written, one
+ * JDBC batch per statement in foreign key order.
+ */
+final class QuestionDiff {
+
+    /**
+     * Select Question with its Localized text.
+     */
+    private static final String SELECT_QUESTION = """
+            SELECT q.question, q.explanation, q.answer,
+                ql.question, ql.explanation
+            FROM question q
+            LEFT JOIN question_localized ql
+                ON ql.question_id = q.id AND ql.locale = ?
+            WHERE q.id = ? AND q.type = ?
+            """;
+
+    /**
+     * Select Choices with their Localized value.
+     */
+    private static final String SELECT_CHOICES = """
+            SELECT c.id, c.c_value, c.is_answer, cl.c_value
+            FROM question_choice c
+            LEFT JOIN question_choice_localized cl
+                ON cl.choice_id = c.id AND cl.locale = ?
+            WHERE c.question_id = ?
+            """;
+
+    /**
+     * Select Matches.
+     */
+    private static final String SELECT_MATCHES = """
+            SELECT match_id, choice_id FROM matches WHERE question_id = ?
+            """;
+
+    /**
+     * Delete Localized Choice.
+     */
+    private static final String DELETE_CHOICE_LOCALIZED =
+            "DELETE FROM question_choice_localized WHERE choice_id = ?";
+
+    /**
+     * Delete Match.
+     */
+    private static final String DELETE_MATCH =
+            "DELETE FROM matches WHERE question_id = ? AND match_id = ?";
+
+    /**
+     * Delete Choice.
+     */
+    private static final String DELETE_CHOICE =
+            "DELETE FROM question_choice WHERE id = ?";
+
+    /**
+     * Update Question.
+     */
+    private static final String UPDATE_QUESTION = """
+            UPDATE question SET question = ?, explanation = ?, answer = ?,
+                modified_at = ?
+            WHERE id = ?
+            """;
+
+    /**
+     * Update Answer of Question.
+     */
+    private static final String UPDATE_ANSWER =
+            "UPDATE question SET answer = ?, modified_at = ? WHERE id = ?";
+
+    /**
+     * Insert Localized Question.
+     */
+    private static final String INSERT_QUESTION_LOCALIZED = """
+            INSERT INTO question_localized (question_id, locale, question,
+                explanation)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    /**
+     * Update Localized Question.
+     */
+    private static final String UPDATE_QUESTION_LOCALIZED = """
+            UPDATE question_localized SET question = ?, explanation = ?
+            WHERE question_id = ? AND locale = ?
+            """;
+
+    /**
+     * Insert Choice.
+     */
+    private static final String INSERT_CHOICE = """
+            INSERT INTO question_choice (id, question_id, c_value, is_answer)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    /**
+     * Update Choice.
+     */
+    private static final String UPDATE_CHOICE = """
+            UPDATE question_choice SET c_value = ?, is_answer = ?
+            WHERE id = ?
+            """;
+
+    /**
+     * Update Answer of Choice.
+     */
+    private static final String UPDATE_CHOICE_ANSWER =
+            "UPDATE question_choice SET is_answer = ? WHERE id = ?";
+
+    /**
+     * Insert Localized Choice.
+     */
+    private static final String INSERT_CHOICE_LOCALIZED = """
+            INSERT INTO question_choice_localized (choice_id, locale, c_value)
+            VALUES (?, ?, ?)
+            """;
+
+    /**
+     * Update Localized Choice.
+     */
+    private static final String UPDATE_CHOICE_LOCALIZED = """
+            UPDATE question_choice_localized SET c_value = ?
+            WHERE choice_id = ? AND locale = ?
+            """;
+
+    /**
+     * Insert Match.
+     */
+    private static final String INSERT_MATCH = """
+            INSERT INTO matches (question_id, choice_id, match_id)
+            VALUES (?, ?, ?)
+            """;
+
+    /**
+     * Update Match.
+     */
+    private static final String UPDATE_MATCH = """
+            UPDATE matches SET choice_id = ?
+            WHERE question_id = ? AND match_id = ?
+            """;
+
+    /**
+     * Statements, in the order they are written.
+     */
+    private static final List<String> STATEMENTS = List.of(
+            DELETE_CHOICE_LOCALIZED,
+            DELETE_MATCH,
+            DELETE_CHOICE,
+            UPDATE_QUESTION,
+            UPDATE_ANSWER,
+            INSERT_QUESTION_LOCALIZED,
+            UPDATE_QUESTION_LOCALIZED,
+            INSERT_CHOICE,
+            UPDATE_CHOICE,
+            UPDATE_CHOICE_ANSWER,
+            INSERT_CHOICE_LOCALIZED,
+            UPDATE_CHOICE_LOCALIZED,
+            INSERT_MATCH,
+            UPDATE_MATCH);
+
+    /**
+     * Question id.
+     */
+    private final UUID id;
+
+    /**
+     * Question type.
+     */
+    private final QuestionType type;
+
+    /**
+     * Locale; null for the question itself.
+     */
+    private final Locale locale;
+
+    /**
+     * Parameters of each statement to write.
+     */
+    private final Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+
+    /**
+     * No of statements written.
+     */
+    private int statements;
+
+    /**
+     * Builds Diff.
+     *
+     * @param anId     the question id
+     * @param aType    the question type
+     * @param aLocale  the locale
+     */
+    QuestionDiff(final UUID anId,
+                 final QuestionType aType,
+                 final Locale aLocale) {
+        this.id = anId;
+        this.type = aType;
+        this.locale = aLocale;
+        STATEMENTS.forEach(sql -> rows.put(sql, new ArrayList<>()));
+    }
+
+    /**
+     * Loads the stored question and writes the changes to the submitted
+     * one in a single transaction. Nothing is written when any of the
+     * statements fails.
+     *
+     * @param connection the connection
+     * @param question   the submitted question
+     * @return false if no question of the type exists with the id
+     */
+    boolean save(final Connection connection,
+                 final Question question) throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            final boolean found = diff(connection, question);
+            if (found) {
+                write(connection);
+            }
+            connection.commit();
+            return found;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * No of statements written by save, excluding the queries that load
+     * the stored question.
+     *
+     * @return statements
+     */
+    int statements() {
+        return statements;
+    }
+
+    /**
+     * Compares the stored question with the submitted one and collects
+     * the rows to write.
+     *
+     * @param connection the connection
+     * @param question   the submitted question
+     * @return false if no question of the type exists with the id
+     */
+    private boolean diff(final Connection connection,
+                         final Question question) throws SQLException {
+        final String language = locale == null ? null : locale.getLanguage();
+        boolean changed = false;
+        try (PreparedStatement statement =
+                     connection.prepareStatement(SELECT_QUESTION)) {
+            statement.setString(1, language);
+            statement.setObject(2, id);
+            statement.setString(3, type.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                final boolean answerChanged = !Objects.equals(
+                        resultSet.getString(3), question.getAnswer());
+                if (locale == null) {
+                    changed = answerChanged
+                            || !Objects.equals(resultSet.getString(1),
+                            question.getQuestion())
+                            || !Objects.equals(resultSet.getString(2),
+                            question.getExplanation());
+                } else {
+                    changed = answerChanged;
+                    final String localizedQuestion = resultSet.getString(4);
+                    if (localizedQuestion == null) {
+                        add(INSERT_QUESTION_LOCALIZED, id, language,
+                                question.getQuestion(),
+                                question.getExplanation());
+                        changed = true;
+                    } else if (!localizedQuestion
+                            .equals(question.getQuestion())
+                            || !Objects.equals(resultSet.getString(5),
+                            question.getExplanation())) {
+                        add(UPDATE_QUESTION_LOCALIZED,
+                                question.getQuestion(),
+                                question.getExplanation(), id, language);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        if (QuestionService.hasChoices(type)
+                && question.getChoices() != null) {
+            changed = diffChoices(connection, question) || changed;
+        }
+        if (changed) {
+            if (locale == null) {
+                add(UPDATE_QUESTION, question.getQuestion(),
+                        question.getExplanation(), question.getAnswer(),
+                        LocalDateTime.now(), id);
+            } else {
+                add(UPDATE_ANSWER, question.getAnswer(),
+                        LocalDateTime.now(), id);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects rows to write for choices and matches.
+     *
+     * @param connection the connection
+     * @param question   the submitted question
+     * @return true if anything changed
+     */
+    private boolean diffChoices(final Connection connection,
+                                final Question question)
+            throws SQLException {
+        final String language = locale == null ? null : locale.getLanguage();
+        final Map<UUID, StoredChoice> stored = new HashMap<>();
+        try (PreparedStatement statement =
+                     connection.prepareStatement(SELECT_CHOICES)) {
+            statement.setString(1, language);
+            statement.setObject(2, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    stored.put(resultSet.getObject(1, UUID.class),
+                            new StoredChoice(resultSet.getString(2),
+                                    resultSet.getObject(3, Boolean.class),
+                                    resultSet.getString(4)));
+                }
+            }
+        }
+        final boolean isMatch = QuestionType.MATCH_THE_FOLLOWING.equals(type);
+        final Map<UUID, UUID> storedMatches = new HashMap<>();
+        if (isMatch) {
+            try (PreparedStatement statement =
+                         connection.prepareStatement(SELECT_MATCHES)) {
+                statement.setObject(1, id);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        storedMatches.put(
+                                resultSet.getObject(1, UUID.class),
+                                resultSet.getObject(2, UUID.class));
+                    }
+                }
+            }
+        }
+
+        final int rowsBefore = size();
+        final List<UUID> choiceIds = saveChoices(question.getChoices(),
+                stored);
+        final List<UUID> matchIds = isMatch
+                ? saveChoices(question.getMatches(), stored)
+                : List.of();
+
+        final Set<UUID> submitted = new HashSet<>(choiceIds);
+        submitted.addAll(matchIds);
+        submitted.remove(null);
+        // Choices are removed only when some stored choice is submitted
+        if (stored.keySet().stream().anyMatch(submitted::contains)) {
+            for (UUID choiceId : stored.keySet()) {
+                if (!submitted.contains(choiceId)) {
+                    add(DELETE_CHOICE_LOCALIZED, choiceId);
+                    add(DELETE_CHOICE, choiceId);
+                }
+            }
+        }
+
+        final Set<UUID> matched = new HashSet<>();
+        for (int i = 0; i < matchIds.size(); i++) {
+            final UUID matchId = matchIds.get(i);
+            if (matchId == null) {
+                // not a choice of this question, ignored as choices are
+                continue;
+            }
+            final UUID choiceId = i < choiceIds.size()
+                    ? choiceIds.get(i) : null;
+            matched.add(matchId);
+            if (!storedMatches.containsKey(matchId)) {
+                add(INSERT_MATCH, id, choiceId, matchId);
+            } else if (!Objects.equals(storedMatches.get(matchId),
+                    choiceId)) {
+                add(UPDATE_MATCH, choiceId, id, matchId);
+            }
+        }
+        for (UUID matchId : storedMatches.keySet()) {
+            if (!matched.contains(matchId)) {
+                add(DELETE_MATCH, id, matchId);
+            }
+        }
+        return size() != rowsBefore;
+    }
+
+    /**
+     * Collects rows to write for submitted choices.
+     *
+     * @param choices the submitted choices
+     * @param stored  the stored choices
+     * @return ids of the choices, assigned for new ones; null for ones
+     *         not of this question
+     */
+    private List<UUID> saveChoices(final List<QuestionChoice> choices,
+                                   final Map<UUID, StoredChoice> stored) {
+        final List<UUID> ids = new ArrayList<>();
+        for (QuestionChoice choice : choices) {
+            if (choice == null) {
+                continue;
+            }
+            final Boolean isAnswer = choice.isAnswer() == null
+                    ? Boolean.FALSE : choice.isAnswer();
+            if (choice.id() == null) {
+                final UUID choiceId = UUID.randomUUID();
+                add(INSERT_CHOICE, choiceId, id, choice.cValue(), isAnswer);
+                if (locale != null) {
+                    add(INSERT_CHOICE_LOCALIZED, choiceId,
+                            locale.getLanguage(), choice.cValue());
+                }
+                ids.add(choiceId);
+            } else {
+                final StoredChoice storedChoice = stored.get(choice.id());
+                ids.add(storedChoice == null ? null : choice.id());
+                if (storedChoice != null) {
+                    saveChoice(choice.id(), choice.cValue(), isAnswer,
+                            storedChoice);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void saveChoice(final UUID choiceId,
+                            final String cValue,
+                            final Boolean isAnswer,
+                            final StoredChoice storedChoice) {
+        final boolean answerChanged = !isAnswer.equals(storedChoice.isAnswer);
+        if (locale == null) {
+            if (answerChanged || !cValue.equals(storedChoice.cValue)) {
+                add(UPDATE_CHOICE, cValue, isAnswer, choiceId);
+            }
+        } else {
+            if (answerChanged) {
+                add(UPDATE_CHOICE_ANSWER, isAnswer, choiceId);
+            }
+            if (storedChoice.localizedCValue == null) {
+                add(INSERT_CHOICE_LOCALIZED, choiceId,
+                        locale.getLanguage(), cValue);
+            } else if (!cValue.equals(storedChoice.localizedCValue)) {
+                add(UPDATE_CHOICE_LOCALIZED, cValue, choiceId,
+                        locale.getLanguage());
+            }
+        }
+    }
+
+    private void add(final String sql, final Object... parameters) {
+        rows.get(sql).add(parameters);
+    }
+
+    private int size() {
+        return rows.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Writes the collected rows, one JDBC batch per statement.
+     *
+     * @param connection the connection
+     */
+    private void write(final Connection connection) throws SQLException {
+        for (Map.Entry<String, List<Object[]>> entry : rows.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                try (PreparedStatement statement =
+                             connection.prepareStatement(entry.getKey())) {
+                    for (Object[] parameters : entry.getValue()) {
+                        for (int i = 0; i < parameters.length; i++) {
+                            if (parameters[i] == null) {
+                                statement.setNull(i + 1, Types.OTHER);
+                            } else {
+                                statement.setObject(i + 1, parameters[i]);
+                            }
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+                statements += entry.getValue().size();
+            }
+        }
+    }
+
+    /**
+     * Stored choice.
+     *
+     * @param cValue          the value
+     * @param isAnswer        the isAnswer
+     * @param localizedCValue the value in locale; null if not localized
+     */
+    private record StoredChoice(String cValue,
+                                Boolean isAnswer,
+                                String localizedCValue) {
+    }
+}
@@ -0,0 +1,344 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.ExportResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams the question bank as NDJSON; one line per question with its
+ * categories, localizations, choices and matches. Every table is read
+ * through its own forward only cursor in the order of question id, and
+ * the rows are merged in one pass, so memory stays flat whatever the size
+ * of the bank.
+ */
+final class QuestionExporter {
+
+    /**
+     * Rows fetched per round trip by each cursor.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Questions.
+     */
+    private static final String QUESTIONS = """
+            SELECT id, question, explanation, type, answer, created_at,
+                   created_by, modified_at, modified_by
+            FROM question ORDER BY id
+            """;
+
+    /**
+     * Categories of questions.
+     */
+    private static final String CATEGORIES = """
+            SELECT question_id, category_id
+            FROM question_category ORDER BY question_id, category_id
+            """;
+
+    /**
+     * Localizations of questions.
+     */
+    private static final String LOCALIZED = """
+            SELECT question_id, locale, question, explanation
+            FROM question_localized ORDER BY question_id, locale
+            """;
+
+    /**
+     * Choices of questions.
+     */
+    private static final String CHOICES = """
+            SELECT question_id, id, c_value, is_answer
+            FROM question_choice ORDER BY question_id, id
+            """;
+
+    /**
+     * Localizations of choices.
+     */
+    private static final String CHOICES_LOCALIZED = """
+            SELECT qc.question_id, qcl.choice_id, qcl.locale, qcl.c_value
+            FROM question_choice_localized qcl
+            JOIN question_choice qc ON qc.id = qcl.choice_id
+            ORDER BY qc.question_id, qcl.choice_id, qcl.locale
+            """;
+
+    /**
+     * Match pairs of questions.
+     */
+    private static final String MATCHES = """
+            SELECT question_id, choice_id, match_id
+            FROM matches ORDER BY question_id
+            """;
+
+    /**
+     * Writer lines are written to.
+     */
+    private final Writer writer;
+
+    /**
+     * Line being built.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * No of rows read.
+     */
+    private long rows;
+
+    /**
+     * Builds Exporter.
+     *
+     * @param aWriter the writer
+     */
+    QuestionExporter(final Writer aWriter) {
+        this.writer = aWriter;
+    }
+
+    /**
+     * Exports all questions. Cursors are read in a read only, repeatable
+     * read transaction, so that all of them see the same snapshot of the
+     * bank; it is rolled back at the end, as the export writes nothing.
+     *
+     * @param connection the connection
+     * @return export result
+     */
+    ExportResult export(final Connection connection)
+            throws SQLException, IOException {
+        final long start = System.nanoTime();
+        long questions = 0;
+        final boolean autoCommit = connection.getAutoCommit();
+        final boolean readOnly = connection.isReadOnly();
+        final int isolation = connection.getTransactionIsolation();
+        connection.setTransactionIsolation(
+                Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setReadOnly(true);
+        // PostgreSQL uses a cursor only inside a transaction
+        connection.setAutoCommit(false);
+        final List<Cursor> cursors = new ArrayList<>();
+        try {
+            final Cursor question = open(connection, QUESTIONS, cursors);
+            final Cursor categories = open(connection, CATEGORIES, cursors);
+            final Cursor localized = open(connection, LOCALIZED, cursors);
+            final Cursor choices = open(connection, CHOICES, cursors);
+            final Cursor choicesLocalized = open(connection,
+                    CHOICES_LOCALIZED, cursors);
+            final Cursor matches = open(connection, MATCHES, cursors);
+            while (question.hasRow) {
+                final ResultSet row = question.resultSet;
+                final UUID id = row.getObject("id", UUID.class);
+                line.setLength(0);
+                line.append("{\"id\":");
+                string(id.toString());
+                field("question", row.getString("question"));
+                field("explanation", row.getString("explanation"));
+                field("type", row.getString("type"));
+                field("answer", row.getString("answer"));
+                field("createdAt", row.getObject("created_at",
+                        LocalDateTime.class));
+                field("createdBy", row.getString("created_by"));
+                field("modifiedAt", row.getObject("modified_at",
+                        LocalDateTime.class));
+                field("modifiedBy", row.getString("modified_by"));
+
+                line.append(",\"categories\":[");
+                boolean first = true;
+                while (categories.at(id)) {
+                    first = separate(first);
+                    string(categories.resultSet.getString("category_id"));
+                    categories.next();
+                }
+
+                line.append("],\"localized\":{");
+                first = true;
+                while (localized.at(id)) {
+                    first = separate(first);
+                    string(localized.resultSet.getString("locale"));
+                    line.append(":{\"question\":");
+                    string(localized.resultSet.getString("question"));
+                    field("explanation",
+                            localized.resultSet.getString("explanation"));
+                    line.append('}');
+                    localized.next();
+                }
+
+                line.append("},\"choices\":[");
+                first = true;
+                while (choices.at(id)) {
+                    first = separate(first);
+                    choice(id, choices, choicesLocalized);
+                    choices.next();
+                }
+
+                line.append("],\"matches\":[");
+                first = true;
+                while (matches.at(id)) {
+                    first = separate(first);
+                    line.append("{\"choiceId\":");
+                    string(matches.resultSet.getString("choice_id"));
+                    field("matchId", matches.resultSet.getString("match_id"));
+                    line.append('}');
+                    matches.next();
+                }
+                line.append("]}\n");
+                writer.append(line);
+                questions++;
+                question.next();
+            }
+            writer.flush();
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.close();
+            }
+            connection.rollback();
+            connection.setAutoCommit(autoCommit);
+            connection.setReadOnly(readOnly);
+            connection.setTransactionIsolation(isolation);
+        }
+        return new ExportResult(questions, rows,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Appends choice at the cursor with its localizations.
+     *
+     * @param questionId       the question id
+     * @param choices          cursor of choices
+     * @param choicesLocalized cursor of localizations of choices
+     */
+    private void choice(final UUID questionId,
+                        final Cursor choices,
+                        final Cursor choicesLocalized) throws SQLException {
+        final ResultSet row = choices.resultSet;
+        final UUID choiceId = row.getObject("id", UUID.class);
+        line.append("{\"id\":");
+        string(choiceId.toString());
+        field("value", row.getString("c_value"));
+        final boolean isAnswer = row.getBoolean("is_answer");
+        line.append(",\"isAnswer\":")
+                .append(row.wasNull() ? null : isAnswer)
+                .append(",\"localized\":{");
+        boolean first = true;
+        while (choicesLocalized.at(questionId)) {
+            final int compare = QuestionSnapshot.ID_ORDER.compare(
+                    choicesLocalized.resultSet.getObject("choice_id",
+                            UUID.class),
+                    choiceId);
+            if (compare > 0) {
+                break;
+            }
+            if (compare == 0) {
+                first = separate(first);
+                string(choicesLocalized.resultSet.getString("locale"));
+                line.append(':');
+                string(choicesLocalized.resultSet.getString("c_value"));
+            }
+            choicesLocalized.next();
+        }
+        line.append("}}");
+    }
+
+    private boolean separate(final boolean first) {
+        if (!first) {
+            line.append(',');
+        }
+        return false;
+    }
+
+    private void field(final String name, final Object value) {
+        line.append(",\"").append(name).append("\":");
+        string(value == null ? null : value.toString());
+    }
+
+    /**
+     * Appends value as a JSON string.
+     *
+     * @param value the value
+     */
+    private void string(final String value) {
+        JsonText.appendString(line, value);
+    }
+
+    private Cursor open(final Connection connection,
+                        final String sql,
+                        final List<Cursor> cursors) throws SQLException {
+        final Cursor cursor = new Cursor(connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
+        cursors.add(cursor);
+        cursor.open();
+        return cursor;
+    }
+
+    /**
+     * Forward only cursor over rows in the order of question id, which is
+     * their first column.
+     */
+    private final class Cursor implements AutoCloseable {
+
+        /**
+         * Statement.
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Rows; null until opened.
+         */
+        private ResultSet resultSet;
+
+        /**
+         * Tells if the cursor is at a row.
+         */
+        private boolean hasRow;
+
+        Cursor(final PreparedStatement theStatement) {
+            this.statement = theStatement;
+        }
+
+        private void open() throws SQLException {
+            statement.setFetchSize(FETCH_SIZE);
+            resultSet = statement.executeQuery();
+            next();
+        }
+
+        private void next() throws SQLException {
+            hasRow = resultSet.next();
+            if (hasRow) {
+                rows++;
+            }
+        }
+
+        /**
+         * Moves past rows of questions before the question.
+         *
+         * @param questionId the question id
+         * @return true if at a row of the question
+         */
+        private boolean at(final UUID questionId) throws SQLException {
+            while (hasRow) {
+                final int compare = QuestionSnapshot.ID_ORDER.compare(
+                        resultSet.getObject(1, UUID.class), questionId);
+                if (compare == 0) {
+                    return true;
+                }
+                if (compare > 0) {
+                    return false;
+                }
+                next();
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+}
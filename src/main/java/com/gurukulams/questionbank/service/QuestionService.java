@@ -1,14 +1,17 @@
 package com.gurukulams.questionbank.service;
 
 import com.gurukulams.questionbank.DataManager;
+import com.gurukulams.questionbank.metrics.Operation;
+import com.gurukulams.questionbank.metrics.QuestionMetrics;
 import com.gurukulams.questionbank.model.Matches;
-import com.gurukulams.questionbank.model.QuestionCategory;
 import com.gurukulams.questionbank.model.QuestionChoice;
-import com.gurukulams.questionbank.model.QuestionChoiceLocalized;
-import com.gurukulams.questionbank.model.QuestionLocalized;
+import com.gurukulams.questionbank.payload.ExportResult;
+import com.gurukulams.questionbank.payload.ImportResult;
 import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionPage;
 import com.gurukulams.questionbank.payload.QuestionType;
 
+import com.gurukulams.questionbank.store.AnswerStore;
 import com.gurukulams.questionbank.store.MatchesStore;
 import com.gurukulams.questionbank.store.QuestionCategoryStore;
 import com.gurukulams.questionbank.store.QuestionChoiceLocalizedStore;
@@ -18,27 +21,46 @@ import com.gurukulams.questionbank.store.QuestionStore;
 import com.gurukulams.questionbank.store.QuestionTagStore;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Path;
 import jakarta.validation.Validator;
-import jakarta.validation.metadata.ConstraintDescriptor;
-import org.hibernate.validator.internal.engine.ConstraintViolationImpl;
+import org.postgresql.PGConnection;
 
 import javax.sql.DataSource;
-import java.lang.annotation.ElementType;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.UUID;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
-
-import static com.gurukulams.questionbank.store.MatchesStore.questionId;
+import java.util.stream.Stream;
 
 /**
  * The type Question service.
@@ -51,9 +73,40 @@ public class QuestionService {
     public static final String OWNER_USER = "tom";
 
     /**
-     * Validator.
+     * Ids of questions in all the categories; parameters are the array
+     * of categories and their count.
+     */
+    private static final String QUESTIONS_IN_ALL_CATEGORIES =
+            "SELECT question_id FROM question_category"
+                    + " WHERE category_id = ANY(?)"
+                    + " GROUP BY question_id"
+                    + " HAVING COUNT(DISTINCT category_id) = ?";
+
+    /**
+     * Questions written per transaction in bulk import.
      */
-    private final Validator validator;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    /**
+     * Max no of questions validated ahead of the writing of an import.
+     */
+    private static final int IMPORT_QUEUE_SIZE = 1000;
+
+    /**
+     * Rows fetched per round trip while streaming.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Maximum ids from category index bound into list query; larger
+     * results are filtered in database.
+     */
+    private static final int MAX_INDEXED_IDS = 10_000;
+
+    /**
+     * Validator, compiled per question type.
+     */
+    private final QuestionValidator validator;
 
     /**
      * Datasource for persistence.
@@ -97,6 +150,76 @@ public class QuestionService {
      */
     private final QuestionTagStore questionTagStore;
 
+    /**
+     * AnswerStore.
+     */
+    private final AnswerStore answerStore;
+
+    /**
+     * Cache for read, if any.
+     */
+    private QuestionCache cache;
+
+    /**
+     * No of updates.
+     */
+    private final LongAdder updateCount = new LongAdder();
+
+    /**
+     * No of statements written by updates.
+     */
+    private final LongAdder updateStatementCount = new LongAdder();
+
+    /**
+     * No of operations.
+     */
+    private final LongAdder operationCount = new LongAdder();
+
+    /**
+     * No of connections borrowed by operations.
+     */
+    private final LongAdder connectionCount = new LongAdder();
+
+    /**
+     * Executor of concurrent queries; null to query one after another.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Pool questions of an import are validated on; null to validate
+     * them one after another.
+     */
+    private ExecutorService importPool;
+
+    /**
+     * Cache render is served from, if any.
+     */
+    private RenderedQuestionCache renderedCache;
+
+    /**
+     * Index of categories for list, if any.
+     */
+    private CategoryIndex categoryIndex;
+
+    /**
+     * Answer keys for grading.
+     */
+    private final AnswerKeyIndex answerKeys = new AnswerKeyIndex();
+
+    /**
+     * Snapshot reads are served from, if any.
+     */
+    private volatile QuestionSnapshot snapshot;
+
+    /**
+     * Question bank file reads are served from, if any.
+     */
+    private volatile QuestionBankFile bankFile;
+
+    /**
+     * Metrics operations are recorded to.
+     */
+    private QuestionMetrics metrics = QuestionMetrics.noop();
 
     /**
      * initializes.
@@ -108,7 +231,7 @@ public class QuestionService {
     public QuestionService(final Validator aValidator,
                            final DataManager dataManager,
                            final DataSource theDataSource) {
-        this.validator = aValidator;
+        this.validator = new QuestionValidator(aValidator);
         this.dataSource = theDataSource;
         this.questionStore = dataManager
                 .getQuestionStore();
@@ -123,6 +246,237 @@ public class QuestionService {
         this.questionTagStore = dataManager
                 .getQuestionTagStore();
         this.matchesStore = dataManager.getMatchesStore();
+        this.answerStore = dataManager.getAnswerStore();
+    }
+
+    /**
+     * Sets the cache read is served from. Questions are invalidated in
+     * it on update and delete.
+     *
+     * @param aCache the cache
+     */
+    public void setCache(final QuestionCache aCache) {
+        this.cache = aCache;
+    }
+
+    /**
+     * Sets the cache render is served from. Questions are invalidated in
+     * it on update and delete.
+     *
+     * @param aRenderedCache the rendered cache
+     */
+    public void setRenderedCache(final RenderedQuestionCache aRenderedCache) {
+        this.renderedCache = aRenderedCache;
+    }
+
+    /**
+     * Sets the metrics public operations are recorded to, with their
+     * time, statements prepared and rows fetched. Validation of questions
+     * is recorded on its own.
+     *
+     * @param theMetrics the metrics; null to record none
+     */
+    public void setMetrics(final QuestionMetrics theMetrics) {
+        this.metrics = theMetrics == null
+                ? QuestionMetrics.noop() : theMetrics;
+    }
+
+    /**
+     * Starts measuring a public operation.
+     *
+     * @param operation the operation
+     * @return probe
+     */
+    Probe probe(final Operation operation) {
+        return Probe.of(this.metrics, operation);
+    }
+
+    /**
+     * Sets whether read queries the choices and matches of a question in
+     * parallel with the question, each on a virtual thread with its own
+     * connection. It overlaps the round trips of a read at the cost of
+     * more connections per read, so it pays off with a pooled datasource.
+     *
+     * @param concurrentReads true to query in parallel
+     */
+    public void setConcurrentReads(final boolean concurrentReads) {
+        if (concurrentReads && this.executor == null) {
+            this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        } else if (!concurrentReads && this.executor != null) {
+            this.executor.shutdown();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Sets no of threads createAll validates questions on. Questions are
+     * read on a thread of their own and validated on a pool of that many
+     * threads while the caller writes the valid ones in batches, so
+     * reading, validation and writing overlap. At most a batch of
+     * questions is validated ahead of the writing; reading waits for the
+     * writer beyond that. Violations are reported, and questions written,
+     * in the order of the import all the same.
+     *
+     * @param parallelism no of threads; 1 to validate on the caller
+     */
+    public void setImportParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Import parallelism should be positive");
+        }
+        if (this.importPool != null) {
+            this.importPool.shutdown();
+        }
+        this.importPool = parallelism == 1
+                ? null : new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Sets the index list filters categories with. Questions are added to
+     * it on create and removed on delete.
+     *
+     * @param aCategoryIndex the category index
+     */
+    public void setCategoryIndex(final CategoryIndex aCategoryIndex) {
+        this.categoryIndex = aCategoryIndex;
+    }
+
+    /**
+     * Loads questions of the categories into a read only snapshot and
+     * serves read, list and answer keys of them from it, without touching
+     * the database. All the tables are read in one repeatable read
+     * transaction, so writes made while loading are wholly seen or not at
+     * all. Changes made afterwards are not seen until refresh.
+     *
+     * @param categories the categories
+     * @return snapshot
+     */
+    public QuestionSnapshot snapshot(final List<String> categories)
+            throws SQLException {
+        try (Probe probe = probe(Operation.SNAPSHOT)) {
+            final QuestionSnapshot loaded = loadSnapshot(probe, categories);
+            this.snapshot = loaded;
+            this.answerKeys.clear();
+            return loaded;
+        }
+    }
+
+    private QuestionSnapshot loadSnapshot(final Probe probe,
+                                          final List<String> categories)
+            throws SQLException {
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Snapshot needs at least one category");
+        }
+        try (ConnectionScope scope = openScope(probe)) {
+            return scope.inSnapshot(() -> {
+                final String query = "SELECT id,question,explanation,type,"
+                        + "answer,created_at,created_by,"
+                        + "modified_at,modified_by"
+                        + " FROM question WHERE id IN"
+                        + " (SELECT question_id FROM question_category"
+                        + " WHERE category_id = ANY(?))";
+                final List<Question> questions = query(scope, query,
+                        QuestionService::getQuestionModel,
+                        texts(scope, categories))
+                        .stream()
+                        .map(this::getQuestion)
+                        .toList();
+                fillChoices(scope, null, questions);
+                return QuestionSnapshot.load(scope.getConnection(),
+                        categories, questions);
+            });
+        }
+    }
+
+    /**
+     * Reloads the snapshot of the same categories and swaps it in. Reads
+     * in progress finish on the old one.
+     *
+     * @return snapshot; null if there is none
+     */
+    public QuestionSnapshot refresh() throws SQLException {
+        final QuestionSnapshot current = this.snapshot;
+        return current == null ? null
+                : snapshot(List.copyOf(current.getCategories()));
+    }
+
+    /**
+     * gets snapshot reads are served from.
+     *
+     * @return snapshot; null if there is none
+     */
+    public QuestionSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Drops the snapshot; reads go to the database again.
+     */
+    public void dropSnapshot() {
+        this.snapshot = null;
+        this.answerKeys.clear();
+    }
+
+    /**
+     * Exports questions of the categories, with their localizations,
+     * choices, matches and categories, to a question bank file.
+     *
+     * @param file       the file
+     * @param categories the categories
+     */
+    public void export(final Path file, final List<String> categories)
+            throws SQLException, IOException {
+        try (Probe probe = probe(Operation.EXPORT)) {
+            QuestionBankFile.write(file, loadSnapshot(probe, categories));
+        }
+    }
+
+    /**
+     * Streams all questions as NDJSON, one line per question with its
+     * categories, localizations, choices and matches. Tables are read
+     * through cursors in the order of id and merged in one pass, so memory
+     * stays flat whatever the no of questions.
+     *
+     * @param writer the writer
+     * @return export result
+     */
+    public ExportResult exportJson(final Writer writer)
+            throws SQLException, IOException {
+        try (Probe probe = probe(Operation.EXPORT_JSON);
+             ConnectionScope scope = openScope(probe)) {
+            return new QuestionExporter(writer)
+                    .export(scope.getConnection());
+        }
+    }
+
+    /**
+     * Sets the question bank file read serves questions in it from, as
+     * they were when exported. Changes made afterwards are not seen.
+     *
+     * @param aBankFile the question bank file; null to read from database
+     */
+    public void setBankFile(final QuestionBankFile aBankFile) {
+        this.bankFile = aBankFile;
+        this.answerKeys.clear();
+    }
+
+    /**
+     * Reads question from the snapshot or the question bank file.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return question; null if held in neither
+     */
+    private Question readHeld(final UUID id, final Locale locale) {
+        final QuestionSnapshot theSnapshot = this.snapshot;
+        Question question = theSnapshot == null ? null
+                : theSnapshot.read(id, locale);
+        final QuestionBankFile theBankFile = this.bankFile;
+        if (question == null && theBankFile != null) {
+            question = theBankFile.read(id, locale);
+        }
+        return question;
     }
 
     /**
@@ -143,108 +497,91 @@ public class QuestionService {
             final Locale locale,
             final String createdBy,
             final Question question) throws SQLException {
-        question.setType(type);
-        Set<ConstraintViolation<Question>> violations =
-                getViolations(question);
-        if (violations.isEmpty()) {
-            final UUID id = UUID.randomUUID();
-
-            question.setId(id);
+        try (Probe probe = probe(Operation.CREATE)) {
             question.setType(type);
-            question.setCreatedAt(LocalDateTime.now());
-
-            this.questionStore
-                    .insert()
-                    .values(getQuestionModel(createdBy, question))
-                    .execute(this.dataSource);
-            if (locale != null) {
-
-                createLocalized(locale, question, id);
-            }
-            List<QuestionChoice> choices = null;
-            if ((question.getType().equals(QuestionType.CHOOSE_THE_BEST)
-                || question.getType().equals(QuestionType.MULTI_CHOICE)
-                || question.getType().equals(QuestionType.MATCH_THE_FOLLOWING)
-                )) {
-                choices = createChoices(question.getChoices(), locale, id);
-            }
-
-            if (question.getType().equals(QuestionType.MATCH_THE_FOLLOWING)) {
-                List<QuestionChoice> matches
-                        = createChoices(question.getMatches(), locale, id);
-
-                List<Matches> matchesToCreate = new ArrayList<>();
-
-                int choiceSize = choices.size();
-
-                List<QuestionChoice> extraMatch
-                        = matches.stream().skip(choiceSize).toList();
-
-                for (int i = 0; i < choiceSize; i++) {
-                    QuestionChoice choice = choices.get(i);
-                    QuestionChoice matchChoice = matches.get(i);
-
-                    UUID choiceId = choice.id();
-                    UUID matchId = matchChoice.id();
-
-                    Matches match = new Matches(id, choiceId, matchId);
-
-                    matchesToCreate.add(match);
+            Set<ConstraintViolation<Question>> violations =
+                    getViolations(question);
+            if (violations.isEmpty()) {
+                QuestionBatch batch = new QuestionBatch();
+                Question created = batch.add(question, locale, createdBy,
+                        categories);
+                try (ConnectionScope scope = openScope(probe)) {
+                    batch.save(scope.getConnection(), false);
                 }
+                indexCategories(batch);
+                this.answerKeys.put(this.answerKeys.generation(),
+                        created.getId(), AnswerKey.of(created));
+                return Optional.of(created);
+            } else {
+                throw new ConstraintViolationException(violations);
+            }
+        }
+    }
 
-                if (!extraMatch.isEmpty()) {
-                    for (QuestionChoice eMatch : extraMatch) {
-                        Matches match = new Matches(id, eMatch.id(), null);
-                        matchesToCreate.add(match);
+    /**
+     * inserts questions in bulk. Every question is validated as in create;
+     * invalid ones are reported by their position in the stream and do not
+     * stop the import. Valid questions are written in batches, each in its
+     * own transaction, using COPY when the database is PostgreSQL. With
+     * import parallelism, questions are validated in parallel ahead of
+     * the writing; see setImportParallelism.
+     *
+     * @param categories the category
+     * @param locale     the locale
+     * @param createdBy  the createdBy
+     * @param questions  the questions with their type
+     * @return import result
+     */
+    public ImportResult createAll(
+            final List<String> categories,
+            final Locale locale,
+            final String createdBy,
+            final Stream<Question> questions) throws SQLException {
+        try (Probe probe = probe(Operation.CREATE_ALL)) {
+            final long start = System.nanoTime();
+            final Map<Integer, Set<ConstraintViolation<Question>>> violations =
+                    new TreeMap<>();
+            int created = 0;
+            try (ConnectionScope scope = openScope(probe);
+                 ValidationPipeline pipeline = new ValidationPipeline(
+                         questions, this::getViolations, this.importPool,
+                         IMPORT_QUEUE_SIZE)) {
+                final Connection connection = scope.getConnection();
+                final boolean useCopy =
+                        connection.isWrapperFor(PGConnection.class);
+                final QuestionBatch batch = new QuestionBatch();
+                int index = 0;
+                ValidationPipeline.Validated validated = pipeline.next();
+                while (validated != null) {
+                    if (validated.violations().isEmpty()) {
+                        batch.add(validated.question(), locale, createdBy,
+                                categories);
+                        if (batch.size() == IMPORT_BATCH_SIZE) {
+                            batch.save(connection, useCopy);
+                            indexCategories(batch);
+                            created += batch.size();
+                            batch.clear();
+                        }
+                    } else {
+                        violations.put(index, validated.violations());
                     }
+                    index++;
+                    validated = pipeline.next();
                 }
-
-                List<Matches> createdMatches = createMatches(matchesToCreate);
+                batch.save(connection, useCopy);
+                indexCategories(batch);
+                created += batch.size();
             }
-
-
-            for (String category : categories) {
-                attachCategory(createdBy,
-                        id, category);
-            }
-
-            return read(id, locale);
-        } else {
-            throw new ConstraintViolationException(violations);
+            return new ImportResult(created, violations,
+                    Duration.ofNanos(System.nanoTime() - start));
         }
-
-    }
-
-
-
-    private int createLocalized(final Locale locale,
-                                final Question question,
-                                final UUID id)
-            throws SQLException {
-        QuestionLocalized questionLocalized = new QuestionLocalized(id,
-                locale.getLanguage(),
-                question.getQuestion(),
-                question.getExplanation());
-
-        return this.questionLocalizedStore
-                .insert()
-                .values(questionLocalized)
-                .execute(this.dataSource);
     }
 
-    private com.gurukulams.questionbank.model.Question
-    getQuestionModel(final String createdBy, final Question question) {
-        return new com.gurukulams.questionbank.model.Question(
-                question.getId(),
-                question.getQuestion(),
-                question.getExplanation(),
-                question.getType().name(),
-                question.getAnswer(),
-                question.getCreatedAt(),
-                createdBy,
-                null,
-                null
-        );
+    private void indexCategories(final QuestionBatch batch) {
+        if (this.categoryIndex != null) {
+            batch.categories().forEach(category -> this.categoryIndex
+                    .add(category.questionId(), category.categoryId()));
+        }
     }
 
     private Question
@@ -263,280 +600,614 @@ public class QuestionService {
         return question;
     }
 
-    private QuestionChoice createChoice(
-            final QuestionChoice choiceToCrete,
-            final Locale locale,
-            final UUID questionId) throws SQLException {
-
-        if (choiceToCrete == null) {
-            return null;
+    /**
+     * List question choices of given questions in a single round trip.
+     *
+     * @param scope       the scope
+     * @param isOwner     isOwner calling
+     * @param questionIds the question ids
+     * @param locale
+     * @return the list
+     */
+    private List<QuestionChoice> listChoices(final ConnectionScope scope,
+                                             final boolean isOwner,
+                                             final List<UUID> questionIds,
+                                             final Locale locale)
+            throws SQLException {
+        if (locale == null) {
+            final String query = "SELECT id,question_id,c_value,"
+                    + (isOwner ? "is_answer" : "NULL")
+                    + " AS is_answer"
+                    + " FROM question_choice"
+                    + " WHERE question_id = ANY(?)";
+            return query(scope, query, QuestionService::getChoice,
+                    uuids(scope, questionIds));
         }
-        UUID choiceId = UUID.randomUUID();
+        final String query = "SELECT qc.id,qc.question_id,"
+                + "COALESCE(qcl.c_value, qc.c_value) AS c_value,"
+                + (isOwner ? "qc.is_answer" : "NULL")
+                + " AS is_answer"
+                + " FROM question_choice qc"
+                + " LEFT JOIN question_choice_localized qcl"
+                + " ON qcl.choice_id = qc.id AND qcl.locale = ?"
+                + " WHERE qc.question_id = ANY(?)";
+        return query(scope, query, QuestionService::getChoice,
+                locale.getLanguage(), uuids(scope, questionIds));
+    }
 
-        QuestionChoice choice = choiceToCrete.withId(choiceId);
-        choice = choice.withQuestionId(questionId);
-        if (choice.isAnswer() == null) {
-            choice = choice.withIsAnswer(Boolean.FALSE);
-        }
-        this.questionChoiceStore.insert().values(choice)
-                .execute(this.dataSource);
+    /**
+     * List match pairs of given questions in a single round trip.
+     *
+     * @param scope       the scope
+     * @param questionIds the question ids
+     * @return the list
+     */
+    private List<Matches> listMatches(final ConnectionScope scope,
+                                      final List<UUID> questionIds)
+            throws SQLException {
+        return query(scope, "SELECT question_id,choice_id,match_id"
+                        + " FROM matches WHERE question_id = ANY(?)",
+                resultSet -> new Matches(
+                        resultSet.getObject("question_id", UUID.class),
+                        resultSet.getObject("choice_id", UUID.class),
+                        resultSet.getObject("match_id", UUID.class)),
+                uuids(scope, questionIds));
+    }
 
-        if (locale != null) {
-            choice = choice.withId(choiceId);
-            createLocalizedChoice(locale, choice);
+    /**
+     * Runs query and maps its rows. Lists of values are bound as a single
+     * array to = ANY(?), so a query has the same text whatever their size
+     * and is prepared once per connection.
+     *
+     * @param scope      the scope
+     * @param sql        the sql
+     * @param rowMapper  maps a row
+     * @param parameters the parameters, in order
+     * @param <T>        type of a row
+     * @return rows
+     */
+    private static <T> List<T> query(final ConnectionScope scope,
+                                     final String sql,
+                                     final RowMapper<T> rowMapper,
+                                     final Object... parameters)
+            throws SQLException {
+        final List<T> rows = new ArrayList<>();
+        try (PreparedStatement statement =
+                     scope.getConnection().prepareStatement(sql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(rowMapper.map(resultSet));
+                }
+            }
         }
+        return rows;
+    }
 
-        return choice;
+    private static void bind(final PreparedStatement statement,
+                             final Object... parameters)
+            throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
     }
 
-    private Matches createMatch(
-            final UUID questionId,
-            final UUID choiceId,
-            final UUID matchId
-    ) throws SQLException {
+    /**
+     * Builds array of ids to bind to = ANY(?).
+     *
+     * @param scope the scope
+     * @param ids   the ids
+     * @return array
+     */
+    private static Array uuids(final ConnectionScope scope,
+                               final Collection<UUID> ids)
+            throws SQLException {
+        return scope.getConnection().createArrayOf("uuid", ids.toArray());
+    }
 
-        Matches matches = new Matches(questionId, choiceId, matchId);
-        this.matchesStore.insert().values(matches)
-                .execute(this.dataSource);
+    /**
+     * Builds array of texts to bind to = ANY(?).
+     *
+     * @param scope  the scope
+     * @param values the values
+     * @return array
+     */
+    private static Array texts(final ConnectionScope scope,
+                               final Collection<String> values)
+            throws SQLException {
+        return scope.getConnection().createArrayOf("varchar",
+                values.toArray());
+    }
 
-        return matches;
+    private static QuestionChoice getChoice(final ResultSet resultSet)
+            throws SQLException {
+        final UUID id = resultSet.getObject("id", UUID.class);
+        final UUID questionId = resultSet.getObject("question_id",
+                UUID.class);
+        final String cValue = resultSet.getString("c_value");
+        final boolean isAnswer = resultSet.getBoolean("is_answer");
+        return new QuestionChoice(id, questionId, cValue,
+                resultSet.wasNull() ? null : isAnswer);
     }
 
+    /**
+     * reads from question with given id.
+     *
+     * @param id     the id
+     * @param locale
+     * @return question optional
+     */
+    public Optional<Question> read(final UUID id,
+                                   final Locale locale) throws SQLException {
+        try (Probe probe = probe(Operation.READ)) {
+            return read(probe, id, locale);
+        }
+    }
 
-    private void createLocalizedChoice(final Locale locale,
-                                       final QuestionChoice choice)
+    /**
+     * Renders question as students see it; UTF-8 JSON of its id, type,
+     * text, explanation, choices and matches in the locale, without the
+     * answers. Renderings are served from the rendered cache, if any, so
+     * a question is read and encoded once per locale until it changes.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return read only rendering optional
+     */
+    public Optional<ByteBuffer> render(final UUID id,
+                                       final Locale locale)
             throws SQLException {
-        QuestionChoiceLocalized questionChoiceLocalized
-                = new QuestionChoiceLocalized(
-                        choice.id(), locale.getLanguage(), choice.cValue());
-
-        this.questionChoiceLocalizedStore
-                .insert()
-                .values(questionChoiceLocalized).execute(this.dataSource);
+        try (Probe probe = probe(Operation.RENDER)) {
+            final RenderedQuestionCache theRenderedCache =
+                    this.renderedCache;
+            if (theRenderedCache == null) {
+                return read(probe, id, locale).map(question ->
+                        RenderedQuestionCache.view(
+                                StudentView.render(question)));
+            }
+            final Optional<ByteBuffer> cached =
+                    theRenderedCache.get(id, locale);
+            if (cached.isPresent()) {
+                return cached;
+            }
+            final long generation = theRenderedCache.generation();
+            return read(probe, id, locale).map(question -> {
+                final byte[] rendered = StudentView.render(question);
+                theRenderedCache.put(generation, id, locale, rendered);
+                return RenderedQuestionCache.view(rendered);
+            });
+        }
     }
 
-    private void saveLocalizedChoice(final Locale locale,
-                                     final QuestionChoice choice)
+    private Optional<Question> read(final Probe probe,
+                                    final UUID id,
+                                    final Locale locale)
             throws SQLException {
+        final Question held = readHeld(id, locale);
+        if (held != null) {
+            return Optional.of(held);
+        }
+        try (ConnectionScope scope = openScope(probe)) {
+            return read(scope, id, locale);
+        }
+    }
 
-        int updatedRows = this.questionChoiceLocalizedStore
-                .update()
-                .set(QuestionChoiceLocalizedStore
-                        .cValue(choice.cValue()))
-                .where(QuestionChoiceLocalizedStore
-                        .choiceId().eq(choice.id())
-                        .and(QuestionChoiceLocalizedStore
-                                .locale().eq(locale.getLanguage())))
-                .execute(this.dataSource);
-        if (updatedRows == 0) {
-            createLocalizedChoice(locale, choice);
+    private Optional<Question> read(final ConnectionScope scope,
+                                    final UUID id,
+                                    final Locale locale)
+            throws SQLException {
+        if (this.cache == null) {
+            return load(scope, id, locale);
+        }
+        Optional<Question> question = this.cache.get(id, locale);
+        if (question.isEmpty()) {
+            final long generation = this.cache.generation();
+            question = load(scope, id, locale);
+            question.ifPresent(loaded ->
+                    this.cache.put(generation, loaded, locale));
         }
+        return question;
     }
 
-    private List<QuestionChoice> createChoices(
-            final List<QuestionChoice> choices,
-            final Locale locale,
-            final UUID id) throws SQLException {
-        List<QuestionChoice> createdChoices = new ArrayList<>();
-        if (choices != null) {
-            for (QuestionChoice choice : choices) {
-                createdChoices.add(createChoice(choice, locale, id));
+    /**
+     * Gets answer key of the question, compiling it on first use.
+     *
+     * @param probe probe of the operation
+     * @param id    the id
+     * @return answer key; null if there is no such question
+     */
+    AnswerKey answerKey(final Probe probe,
+                        final UUID id) throws SQLException {
+        AnswerKey answerKey = this.answerKeys.get(id);
+        if (answerKey == null) {
+            final long generation = this.answerKeys.generation();
+            final Optional<Question> question = read(probe, id, null);
+            if (question.isPresent()) {
+                answerKey = AnswerKey.of(question.get());
+                this.answerKeys.put(generation, id, answerKey);
             }
         }
-        return createdChoices;
+        return answerKey;
     }
-    private List<Matches> createMatches(
-            final List<Matches> matches) throws SQLException {
-        List<Matches> createdMatches = new ArrayList<>();
 
-
-        if (matches != null) {
-            for (Matches match : matches) {
-                createdMatches.add(createMatch(match.questionId(),
-                        match.choiceId(), match.matchId()));
+    /**
+     * Gets answer keys of the questions. The ones not yet indexed are
+     * compiled from a single batched read.
+     *
+     * @param scope the scope
+     * @param ids   the ids
+     * @return answer keys of the questions that exist, by id
+     */
+    Map<UUID, AnswerKey> answerKeys(final ConnectionScope scope,
+                                    final Collection<UUID> ids)
+            throws SQLException {
+        final Map<UUID, AnswerKey> keys = new HashMap<>();
+        final List<UUID> missingIds = new ArrayList<>();
+        final long generation = this.answerKeys.generation();
+        for (UUID id : ids) {
+            AnswerKey answerKey = this.answerKeys.get(id);
+            if (answerKey == null) {
+                final Question question = readHeld(id, null);
+                if (question != null) {
+                    answerKey = AnswerKey.of(question);
+                    this.answerKeys.put(generation, id, answerKey);
+                }
+            }
+            if (answerKey == null) {
+                missingIds.add(id);
+            } else {
+                keys.put(id, answerKey);
             }
         }
-        return createdMatches;
+        if (!missingIds.isEmpty()) {
+            for (Question question : readAll(scope, missingIds)) {
+                AnswerKey answerKey = AnswerKey.of(question);
+                this.answerKeys.put(generation, question.getId(), answerKey);
+                keys.put(question.getId(), answerKey);
+            }
+        }
+        return keys;
     }
 
-
-
     /**
-     * List question choice list.
+     * reads questions with given ids, as the owner, in one question query
+     * and one choice and matches query.
      *
-     * @param isOwner    isOwner calling
-     * @param questionId the question choice id
-     * @param locale
-     * @return the list
+     * @param scope the scope
+     * @param ids   the ids
+     * @return questions that exist
      */
-    private List<QuestionChoice> listChoices(final boolean isOwner,
-                                             final UUID questionId,
-                                             final Locale locale)
+    private List<Question> readAll(final ConnectionScope scope,
+                                   final List<UUID> ids)
             throws SQLException {
-        if (locale == null) {
-            List<QuestionChoice> choices = this.questionChoiceStore
-                    .select()
-                    .where(QuestionChoiceStore.questionId().eq(questionId))
-                    .execute(this.dataSource);
+        final List<Question> questions = query(scope,
+                "SELECT id,question,explanation,type,"
+                        + "answer,created_at,created_by,"
+                        + "modified_at,modified_by"
+                        + " FROM question WHERE id = ANY(?)",
+                QuestionService::getQuestionModel, uuids(scope, ids))
+                .stream()
+                .map(this::getQuestion)
+                .toList();
+        fillChoices(scope, null, questions);
+        return questions;
+    }
 
-            if (!isOwner) {
+    /**
+     * Opens the unit of work of an operation. Statements run in the scope
+     * share one connection, borrowed on first use.
+     *
+     * @param probe probe of the operation
+     * @return scope
+     */
+    ConnectionScope openScope(final Probe probe) {
+        this.operationCount.increment();
+        return new ConnectionScope(this.dataSource, this.connectionCount,
+                probe);
+    }
 
-                choices
-                        .replaceAll(questionChoice
-                                -> questionChoice.withIsAnswer(null));
+    /**
+     * gets no of operations.
+     *
+     * @return operations
+     */
+    public long getOperationCount() {
+        return this.operationCount.sum();
+    }
 
-            }
-            return choices;
-        } else {
-            final String query =  "SELECT id,question_id,"
-                    + "CASE WHEN qcl.LOCALE = ? "
-                    + "THEN qcl.c_value "
-                    + "ELSE qc.c_value "
-                    + "END AS c_value, "
-                    + (isOwner ? "is_answer" : "NULL")
-                    + " AS is_answer"
-                    + " FROM question_choice qc "
-                    + "LEFT JOIN question_choice_localized qcl ON"
-                    + " qc.ID = qcl.choice_id WHERE"
-                    + " question_id = ? AND ( qcl.LOCALE IS NULL OR "
-                    + "qcl.LOCALE = ? OR qc.ID "
-                    + "NOT IN (SELECT choice_id FROM "
-                    + "question_choice_localized WHERE "
-                    + "choice_id=qc.ID AND LOCALE = ?))";
-
-            return this.questionChoiceStore
-                    .select()
-                    .sql(query)
-                    .param(QuestionChoiceLocalizedStore
-                            .locale(locale.getLanguage()))
-                    .param(QuestionChoiceStore
-                            .questionId(questionId))
-                    .param(QuestionChoiceLocalizedStore
-                            .locale(locale.getLanguage()))
-                    .param(QuestionChoiceLocalizedStore
-                            .locale(locale.getLanguage()))
-                    .list(this.dataSource);
+    /**
+     * gets no of connections borrowed by operations. Every operation
+     * borrows one, except for concurrent reads which borrow one for the
+     * question and one each for its choices and matches, so this divided
+     * by the no of operations is the connections borrowed per operation.
+     *
+     * @return connections
+     */
+    public long getConnectionCount() {
+        return this.connectionCount.sum();
+    }
 
+    private Optional<Question> load(final ConnectionScope scope,
+                                    final UUID id,
+                                    final Locale locale)
+            throws SQLException {
+        if (this.executor != null) {
+            return loadConcurrently(scope, id, locale);
+        }
+        final Optional<Question> question = selectQuestion(scope, id, locale);
+        if (question.isPresent()) {
+            fillChoices(scope, locale, question.get());
         }
+        return question;
     }
 
     /**
-     * reads from question with given id.
+     * Loads question with its choices and matches queried in parallel,
+     * each on its own connection. Choices and matches are queried before
+     * the type of the question is known; they are just empty for types
+     * without them. They are let to finish even when the question is not
+     * found, so that no connection of the operation outlives it.
      *
+     * @param scope  the scope
      * @param id     the id
-     * @param locale
+     * @param locale the locale
      * @return question optional
      */
-    public Optional<Question> read(final UUID id,
-                                   final Locale locale) throws SQLException {
+    private Optional<Question> loadConcurrently(final ConnectionScope scope,
+                                                final UUID id,
+                                                final Locale locale)
+            throws SQLException {
+        final List<UUID> ids = List.of(id);
+        final Future<List<QuestionChoice>> choices = submit(scope, subScope ->
+                listChoices(subScope, true, ids, locale));
+        final Future<List<Matches>> matches = submit(scope, subScope ->
+                listMatches(subScope, ids));
+        try {
+            final Optional<Question> question =
+                    selectQuestion(scope, id, locale);
+            if (question.isPresent()) {
+                fillChoices(question.get(), join(choices), join(matches));
+            }
+            return question;
+        } finally {
+            await(choices);
+            await(matches);
+        }
+    }
+
+    /**
+     * Runs query on a connection of its own in the executor, as part of
+     * the operation of the parent scope.
+     *
+     * @param parent scope of the operation
+     * @param query  the query
+     * @param <T>    type of the result
+     * @return future result
+     */
+    private <T> Future<T> submit(final ConnectionScope parent,
+                                 final Query<T> query) {
+        return this.executor.submit(() -> {
+            try (ConnectionScope scope = new ConnectionScope(this.dataSource,
+                    this.connectionCount, parent.getProbe())) {
+                return query.run(scope);
+            }
+        });
+    }
+
+    /**
+     * Waits for query to finish, whatever its result. On interrupt the
+     * query is cancelled, if it has not started yet.
+     *
+     * @param future the query
+     */
+    private static void await(final Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            // failures are thrown by join, when the result is used
+        }
+    }
+
+    private static <T> T join(final Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SQLException("Query failed", e.getCause());
+        }
+    }
+
+    private Optional<Question> selectQuestion(final ConnectionScope scope,
+                                              final UUID id,
+                                              final Locale locale)
+            throws SQLException {
 
         Optional<com.gurukulams.questionbank.model.Question> qm;
 
         if (locale == null) {
-            qm = this.questionStore.select(dataSource, id);
+            qm = this.questionStore.select(scope, id);
         } else {
             final String query = """
-                SELECT id,
-                       CASE WHEN ql.LOCALE = ?
-                       THEN ql.question ELSE q.question END AS question,
-                       CASE WHEN ql.LOCALE = ?
-                       THEN ql.explanation ELSE q.explanation
-                       END AS explanation,
-                       type, answer, created_at,created_by,
-                       modified_at,modified_by
+                SELECT q.id,
+                       COALESCE(ql.question, q.question) AS question,
+                       COALESCE(ql.explanation, q.explanation)
+                       AS explanation,
+                       q.type, q.answer, q.created_at, q.created_by,
+                       q.modified_at, q.modified_by
                 FROM question q
-                LEFT JOIN question_localized ql ON q.ID = ql.QUESTION_ID
+                LEFT JOIN question_localized ql
+                ON ql.question_id = q.id AND ql.locale = ?
                 WHERE q.id = ?
-                AND (ql.LOCALE IS NULL OR ql.LOCALE = ? OR q.ID NOT IN (
-                    SELECT question_id
-                    FROM question_localized
-                    WHERE QUESTION_ID = q.ID AND LOCALE = ?
-                ))
                 """;
 
             qm = this.questionStore.select()
                     .sql(query)
                     .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
                     .param(QuestionStore.id(id))
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .optional(this.dataSource);
+                    .optional(scope);
 
         }
 
-        if (qm.isPresent()) {
-            Optional<Question> question = qm.map(this::getQuestion);
-            fillChoices(locale, question.get());
-            return question;
-        }
-
-        return Optional.empty();
+        return qm.map(this::getQuestion);
     }
 
-    private void fillChoices(final Locale locale,
+    private void fillChoices(final ConnectionScope scope,
+                             final Locale locale,
                              final Question question)
             throws SQLException {
-        if (question.getType()
-                .equals(QuestionType.CHOOSE_THE_BEST)
-                || question.getType()
-                .equals(QuestionType.MULTI_CHOICE)) {
-            question.setChoices(
-                    listChoices(true,
-                            question.getId(), locale));
-        } else if (question.getType()
-                .equals(QuestionType.MATCH_THE_FOLLOWING)) {
-            // All Choices are available
-            List<QuestionChoice> allChoices = listChoices(true,
-                    question.getId(), locale);
-            // Match Pairs are available
-            List<Matches>  matchePairs =
-                    this.matchesStore.select()
-                            .where(questionId().eq(question
-                                    .getId()))
-                            .execute(this.dataSource);
-
-
-            List<QuestionChoice> choices = new ArrayList<>();
-            List<QuestionChoice> matches = new ArrayList<>();
-
-            matchePairs.stream().filter(matchPair ->
-                    matchPair.choiceId() != null).forEach(matchPair -> {
-                choices.add(allChoices.stream()
-                        .filter(choice -> choice.id()
-                                .equals(matchPair.choiceId()))
-                        .findFirst()
-                        .get());
-
-                matches.add(allChoices.stream()
-                        .filter(chice -> chice.id()
-                                .equals(matchPair.matchId()))
-                        .findFirst().get());
-
-
-            });
-
-            matchePairs.stream().filter(matchPair
-                    -> matchPair.choiceId() == null)
-                    .forEach(matchPair -> {
-
-                        Optional<QuestionChoice> questionChoice
-                                = allChoices.stream()
-                                .filter(chice -> chice.id()
-                                        .equals(matchPair.matchId()))
-                                .findFirst();
-                        questionChoice.ifPresent(matches::add);
+        fillChoices(scope, locale, List.of(question));
+    }
 
-            });
+    private void fillChoices(final Question question,
+                             final List<QuestionChoice> choices,
+                             final List<Matches> matches) {
+        fillChoices(List.of(question), choices, matches);
+    }
 
+    private void fillChoices(final ConnectionScope scope,
+                             final Locale locale,
+                             final List<Question> questions)
+            throws SQLException {
+        fillChoices(scope, true, locale, questions);
+    }
 
-            question.setMatches(matches);
+    /**
+     * Fills choices and matches of all the given questions with one
+     * choice query and one matches query.
+     *
+     * @param scope     the scope
+     * @param isOwner   isOwner calling; others do not get isAnswer
+     * @param locale    the locale
+     * @param questions the questions
+     */
+    private void fillChoices(final ConnectionScope scope,
+                             final boolean isOwner,
+                             final Locale locale,
+                             final List<Question> questions)
+            throws SQLException {
+        List<UUID> questionIds = questions.stream()
+                .filter(question -> hasChoices(question.getType()))
+                .map(Question::getId)
+                .toList();
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        List<UUID> matchQuestionIds = questions.stream()
+                .filter(question -> question.getType()
+                        .equals(QuestionType.MATCH_THE_FOLLOWING))
+                .map(Question::getId)
+                .toList();
+        fillChoices(questions,
+                listChoices(scope, isOwner, questionIds, locale),
+                matchQuestionIds.isEmpty()
+                        ? List.of()
+                        : listMatches(scope, matchQuestionIds));
+    }
 
-            question.setChoices(allChoices.stream()
-                    .filter(questionChoice -> !matches.contains(questionChoice))
-                    .collect(Collectors.toList()));
+    /**
+     * Fills choices and matches of the given questions from those listed.
+     *
+     * @param questions the questions
+     * @param choices   choices of the questions
+     * @param matches   match pairs of the questions
+     */
+    private void fillChoices(final List<Question> questions,
+                             final List<QuestionChoice> choices,
+                             final List<Matches> matches) {
+        Map<UUID, List<QuestionChoice>> choicesByQuestion = choices
+                .stream()
+                .collect(Collectors.groupingBy(QuestionChoice::questionId));
+        Map<UUID, List<Matches>> matchesByQuestion = matches
+                .stream()
+                .collect(Collectors.groupingBy(Matches::questionId));
+
+        for (Question question : questions) {
+            if (!hasChoices(question.getType())) {
+                continue;
+            }
+            List<QuestionChoice> allChoices = new ArrayList<>(
+                    choicesByQuestion.getOrDefault(question.getId(),
+                            List.of()));
+            if (question.getType()
+                    .equals(QuestionType.MATCH_THE_FOLLOWING)) {
+                fillMatches(question, allChoices,
+                        matchesByQuestion.getOrDefault(question.getId(),
+                                List.of()));
+            } else {
+                question.setChoices(allChoices);
+            }
+        }
+    }
 
+    /**
+     * Splits all the choices of a match the following question into
+     * choices and matches based on match pairs. Paired matches are put in
+     * the order of their choices, as rows of the pairs come in no
+     * particular order, then the extra ones.
+     *
+     * @param question    the question
+     * @param allChoices  all choices of the question
+     * @param matchePairs match pairs of the question
+     */
+    private void fillMatches(final Question question,
+                             final List<QuestionChoice> allChoices,
+                             final List<Matches> matchePairs) {
+        Map<UUID, QuestionChoice> choicesById = new HashMap<>();
+        for (QuestionChoice choice : allChoices) {
+            choicesById.put(choice.id(), choice);
         }
+        Set<UUID> matchIds = matchePairs.stream()
+                .map(Matches::matchId)
+                .collect(Collectors.toSet());
+        List<QuestionChoice> choices = allChoices.stream()
+                .filter(questionChoice ->
+                        !matchIds.contains(questionChoice.id()))
+                .collect(Collectors.toList());
+
+        Map<UUID, Integer> positions = new HashMap<>();
+        for (int i = 0; i < choices.size(); i++) {
+            positions.put(choices.get(i).id(), i);
+        }
+        List<QuestionChoice> matches = new ArrayList<>();
+        matchePairs.stream()
+                .filter(matchPair -> matchPair.choiceId() != null)
+                .sorted(Comparator.comparingInt(matchPair -> positions
+                        .getOrDefault(matchPair.choiceId(),
+                                Integer.MAX_VALUE)))
+                .map(matchPair -> choicesById.get(matchPair.matchId()))
+                .filter(Objects::nonNull)
+                .forEach(matches::add);
+        matchePairs.stream()
+                .filter(matchPair -> matchPair.choiceId() == null)
+                .map(matchPair -> choicesById.get(matchPair.matchId()))
+                .filter(Objects::nonNull)
+                .forEach(matches::add);
+
+        question.setMatches(matches);
+        question.setChoices(choices);
+    }
+
+    /**
+     * Tells whether questions of the type have choices.
+     *
+     * @param type the type
+     * @return true if choices are applicable
+     */
+    static boolean hasChoices(final QuestionType type) {
+        return type.equals(QuestionType.CHOOSE_THE_BEST)
+                || type.equals(QuestionType.MULTI_CHOICE)
+                || type.equals(QuestionType.MATCH_THE_FOLLOWING);
     }
 
     /**
@@ -553,176 +1224,45 @@ public class QuestionService {
             final UUID id,
             final Locale locale,
             final Question question) throws SQLException {
-        question.setType(type);
-        Set<ConstraintViolation<Question>> violations =
-                getViolations(question);
-        if (violations.isEmpty()) {
-            int updatedRows = 0;
-            if (locale == null) {
-                updatedRows = this.questionStore
-                        .update()
-                        .set(QuestionStore.question(question.getQuestion()),
-                        QuestionStore.explanation(question.getExplanation()),
-                        QuestionStore.answer(question.getAnswer()),
-                        QuestionStore.modifiedAt(LocalDateTime.now()))
-                        .where(QuestionStore.id().eq(id)
-                                .and().type().eq(type.toString()))
-                        .execute(this.dataSource);
-            } else {
-                updatedRows = this.questionStore
-                        .update()
-                        .set(QuestionStore.answer(question.getAnswer()),
-                                QuestionStore.modifiedAt(LocalDateTime.now()))
-                        .where(QuestionStore.id().eq(id)
-                                .and().type().eq(type.toString()))
-                        .execute(this.dataSource);
-            }
-            if (locale != null) {
-                final String localizedUpdateQuery = """
-                        UPDATE QUESTION_LOCALIZED SET question = ?,
-                        explanation = ?
-                            WHERE question_id = ? AND
-                                    locale = ? AND
-                                question_id IN
-                                    ( SELECT id from question
-                                            where type
-                                            = ?  )
-                        """;
-                updatedRows = this.questionLocalizedStore
-                    .update()
-                    .sql(localizedUpdateQuery)
-                    .param(QuestionLocalizedStore
-                            .question(question.getQuestion()))
-                    .param(QuestionLocalizedStore
-                            .explanation(question.getExplanation()))
-                    .param(QuestionLocalizedStore
-                            .questionId(id))
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .param(QuestionStore.type(type.toString()))
-                    .execute(this.dataSource);
-                if (updatedRows == 0) {
-                    updatedRows = createLocalized(locale, question, id);
-                }
-            }
-            if ((type.equals(QuestionType.CHOOSE_THE_BEST)
-                    || type.equals(QuestionType.MULTI_CHOICE)
-                    || QuestionType.MATCH_THE_FOLLOWING.equals(type))
-                    && question.getChoices() != null) {
-                List<UUID> availableIds = question.getChoices()
-                        .stream()
-                        .filter(choice -> choice.id() != null)
-                        .map(QuestionChoice::id)
-                        .collect(Collectors.toList());
-                if (QuestionType.MATCH_THE_FOLLOWING.equals(type)) {
-                    availableIds.addAll(question.getMatches()
-                            .stream()
-                            .filter(choice -> choice.id() != null)
-                            .map(QuestionChoice::id)
-                            .toList());
-                }
-                if (!availableIds.isEmpty()) {
-                    final String deleteLocallizedChoiceSQL =
-                    "DELETE FROM question_choice_localized WHERE"
-                            + " choice_id IN (SELECT id FROM question_choice "
-                            + "WHERE question_id = ? AND id NOT IN ("
-                            + availableIds.stream()
-                            .map(aId -> "?")
-                            .collect(Collectors.joining(","))
-                            + "))";
-                    availableIds.add(0, id);
-                    DataManager.Statement<DataManager.Value<?, ?>>
-                            deleteChoiceLocalizedQuery
-                            = this.questionChoiceLocalizedStore
-                            .delete()
-                            .sql(deleteLocallizedChoiceSQL);
-                    for (UUID cId: availableIds) {
-                        deleteChoiceLocalizedQuery
-                                .param(QuestionChoiceStore.id(cId));
-                    }
-                    deleteChoiceLocalizedQuery
-                            .execute(this.dataSource);
-                    final String deleteChoiceSQL =
-                            "DELETE FROM question_choice "
-                                    + "WHERE question_id = ? AND id NOT IN ("
-                                    + availableIds.stream()
-                                    .map(aId -> "?")
-                                    .collect(Collectors.joining(","))
-                                    + ")";
-                    availableIds.add(0, id);
-                    DataManager.Statement<DataManager.Value<?, ?>>
-                            deleteChoiceQuery
-                            = this.questionChoiceStore
-                            .delete()
-                            .sql(deleteChoiceSQL);
-                    for (UUID cId: availableIds) {
-                        deleteChoiceQuery.param(QuestionChoiceStore.id(cId));
-                    }
-                    deleteChoiceQuery
-                            .execute(this.dataSource);
-                }
-                for (QuestionChoice choice : question.getChoices()) {
-                    if (choice.id() == null) {
-                        createChoice(choice, locale, id);
-                    } else {
-                        updateChoice(choice, locale);
-                    }
-                }
-                if (QuestionType.MATCH_THE_FOLLOWING.equals(type)
-                        && question.getMatches() != null) {
-                    int i = 0;
-                    for (QuestionChoice matchChoice : question.getMatches()) {
-                        if (matchChoice.id() == null) {
-                            matchChoice = createChoice(matchChoice, locale, id);
-                            UUID choiceId = null;
-                            if (i < question.getChoices().size()) {
-                                choiceId = question.getChoices().get(i).id();
-                            }
-                            createMatch(id, choiceId, matchChoice.id());
-                        } else {
-                            updateChoice(matchChoice, locale);
-                            UUID choiceId = null;
-                            if (i < question.getChoices().size()) {
-                                choiceId = question.getChoices().get(i).id();
-                            }
-                            updateMatch(id, choiceId, matchChoice.id());
-                        }
-                        i++;
+        try (Probe probe = probe(Operation.UPDATE)) {
+            question.setType(type);
+            Set<ConstraintViolation<Question>> violations =
+                    getViolations(question);
+            if (violations.isEmpty()) {
+                final QuestionDiff diff = new QuestionDiff(id, type, locale);
+                try (ConnectionScope scope = openScope(probe)) {
+                    if (!diff.save(scope.getConnection(), question)) {
+                        return Optional.empty();
                     }
+                    this.updateCount.increment();
+                    this.updateStatementCount.add(diff.statements());
+                    changed(id);
+                    return read(scope, id, locale);
                 }
+            } else {
+                throw new ConstraintViolationException(violations);
             }
-            return updatedRows == 0 ? null : read(id, locale);
-        } else {
-            throw new ConstraintViolationException(violations);
         }
     }
 
-    private void updateMatch(final UUID questionId,
-                             final UUID choiceId,
-                             final UUID matchId) throws SQLException {
-        this.matchesStore.update().set(MatchesStore.matchId(matchId),
-                MatchesStore.choiceId(choiceId))
-                .where(MatchesStore.questionId().eq(questionId)
-                        .and().matchId().eq(matchId)).execute(this.dataSource);
+    /**
+     * gets no of updates.
+     *
+     * @return updates
+     */
+    public long getUpdateCount() {
+        return this.updateCount.sum();
     }
 
-    private void updateChoice(final QuestionChoice choice,
-                              final Locale locale) throws SQLException {
-
-        if (locale == null) {
-            this.questionChoiceStore
-                .update()
-                .set(QuestionChoiceStore.cValue(choice.cValue()),
-                        QuestionChoiceStore.isAnswer(choice.isAnswer()))
-                .where(QuestionChoiceStore.id().eq(choice.id()))
-                    .execute(this.dataSource);
-        } else {
-            this.questionChoiceStore
-                .update()
-                .set(QuestionChoiceStore.isAnswer(choice.isAnswer()))
-                .where(QuestionChoiceStore.id().eq(choice.id()))
-                    .execute(this.dataSource);
-            saveLocalizedChoice(locale, choice);
-        }
+    /**
+     * gets no of statements written by updates. Only the rows that differ
+     * from the stored question are written, so this divided by the no of
+     * updates is the average cost of an update.
+     *
+     * @return statements
+     */
+    public long getUpdateStatementCount() {
+        return this.updateStatementCount.sum();
     }
 
     /**
@@ -732,7 +1272,15 @@ public class QuestionService {
      */
     public void deleteChoices(final UUID questionId)
             throws SQLException {
+        try (Probe probe = probe(Operation.DELETE_CHOICES);
+             ConnectionScope scope = openScope(probe)) {
+            scope.inTransaction(() -> deleteChoices(scope, questionId));
+        }
+    }
 
+    private int deleteChoices(final ConnectionScope scope,
+                              final UUID questionId)
+            throws SQLException {
         final String queryL =
                 """
                         DELETE FROM question_choice_localized
@@ -743,12 +1291,14 @@ public class QuestionService {
                 .delete()
                 .sql(queryL)
                 .param(QuestionChoiceStore.questionId(questionId))
-                .execute(this.dataSource);
+                .execute(scope);
 
-        this.questionChoiceStore
+        final int deleted = this.questionChoiceStore
                 .delete()
                     .where(QuestionChoiceStore.questionId().eq(questionId))
-                .execute(this.dataSource);
+                .execute(scope);
+        changed(questionId);
+        return deleted;
     }
 
     /**
@@ -758,12 +1308,21 @@ public class QuestionService {
      */
     public void deleteMatches(final UUID questionId)
             throws SQLException {
+        try (Probe probe = probe(Operation.DELETE_MATCHES);
+             ConnectionScope scope = openScope(probe)) {
+            deleteMatches(scope, questionId);
+        }
+    }
 
-
-        this.matchesStore
+    private int deleteMatches(final ConnectionScope scope,
+                              final UUID questionId)
+            throws SQLException {
+        final int deleted = this.matchesStore
                 .delete()
                     .where(MatchesStore.questionId().eq(questionId))
-                .execute(this.dataSource);
+                .execute(scope);
+        changed(questionId);
+        return deleted;
     }
 
     /**
@@ -778,200 +1337,493 @@ public class QuestionService {
                                final Locale locale,
                                final List<String> categories)
             throws SQLException {
+        try (Probe probe = probe(Operation.LIST)) {
+            final QuestionSnapshot theSnapshot = this.snapshot;
+            if (theSnapshot != null && theSnapshot.covers(categories)) {
+                return theSnapshot.list(userName.equals(OWNER_USER), locale,
+                        categories, null, 0);
+            }
+            try (ConnectionScope scope = openScope(probe)) {
+                return list(scope, userName.equals(OWNER_USER), locale,
+                        categories, null, 0);
+            }
+        }
+    }
 
-        boolean isOwner = userName.equals(OWNER_USER);
-
-        List<com.gurukulams.questionbank.model.Question> qms;
-        String query;
+    /**
+     * List a page of questions of exam, in the order of id. Pages are
+     * read with keyset pagination, so every page costs the same.
+     *
+     * @param userName          the user name
+     * @param locale            the locale
+     * @param categories        the categories
+     * @param continuationToken token of the previous page; null for first
+     * @param pageSize          no of questions in a page
+     * @return the page
+     */
+    public QuestionPage list(final String userName,
+                             final Locale locale,
+                             final List<String> categories,
+                             final String continuationToken,
+                             final int pageSize)
+            throws SQLException {
+        try (Probe probe = probe(Operation.LIST_PAGE)) {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException(
+                        "Page size should be positive");
+            }
+            final UUID after = continuationToken == null
+                    ? null : QuestionPage.decode(continuationToken);
+            final List<Question> questions;
+            final QuestionSnapshot theSnapshot = this.snapshot;
+            if (theSnapshot != null && theSnapshot.covers(categories)) {
+                questions = theSnapshot.list(userName.equals(OWNER_USER),
+                        locale, categories, after, pageSize);
+            } else {
+                try (ConnectionScope scope = openScope(probe)) {
+                    questions = list(scope, userName.equals(OWNER_USER), locale,
+                            categories, after, pageSize);
+                }
+            }
+            return new QuestionPage(questions, questions.size() < pageSize
+                    ? null
+                    : QuestionPage.encode(questions.get(questions.size() - 1)
+                            .getId()));
+        }
+    }
 
-        if (locale == null) {
-            query = "SELECT id,question,explanation,type,"
-                    + (isOwner ? "answer" : "NULL")
-                    + " AS answer,"
-                    + "created_at,created_by,"
-                    + "modified_at,modified_by"
-                    + " FROM question"
-                    + " where "
-                    + "id IN (" + getQuestionIdFilter(categories) + ") "
-                    + " order by id";
-            DataManager.SelectQuery<DataManager.Value<?, ?>, com.gurukulams.questionbank.model.Question> queryBuilder
-                    = this.questionStore.select()
-                    .sql(query);
-
-            for (String category: categories) {
-                queryBuilder.param(QuestionCategoryStore.categoryId(category));
+    /**
+     * Streams questions of exam to the consumer, in the order of id. Rows
+     * are read through a server side cursor and choices are filled a
+     * fetch at a time, so memory stays flat whatever the no of questions.
+     *
+     * @param userName   the user name
+     * @param locale     the locale
+     * @param categories the categories
+     * @param consumer   the consumer
+     * @return no of questions streamed
+     */
+    public long forEach(final String userName,
+                        final Locale locale,
+                        final List<String> categories,
+                        final Consumer<Question> consumer)
+            throws SQLException {
+        try (Probe probe = probe(Operation.FOR_EACH)) {
+            final QuestionSnapshot theSnapshot = this.snapshot;
+            if (theSnapshot != null && theSnapshot.covers(categories)) {
+                final List<Question> questions = theSnapshot.list(
+                        userName.equals(OWNER_USER), locale, categories,
+                        null, 0);
+                questions.forEach(consumer);
+                return questions.size();
             }
+            final List<UUID> ids = indexedIds(categories);
+            if (ids != null && ids.isEmpty()) {
+                return 0;
+            }
+            final String query = listQuery(userName.equals(OWNER_USER), locale,
+                    ids != null, false, false);
+            long count = 0;
+            try (ConnectionScope scope = openScope(probe)) {
+                final Connection connection = scope.getConnection();
+                final boolean autoCommit = connection.getAutoCommit();
+                // PostgreSQL uses a cursor only inside a transaction
+                connection.setAutoCommit(false);
+                try (PreparedStatement statement =
+                             connection.prepareStatement(query,
+                                     ResultSet.TYPE_FORWARD_ONLY,
+                                     ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(STREAM_FETCH_SIZE);
+                    bind(statement, listParameters(scope, locale, categories,
+                            ids, null, 0));
+                    final List<Question> fetched = new ArrayList<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            fetched.add(getQuestion(
+                                    getQuestionModel(resultSet)));
+                            if (fetched.size() == STREAM_FETCH_SIZE) {
+                                count += accept(scope, locale, fetched,
+                                        consumer);
+                            }
+                        }
+                    }
+                    count += accept(scope, locale, fetched, consumer);
+                } finally {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+            return count;
+        }
+    }
 
-            qms = queryBuilder
-                    .list(this.dataSource);
-        } else {
-            query = "SELECT id,"
-                    + "CASE WHEN ql.LOCALE = ? "
-                    + "THEN ql.question "
-                    + "ELSE q.question "
-                    + "END AS question,"
-                    + "CASE WHEN ql.LOCALE = ? "
-                    + "THEN ql.explanation "
-                    + "ELSE q.explanation "
-                    + "END AS explanation,"
-                    + "type, created_by,"
-                    + (isOwner ? "q.answer" : "NULL")
-                    + " AS answer"
-                    + "created_at,created_by,"
-                    + "modified_at,modified_by"
-                    + " FROM "
-                    + "question q LEFT JOIN question_localized ql ON "
-                    + "q.ID = ql.QUESTION_ID WHERE"
-                    + " q.ID IN (" + getQuestionIdFilter(categories) + ") "
-                    + "  AND"
-                    + " (ql.LOCALE IS NULL "
-                    + "OR ql.LOCALE = ? OR "
-                    + "q.ID NOT IN "
-                    + "(SELECT question_id FROM question_localized "
-                    + "WHERE QUESTION_ID=q.ID AND LOCALE = ?))";
-
-            DataManager.SelectQuery<DataManager.Value<?, ?>, com.gurukulams.questionbank.model.Question> queryBuilder
-                    = this.questionStore.select()
-                    .sql(query)
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()));
+    private int accept(final ConnectionScope scope,
+                       final Locale locale,
+                       final List<Question> fetched,
+                       final Consumer<Question> consumer)
+            throws SQLException {
+        final int size = fetched.size();
+        fillChoices(scope, locale, fetched);
+        fetched.forEach(consumer);
+        fetched.clear();
+        return size;
+    }
+
+    private List<Question> list(final ConnectionScope scope,
+                                final boolean isOwner,
+                                final Locale locale,
+                                final List<String> categories,
+                                final UUID after,
+                                final int limit)
+            throws SQLException {
+        final List<UUID> ids = indexedIds(categories);
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        List<Question> questions = query(scope,
+                listQuery(isOwner, locale, ids != null, after != null,
+                        limit > 0),
+                QuestionService::getQuestionModel,
+                listParameters(scope, locale, categories, ids, after, limit))
+                .stream()
+                .map(this::getQuestion)
+                .toList();
+        fillChoices(scope, locale, questions);
+        return questions;
+    }
 
-            for (String category: categories) {
-                queryBuilder.param(QuestionCategoryStore.categoryId(category));
+    /**
+     * Samples questions in all the categories for a paper; as many of
+     * each type as its quota, or all of them if there are fewer. Only ids
+     * and types are queried to pick from, and the picked questions are
+     * then read in one batch, without their answer nor which of their
+     * choices are answers; matches are in the order of id rather than of
+     * their choices.
+     * The same seed picks the same questions, in the same order, as long
+     * as the questions do not change.
+     *
+     * @param categories the categories
+     * @param quota      no of questions of each type
+     * @param locale     the locale
+     * @param seed       the seed
+     * @return questions, by type in the order of quota and then random
+     */
+    public List<Question> sample(final List<String> categories,
+                                 final Map<QuestionType, Integer> quota,
+                                 final Locale locale,
+                                 final long seed) throws SQLException {
+        try (Probe probe = probe(Operation.SAMPLE)) {
+            final Map<QuestionType, Integer> wanted =
+                    new EnumMap<>(QuestionType.class);
+            quota.forEach((type, count) -> {
+                if (count < 0) {
+                    throw new IllegalArgumentException(
+                            "Quota of " + type + " should not be negative");
+                }
+                if (count > 0) {
+                    wanted.put(type, count);
+                }
+            });
+            if (wanted.isEmpty() || categories.isEmpty()) {
+                return List.of();
+            }
+            final QuestionSnapshot theSnapshot = this.snapshot;
+            if (theSnapshot != null && theSnapshot.covers(categories)) {
+                final List<Question> questions = new ArrayList<>();
+                for (UUID id : pick(theSnapshot.ids(categories,
+                        wanted.keySet()), wanted, seed)) {
+                    final Question question = theSnapshot.read(id, locale);
+                    question.setAnswer(null);
+                    question.setChoices(withoutAnswers(
+                            question.getChoices()));
+                    question.setMatches(inIdOrder(withoutAnswers(
+                            question.getMatches())));
+                    questions.add(question);
+                }
+                return questions;
+            }
+            try (ConnectionScope scope = openScope(probe)) {
+                return readPicked(scope, pick(candidates(scope, categories,
+                        wanted.keySet()), wanted, seed), locale);
             }
+        }
+    }
 
-            qms = queryBuilder
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .param(QuestionLocalizedStore.locale(locale.getLanguage()))
-                    .list(this.dataSource);
+    /**
+     * Holds back which of the choices are answers.
+     *
+     * @param choices the choices; may be null
+     * @return choices without isAnswer
+     */
+    private static List<QuestionChoice> withoutAnswers(
+            final List<QuestionChoice> choices) {
+        return choices == null ? null : choices.stream()
+                .map(choice -> choice.withIsAnswer(null))
+                .collect(Collectors.toList());
+    }
 
-        }
+    /**
+     * Orders matches by id. Matches are held in the order of their
+     * choices, which is the answer.
+     *
+     * @param matches the matches; may be null
+     * @return matches in the order of id
+     */
+    private static List<QuestionChoice> inIdOrder(
+            final List<QuestionChoice> matches) {
+        return matches == null ? null : matches.stream()
+                .sorted(Comparator.comparing(QuestionChoice::id))
+                .collect(Collectors.toList());
+    }
 
-        List<Question> questions = qms.stream().map(this::getQuestion)
-                .toList();
-        if (!questions.isEmpty()) {
-            for (Question question : questions) {
-                fillChoices(locale, question);
+    /**
+     * Picks ids of each type at random with a partial shuffle.
+     *
+     * @param candidates ids to pick from by type, in the order of id
+     * @param quota      no of ids of each type
+     * @param seed       the seed
+     * @return picked ids
+     */
+    private static List<UUID> pick(
+            final Map<QuestionType, List<UUID>> candidates,
+            final Map<QuestionType, Integer> quota,
+            final long seed) {
+        final Random random = new Random(seed);
+        final List<UUID> picked = new ArrayList<>();
+        quota.forEach((type, count) -> {
+            final List<UUID> ids = new ArrayList<>(
+                    candidates.getOrDefault(type, List.of()));
+            final int picks = Math.min(count, ids.size());
+            for (int i = 0; i < picks; i++) {
+                Collections.swap(ids, i,
+                        i + random.nextInt(ids.size() - i));
+            }
+            picked.addAll(ids.subList(0, picks));
+        });
+        return picked;
+    }
+
+    /**
+     * Lists ids of questions of the types in all the categories.
+     *
+     * @param scope      the scope
+     * @param categories the categories
+     * @param types      the types
+     * @return ids by type, in the order of id
+     */
+    private Map<QuestionType, List<UUID>> candidates(
+            final ConnectionScope scope,
+            final List<String> categories,
+            final Set<QuestionType> types) throws SQLException {
+        final Map<QuestionType, List<UUID>> candidates =
+                new EnumMap<>(QuestionType.class);
+        final List<UUID> ids = indexedIds(categories);
+        if (ids != null && ids.isEmpty()) {
+            return candidates;
+        }
+        final String query = "SELECT id, type FROM question WHERE id "
+                + idFilter(ids != null) + " AND type = ANY(?) order by id";
+        final List<Object> parameters = new ArrayList<>();
+        addIdFilter(parameters, scope, categories, ids);
+        parameters.add(texts(scope, types.stream()
+                .map(QuestionType::toString)
+                .toList()));
+        try (PreparedStatement statement =
+                     scope.getConnection().prepareStatement(query)) {
+            bind(statement, parameters.toArray());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    candidates.computeIfAbsent(
+                            QuestionType.valueOf(resultSet.getString(2)),
+                            type -> new ArrayList<>())
+                            .add(resultSet.getObject(1, UUID.class));
+                }
             }
         }
+        return candidates;
+    }
+
+    /**
+     * Reads picked questions, as listed for others, in one batch.
+     *
+     * @param scope  the scope
+     * @param picked the picked ids
+     * @param locale the locale
+     * @return questions, in the order picked
+     */
+    private List<Question> readPicked(final ConnectionScope scope,
+                                      final List<UUID> picked,
+                                      final Locale locale)
+            throws SQLException {
+        final Map<UUID, Question> questionsById = new HashMap<>();
+        query(scope, listQuery(false, locale, true, false, false),
+                QuestionService::getQuestionModel,
+                listParameters(scope, locale, null, picked, null, 0))
+                .stream()
+                .map(this::getQuestion)
+                .forEach(question ->
+                        questionsById.put(question.getId(), question));
+        final List<Question> questions = picked.stream()
+                .map(questionsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        fillChoices(scope, false, locale, questions);
+        questions.forEach(question ->
+                question.setMatches(inIdOrder(question.getMatches())));
         return questions;
+    }
+
+    /**
+     * Gets ids of questions in all the categories from category index.
+     *
+     * @param categories the categories
+     * @return ids; null when they are to be filtered in database
+     */
+    private List<UUID> indexedIds(final List<String> categories) {
+        if (this.categoryIndex == null || categories.isEmpty()) {
+            return null;
+        }
+        final List<UUID> ids = this.categoryIndex.questionIds(categories);
+        return ids.size() > MAX_INDEXED_IDS ? null : ids;
+    }
+
+    /**
+     * Builds query of questions with ids in the filter. Parameters are
+     * the locale (if any), those of the filter, the id to list after
+     * (if any) and the limit (if any); see listParameters.
+     *
+     * @param isOwner  isOwner calling
+     * @param locale   the locale
+     * @param indexed  filter ids from the category index
+     * @param hasAfter list after an id
+     * @param hasLimit list at most a limit of questions
+     * @return query
+     */
+    private static String listQuery(final boolean isOwner,
+                                    final Locale locale,
+                                    final boolean indexed,
+                                    final boolean hasAfter,
+                                    final boolean hasLimit) {
+        final StringBuilder query = new StringBuilder("SELECT q.id,");
+        if (locale == null) {
+            query.append("q.question,q.explanation,");
+        } else {
+            query.append("COALESCE(ql.question, q.question) AS question,")
+                    .append("COALESCE(ql.explanation, q.explanation)")
+                    .append(" AS explanation,");
+        }
+        query.append("q.type,")
+                .append(isOwner ? "q.answer" : "NULL")
+                .append(" AS answer,")
+                .append("q.created_at,q.created_by,")
+                .append("q.modified_at,q.modified_by")
+                .append(" FROM question q");
+        if (locale != null) {
+            query.append(" LEFT JOIN question_localized ql")
+                    .append(" ON ql.question_id = q.id AND ql.locale = ?");
+        }
+        query.append(" WHERE q.id ").append(idFilter(indexed));
+        if (hasAfter) {
+            query.append(" AND q.id > ?");
+        }
+        query.append(" order by q.id");
+        if (hasLimit) {
+            query.append(" LIMIT ?");
+        }
+        return query.toString();
+    }
+
+    /**
+     * Builds parameters of list query.
+     *
+     * @param scope      the scope
+     * @param locale     the locale
+     * @param categories the categories
+     * @param ids        ids from the category index; null to filter the
+     *                   categories in database
+     * @param after      id to list after; null for first
+     * @param limit      max no of questions; 0 for all
+     * @return parameters
+     */
+    private static Object[] listParameters(final ConnectionScope scope,
+                                           final Locale locale,
+                                           final List<String> categories,
+                                           final List<UUID> ids,
+                                           final UUID after,
+                                           final int limit)
+            throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        if (locale != null) {
+            parameters.add(locale.getLanguage());
+        }
+        addIdFilter(parameters, scope, categories, ids);
+        if (after != null) {
+            parameters.add(after);
+        }
+        if (limit > 0) {
+            parameters.add(limit);
+        }
+        return parameters.toArray();
+    }
+
+    /**
+     * Builds filter of question ids; ids from the category index are
+     * bound as an array and categories otherwise.
+     *
+     * @param indexed filter ids from the category index
+     * @return filter
+     */
+    private static String idFilter(final boolean indexed) {
+        return indexed ? "= ANY(?)"
+                : "IN (" + QUESTIONS_IN_ALL_CATEGORIES + ")";
+    }
 
+    private static void addIdFilter(final List<Object> parameters,
+                                    final ConnectionScope scope,
+                                    final List<String> categories,
+                                    final List<UUID> ids)
+            throws SQLException {
+        if (ids == null) {
+            parameters.add(texts(scope, categories));
+            parameters.add(categories.size());
+        } else {
+            parameters.add(uuids(scope, ids));
+        }
     }
 
-    private String getQuestionIdFilter(final List<String> category) {
-        return "SELECT QUESTION_ID FROM "
-                + "question_category WHERE category_id IN ("
-                + category.stream().map(tag -> "?")
-                .collect(Collectors.joining(","))
-                + ") "
-                + "GROUP BY QUESTION_ID "
-                + "HAVING COUNT(DISTINCT category_id) = "
-                + category.size();
+    private static com.gurukulams.questionbank.model.Question
+    getQuestionModel(final ResultSet resultSet) throws SQLException {
+        return new com.gurukulams.questionbank.model.Question(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("question"),
+                resultSet.getString("explanation"),
+                resultSet.getString("type"),
+                resultSet.getString("answer"),
+                resultSet.getObject("created_at", LocalDateTime.class),
+                resultSet.getString("created_by"),
+                resultSet.getObject("modified_at", LocalDateTime.class),
+                resultSet.getString("modified_by"));
     }
 
 
     /**
-     * Validate Question.
+     * Validate Question; the time taken is recorded to metrics, if any.
      *
      * @param question
      * @return violations
      */
     private Set<ConstraintViolation<Question>> getViolations(final Question
                                                                      question) {
-        Set<ConstraintViolation<Question>> violations = new HashSet<>(validator
-                .validate(question));
-        if (violations.isEmpty()) {
-            final String messageTemplate = null;
-            final Class<Question> rootBeanClass = Question.class;
-            final Object leafBeanInstance = null;
-            final Object cValue = null;
-            final Path propertyPath = null;
-            final ConstraintDescriptor<?> constraintDescriptor = null;
-            final ElementType elementType = null;
-            final Map<String, Object> messageParameters = new HashMap<>();
-            final Map<String, Object> expressionVariables = new HashMap<>();
-
-            if (question.getType().equals(QuestionType.MATCH_THE_FOLLOWING)) {
-                List<QuestionChoice> choices = question.getChoices();
-                List<QuestionChoice> matches = question.getMatches();
-                if (choices == null || choices.isEmpty()) {
-                    ConstraintViolation<Question> violation
-                            = ConstraintViolationImpl.forBeanValidation(
-                            messageTemplate, messageParameters,
-                            expressionVariables,
-                            "No choices are provided",
-                            rootBeanClass,
-                            question, leafBeanInstance, cValue, propertyPath,
-                            constraintDescriptor, elementType);
-                    violations.add(violation);
-                }
-                if (matches == null || matches.isEmpty()) {
-                    ConstraintViolation<Question> violation
-                            = ConstraintViolationImpl.forBeanValidation(
-                            messageTemplate, messageParameters,
-                            expressionVariables,
-                            "No matches are provided",
-                            rootBeanClass,
-                            question, leafBeanInstance, cValue, propertyPath,
-                            constraintDescriptor, elementType);
-                    violations.add(violation);
-                }
-                if (violations.isEmpty() && choices.size() > matches.size()) {
-                    ConstraintViolation<Question> violation
-                            = ConstraintViolationImpl.forBeanValidation(
-                            messageTemplate, messageParameters,
-                            expressionVariables,
-                            "Not Enough Matches",
-                            rootBeanClass,
-                            question, leafBeanInstance, cValue, propertyPath,
-                            constraintDescriptor, elementType);
-                    violations.add(violation);
-                }
-
-            } else  if (question.getType().equals(QuestionType.MULTI_CHOICE)
-                    || question.getType()
-                    .equals(QuestionType.CHOOSE_THE_BEST)) {
-                List<QuestionChoice> choices = question.getChoices();
-                if (choices == null
-                        || choices.size() < 2) {
-                    ConstraintViolation<Question> violation
-                            = ConstraintViolationImpl.forBeanValidation(
-                            messageTemplate, messageParameters,
-                            expressionVariables,
-                            "Minimum 2 choices",
-                            rootBeanClass,
-                            question, leafBeanInstance, cValue, propertyPath,
-                            constraintDescriptor, elementType);
-                    violations.add(violation);
-                } else if (choices.stream()
-                        .filter(choice -> choice.isAnswer() != null
-                                && choice.isAnswer())
-                        .findFirst().isEmpty()) {
-                    ConstraintViolation<Question> violation
-                            = ConstraintViolationImpl.forBeanValidation(
-                            messageTemplate, messageParameters,
-                            expressionVariables,
-                            "At-least One Answer should be available",
-                            rootBeanClass,
-                            question, leafBeanInstance, cValue, propertyPath,
-                            constraintDescriptor, elementType);
-                    violations.add(violation);
-                }
-            } else {
-                if (question.getAnswer() == null) {
-                    ConstraintViolation<Question> violation
-                            = ConstraintViolationImpl.forBeanValidation(
-                            messageTemplate, messageParameters,
-                            expressionVariables,
-                            "Answer should not be empty",
-                            rootBeanClass,
-                            question, leafBeanInstance, cValue, propertyPath,
-                            constraintDescriptor, elementType);
-                    violations.add(violation);
-                }
-            }
+        if (!this.metrics.isEnabled()) {
+            return validator.validate(question);
+        }
+        final long start = System.nanoTime();
+        try {
+            return validator.validate(question);
+        } finally {
+            this.metrics.record(Operation.VALIDATE,
+                    System.nanoTime() - start, 0, 0);
         }
-        return violations;
     }
 
     /**
@@ -983,69 +1835,128 @@ public class QuestionService {
     public void delete(final UUID questionId,
                        final QuestionType questionType)
             throws SQLException {
+        try (Probe probe = probe(Operation.DELETE)) {
+            try (ConnectionScope scope = openScope(probe)) {
+                scope.inTransaction(() -> {
+                    this.answerStore
+                            .delete()
+                                .where(AnswerStore.questionId().eq(questionId))
+                            .execute(scope);
 
-        if (QuestionType.MATCH_THE_FOLLOWING.equals(questionType)) {
-            deleteMatches(questionId);
-        }
-        deleteChoices(questionId);
-
+                    if (QuestionType.MATCH_THE_FOLLOWING.equals(questionType)) {
+                        deleteMatches(scope, questionId);
+                    }
+                    deleteChoices(scope, questionId);
 
-        this.questionLocalizedStore
-                .delete()
-                    .where(QuestionLocalizedStore.questionId().eq(questionId))
-                .execute(this.dataSource);
+                    this.questionLocalizedStore
+                            .delete()
+                                .where(QuestionLocalizedStore.questionId()
+                                        .eq(questionId))
+                            .execute(scope);
 
-        this.questionCategoryStore
-                .delete()
-                    .where(QuestionCategoryStore.questionId().eq(questionId))
-                .execute(this.dataSource);
+                    this.questionCategoryStore
+                            .delete()
+                                .where(QuestionCategoryStore.questionId()
+                                        .eq(questionId))
+                            .execute(scope);
 
-        this.questionStore
-                .delete()
-                    .where(QuestionStore.id().eq(questionId)
-                        .and().type().eq(questionType.toString()))
-                .execute(this.dataSource);
+                    return this.questionStore
+                            .delete()
+                                .where(QuestionStore.id().eq(questionId)
+                                    .and().type().eq(questionType.toString()))
+                            .execute(scope);
+                });
+            }
+            if (this.categoryIndex != null) {
+                this.categoryIndex.remove(questionId);
+            }
+            changed(questionId);
+        }
     }
 
-
     /**
-     * Adds tag to question.
+     * Invalidates whatever is held for the question.
      *
-     * @param userName
      * @param questionId the questionId
-     * @param categoryId the categoryId
-     * @return grade optional
      */
-    private boolean attachCategory(final String userName,
-                                     final UUID questionId,
-                                     final String categoryId)
-            throws SQLException {
-
-        int noOfRowsInserted;
-
-        QuestionCategory questionCategory =
-                new QuestionCategory(questionId, categoryId);
-
-        noOfRowsInserted = this.questionCategoryStore
-                .insert()
-                .values(questionCategory)
-                .execute(this.dataSource);
+    private void changed(final UUID questionId) {
+        this.answerKeys.remove(questionId);
+        if (this.cache != null) {
+            this.cache.invalidate(questionId);
+        }
+        if (this.renderedCache != null) {
+            this.renderedCache.invalidate(questionId);
+        }
+    }
 
-        return noOfRowsInserted == 1;
+    /**
+     * Invalidates whatever is held for all questions.
+     */
+    private void changedAll() {
+        this.answerKeys.clear();
+        if (this.cache != null) {
+            this.cache.invalidateAll();
+        }
+        if (this.renderedCache != null) {
+            this.renderedCache.invalidateAll();
+        }
     }
 
+
     /**
      * Deletes Questions.
      */
     public void delete() throws SQLException {
-        this.matchesStore.delete().execute(this.dataSource);
-        this.questionCategoryStore.delete().execute(this.dataSource);
-        this.questionTagStore.delete().execute(this.dataSource);
+        try (Probe probe = probe(Operation.DELETE_ALL);
+             ConnectionScope scope = openScope(probe)) {
+            scope.inTransaction(() -> {
+                this.answerStore.delete().execute(scope);
+                this.matchesStore.delete().execute(scope);
+                this.questionCategoryStore.delete().execute(scope);
+                this.questionTagStore.delete().execute(scope);
+
+                this.questionChoiceLocalizedStore.delete().execute(scope);
+                this.questionChoiceStore.delete().execute(scope);
+
+                this.questionLocalizedStore.delete().execute(scope);
+                return this.questionStore.delete().execute(scope);
+            });
+        }
+        if (this.categoryIndex != null) {
+            this.categoryIndex.clear();
+        }
+        changedAll();
+    }
 
-        this.questionChoiceLocalizedStore.delete().execute(this.dataSource);
-        this.questionChoiceStore.delete().execute(this.dataSource);
+    /**
+     * Maps a row of a result set.
+     *
+     * @param <T> type of the row
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        /**
+         * Maps the current row.
+         *
+         * @param resultSet the result set
+         * @return row
+         */
+        T map(ResultSet resultSet) throws SQLException;
+    }
 
-        this.questionLocalizedStore.delete().execute(this.dataSource);
-        this.questionStore.delete().execute(this.dataSource);
+    /**
+     * Query run on a scope.
+     *
+     * @param <T> type of the result
+     */
+    @FunctionalInterface
+    private interface Query<T> {
+        /**
+         * Runs query.
+         *
+         * @param scope the scope
+         * @return result
+         */
+        T run(ConnectionScope scope) throws SQLException;
     }
 }
@@ -0,0 +1,595 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, in-memory copy of the questions of some categories, with
+ * their localizations, choices and matches. Questions are held in
+ * parallel arrays in the order of id, choices and matches of all the
+ * questions in flat arrays, and equal strings are held once. Questions
+ * read from it are built afresh, so callers can change them.
+ */
+public final class QuestionSnapshot {
+
+    /**
+     * Order of ids in the database; UUIDs compare as unsigned bytes.
+     */
+    static final Comparator<UUID> ID_ORDER = (first, second) -> {
+        final int compare = Long.compareUnsigned(
+                first.getMostSignificantBits(),
+                second.getMostSignificantBits());
+        return compare == 0 ? Long.compareUnsigned(
+                first.getLeastSignificantBits(),
+                second.getLeastSignificantBits()) : compare;
+    };
+
+    /**
+     * Filter of questions in any of the categories.
+     */
+    private static final String QUESTIONS_OF_CATEGORIES =
+            "SELECT question_id FROM question_category"
+                    + " WHERE category_id = ANY(?)";
+
+    /**
+     * Categories the snapshot is of.
+     */
+    private final Set<String> categories;
+
+    /**
+     * Question ids, in order.
+     */
+    private final UUID[] ids;
+
+    /**
+     * Position of questions by id.
+     */
+    private final Map<UUID, Integer> positions;
+
+    /**
+     * Types of questions.
+     */
+    private final QuestionType[] types;
+
+    /**
+     * Questions.
+     */
+    private final String[] questions;
+
+    /**
+     * Explanations.
+     */
+    private final String[] explanations;
+
+    /**
+     * Answers.
+     */
+    private final String[] answers;
+
+    /**
+     * Creators.
+     */
+    private final String[] createdBy;
+
+    /**
+     * Creation times.
+     */
+    private final LocalDateTime[] createdAt;
+
+    /**
+     * Modification times.
+     */
+    private final LocalDateTime[] modifiedAt;
+
+    /**
+     * Start of the options of each question, and their end at the last.
+     * Options are the choices of a question followed by its matches.
+     */
+    private final int[] optionStart;
+
+    /**
+     * No of choices among the options of each question.
+     */
+    private final int[] choiceCount;
+
+    /**
+     * Option ids.
+     */
+    private final UUID[] optionIds;
+
+    /**
+     * Option values.
+     */
+    private final String[] optionValues;
+
+    /**
+     * Tells if options are answers.
+     */
+    private final Boolean[] optionIsAnswer;
+
+    /**
+     * Positions of questions in each category, in order.
+     */
+    private final Map<String, int[]> questionsByCategory;
+
+    /**
+     * Localizations by locale language.
+     */
+    private final Map<String, Localized> localizations;
+
+    /**
+     * Builds Snapshot from questions as read by their owner, without
+     * locale.
+     *
+     * @param theCategories       the categories
+     * @param owned               the questions
+     * @param categoryRows        category ids of questions
+     * @param localizedQuestions  localized question and explanation of
+     *                            questions, by language
+     * @param localizedChoices    localized values of choices, by language
+     */
+    private QuestionSnapshot(
+            final Set<String> theCategories,
+            final List<Question> owned,
+            final Map<UUID, List<String>> categoryRows,
+            final Map<String, Map<UUID, String[]>> localizedQuestions,
+            final Map<String, Map<UUID, String>> localizedChoices) {
+        final Map<String, String> strings = new HashMap<>();
+        final List<Question> sorted = new ArrayList<>(owned);
+        sorted.sort(Comparator.comparing(Question::getId, ID_ORDER));
+        final int size = sorted.size();
+
+        this.categories = Set.copyOf(theCategories);
+        this.ids = new UUID[size];
+        this.types = new QuestionType[size];
+        this.questions = new String[size];
+        this.explanations = new String[size];
+        this.answers = new String[size];
+        this.createdBy = new String[size];
+        this.createdAt = new LocalDateTime[size];
+        this.modifiedAt = new LocalDateTime[size];
+        this.optionStart = new int[size + 1];
+        this.choiceCount = new int[size];
+
+        final Map<UUID, Integer> thePositions = new HashMap<>();
+        final List<QuestionChoice> options = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final Question question = sorted.get(i);
+            ids[i] = question.getId();
+            thePositions.put(question.getId(), i);
+            types[i] = question.getType();
+            questions[i] = dedup(strings, question.getQuestion());
+            explanations[i] = dedup(strings, question.getExplanation());
+            answers[i] = dedup(strings, question.getAnswer());
+            createdBy[i] = dedup(strings, question.getCreatedBy());
+            createdAt[i] = question.getCreatedAt();
+            modifiedAt[i] = question.getUpdatedAt();
+            optionStart[i] = options.size();
+            if (question.getChoices() != null) {
+                options.addAll(question.getChoices());
+                choiceCount[i] = question.getChoices().size();
+            }
+            if (question.getMatches() != null) {
+                options.addAll(question.getMatches());
+            }
+        }
+        optionStart[size] = options.size();
+        this.positions = Map.copyOf(thePositions);
+
+        this.optionIds = new UUID[options.size()];
+        this.optionValues = new String[options.size()];
+        this.optionIsAnswer = new Boolean[options.size()];
+        for (int i = 0; i < options.size(); i++) {
+            optionIds[i] = options.get(i).id();
+            optionValues[i] = dedup(strings, options.get(i).cValue());
+            optionIsAnswer[i] = options.get(i).isAnswer();
+        }
+
+        final Map<String, List<Integer>> byCategory = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            for (String categoryId : categoryRows.getOrDefault(ids[i],
+                    List.of())) {
+                byCategory.computeIfAbsent(categoryId,
+                        key -> new ArrayList<>()).add(i);
+            }
+        }
+        final Map<String, int[]> theQuestionsByCategory = new HashMap<>();
+        byCategory.forEach((categoryId, positionList) ->
+                theQuestionsByCategory.put(categoryId, positionList.stream()
+                        .mapToInt(Integer::intValue).toArray()));
+        this.questionsByCategory = Map.copyOf(theQuestionsByCategory);
+
+        final Map<String, Localized> theLocalizations = new HashMap<>();
+        final Set<String> languages = new HashSet<>(
+                localizedQuestions.keySet());
+        languages.addAll(localizedChoices.keySet());
+        for (String language : languages) {
+            final Map<UUID, String[]> texts =
+                    localizedQuestions.getOrDefault(language, Map.of());
+            final Map<UUID, String> values =
+                    localizedChoices.getOrDefault(language, Map.of());
+            final String[] localizedQuestion = new String[size];
+            final String[] localizedExplanation = new String[size];
+            for (int i = 0; i < size; i++) {
+                final String[] text = texts.get(ids[i]);
+                if (text != null) {
+                    localizedQuestion[i] = dedup(strings, text[0]);
+                    localizedExplanation[i] = dedup(strings, text[1]);
+                }
+            }
+            final String[] localizedValues = new String[optionIds.length];
+            for (int i = 0; i < optionIds.length; i++) {
+                localizedValues[i] = dedup(strings,
+                        values.get(optionIds[i]));
+            }
+            theLocalizations.put(language, new Localized(localizedQuestion,
+                    localizedExplanation, localizedValues));
+        }
+        this.localizations = Map.copyOf(theLocalizations);
+    }
+
+    /**
+     * Loads the localizations and categories of questions and builds the
+     * snapshot.
+     *
+     * @param connection    the connection
+     * @param theCategories the categories
+     * @param owned         questions in any of the categories, as read by
+     *                      their owner without locale
+     * @return snapshot
+     */
+    static QuestionSnapshot load(final Connection connection,
+                                 final List<String> theCategories,
+                                 final List<Question> owned)
+            throws SQLException {
+        final Array categoryArray = connection.createArrayOf("varchar",
+                theCategories.toArray());
+
+        final Map<UUID, List<String>> categoryRows = new HashMap<>();
+        query(connection, "SELECT question_id, category_id"
+                        + " FROM question_category WHERE question_id IN ("
+                        + QUESTIONS_OF_CATEGORIES + ")", categoryArray,
+                resultSet -> categoryRows.computeIfAbsent(
+                        resultSet.getObject(1, UUID.class),
+                        key -> new ArrayList<>())
+                        .add(resultSet.getString(2)));
+
+        final Map<String, Map<UUID, String[]>> localizedQuestions =
+                new HashMap<>();
+        query(connection, "SELECT question_id, locale, question, explanation"
+                        + " FROM question_localized WHERE question_id IN ("
+                        + QUESTIONS_OF_CATEGORIES + ")", categoryArray,
+                resultSet -> localizedQuestions.computeIfAbsent(
+                        resultSet.getString(2), key -> new HashMap<>())
+                        .put(resultSet.getObject(1, UUID.class),
+                                new String[] {resultSet.getString(3),
+                                        resultSet.getString(4)}));
+
+        final Map<String, Map<UUID, String>> localizedChoices =
+                new HashMap<>();
+        query(connection, "SELECT cl.choice_id, cl.locale, cl.c_value"
+                        + " FROM question_choice_localized cl"
+                        + " JOIN question_choice c ON c.id = cl.choice_id"
+                        + " WHERE c.question_id IN ("
+                        + QUESTIONS_OF_CATEGORIES + ")",
+                categoryArray,
+                resultSet -> localizedChoices.computeIfAbsent(
+                        resultSet.getString(2), key -> new HashMap<>())
+                        .put(resultSet.getObject(1, UUID.class),
+                                resultSet.getString(3)));
+
+        return new QuestionSnapshot(Set.copyOf(theCategories), owned,
+                categoryRows, localizedQuestions, localizedChoices);
+    }
+
+    private static void query(final Connection connection,
+                              final String sql,
+                              final Array categoryIds,
+                              final RowReader rowReader)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setArray(1, categoryIds);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rowReader.read(resultSet);
+                }
+            }
+        }
+    }
+
+    private static String dedup(final Map<String, String> strings,
+                                final String value) {
+        return value == null ? null
+                : strings.computeIfAbsent(value, key -> key);
+    }
+
+    /**
+     * gets categories the snapshot is of.
+     *
+     * @return categories
+     */
+    public Set<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * gets no of questions.
+     *
+     * @return size
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * gets ids of the questions, in order.
+     *
+     * @return ids
+     */
+    List<UUID> ids() {
+        return List.of(ids);
+    }
+
+    /**
+     * gets languages question is localized in, in order.
+     *
+     * @param id the id
+     * @return languages
+     */
+    List<String> languages(final UUID id) {
+        final int position = positions.get(id);
+        final List<String> languages = new ArrayList<>();
+        localizations.forEach((language, localized) -> {
+            boolean isLocalized = localized.questions[position] != null
+                    || localized.explanations[position] != null;
+            for (int i = optionStart[position];
+                 !isLocalized && i < optionStart[position + 1]; i++) {
+                isLocalized = localized.values[i] != null;
+            }
+            if (isLocalized) {
+                languages.add(language);
+            }
+        });
+        Collections.sort(languages);
+        return languages;
+    }
+
+    /**
+     * gets categories of question, in order.
+     *
+     * @param id the id
+     * @return categories
+     */
+    List<String> categories(final UUID id) {
+        final int position = positions.get(id);
+        final List<String> categoryIds = new ArrayList<>();
+        questionsByCategory.forEach((categoryId, inCategory) -> {
+            if (Arrays.binarySearch(inCategory, position) >= 0) {
+                categoryIds.add(categoryId);
+            }
+        });
+        Collections.sort(categoryIds);
+        return categoryIds;
+    }
+
+    /**
+     * Tells whether questions in all the categories are in the snapshot,
+     * which is so when any of them is a category of the snapshot.
+     *
+     * @param categoryIds the categories
+     * @return true if covered
+     */
+    boolean covers(final List<String> categoryIds) {
+        return categoryIds.stream().anyMatch(categories::contains);
+    }
+
+    /**
+     * reads question with given id.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return question; null if not in snapshot
+     */
+    Question read(final UUID id, final Locale locale) {
+        final Integer position = positions.get(id);
+        return position == null ? null
+                : question(position, true, localized(locale));
+    }
+
+    /**
+     * Lists questions in all the categories, in the order of id.
+     *
+     * @param isOwner     isOwner calling
+     * @param locale      the locale
+     * @param categoryIds the categories
+     * @param after       list after the id; null for first
+     * @param limit       max no of questions; 0 for all
+     * @return questions
+     */
+    List<Question> list(final boolean isOwner,
+                        final Locale locale,
+                        final List<String> categoryIds,
+                        final UUID after,
+                        final int limit) {
+        final int[] matched = matched(categoryIds);
+        int from = 0;
+        if (after != null) {
+            while (from < matched.length
+                    && ID_ORDER.compare(ids[matched[from]], after) <= 0) {
+                from++;
+            }
+        }
+        final int to = limit > 0
+                ? Math.min(matched.length, from + limit) : matched.length;
+        final Localized localized = localized(locale);
+        final List<Question> listed = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            listed.add(question(matched[i], isOwner, localized));
+        }
+        return listed;
+    }
+
+    /**
+     * Lists ids of questions of the types in all the categories, by type,
+     * in the order of id.
+     *
+     * @param categoryIds the categories
+     * @param wantedTypes the types
+     * @return ids by type
+     */
+    Map<QuestionType, List<UUID>> ids(final List<String> categoryIds,
+                                      final Set<QuestionType> wantedTypes) {
+        final Map<QuestionType, List<UUID>> idsByType =
+                new EnumMap<>(QuestionType.class);
+        for (int position : matched(categoryIds)) {
+            if (wantedTypes.contains(types[position])) {
+                idsByType.computeIfAbsent(types[position],
+                        type -> new ArrayList<>()).add(ids[position]);
+            }
+        }
+        return idsByType;
+    }
+
+    /**
+     * Finds positions of questions in all the categories.
+     *
+     * @param categoryIds the categories
+     * @return positions, in order
+     */
+    private int[] matched(final List<String> categoryIds) {
+        int[] matched = null;
+        for (String categoryId : categoryIds) {
+            final int[] inCategory = questionsByCategory.get(categoryId);
+            if (inCategory == null) {
+                return new int[0];
+            }
+            matched = matched == null ? inCategory
+                    : intersect(matched, inCategory);
+        }
+        return matched == null ? new int[0] : matched;
+    }
+
+    private static int[] intersect(final int[] first, final int[] second) {
+        final int[] intersection = new int[Math.min(first.length,
+                second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                intersection[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(intersection, size);
+    }
+
+    private Localized localized(final Locale locale) {
+        return locale == null ? null
+                : localizations.get(locale.getLanguage());
+    }
+
+    /**
+     * Builds question at the position, as read by the owner or as listed
+     * for others. As in the database, only the answer is held back from
+     * others.
+     *
+     * @param position  the position
+     * @param isOwner   isOwner reading
+     * @param localized localization; null for none
+     * @return question
+     */
+    private Question question(final int position,
+                              final boolean isOwner,
+                              final Localized localized) {
+        final Question question = new Question();
+        question.setId(ids[position]);
+        question.setType(types[position]);
+        question.setQuestion(localized == null
+                || localized.questions[position] == null
+                ? questions[position] : localized.questions[position]);
+        question.setExplanation(localized == null
+                || localized.explanations[position] == null
+                ? explanations[position] : localized.explanations[position]);
+        question.setAnswer(isOwner ? answers[position] : null);
+        question.setCreatedBy(createdBy[position]);
+        question.setCreatedAt(createdAt[position]);
+        question.setUpdatedAt(modifiedAt[position]);
+        if (QuestionService.hasChoices(types[position])) {
+            final int start = optionStart[position];
+            final int choicesEnd = start + choiceCount[position];
+            question.setChoices(options(position, start, choicesEnd,
+                    localized));
+            if (QuestionType.MATCH_THE_FOLLOWING.equals(types[position])) {
+                question.setMatches(options(position, choicesEnd,
+                        optionStart[position + 1], localized));
+            }
+        }
+        return question;
+    }
+
+    private List<QuestionChoice> options(final int position,
+                                         final int start,
+                                         final int end,
+                                         final Localized localized) {
+        final List<QuestionChoice> options = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            options.add(new QuestionChoice(optionIds[i], ids[position],
+                    localized == null || localized.values[i] == null
+                            ? optionValues[i] : localized.values[i],
+                    optionIsAnswer[i]));
+        }
+        return options;
+    }
+
+    /**
+     * Localized texts of a language, aligned with the questions and the
+     * options; null where not localized.
+     *
+     * @param questions    the questions
+     * @param explanations the explanations
+     * @param values       the option values
+     */
+    private record Localized(String[] questions,
+                             String[] explanations,
+                             String[] values) {
+    }
+
+    /**
+     * Reads a row.
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        /**
+         * Reads row.
+         *
+         * @param resultSet the result set
+         */
+        void read(ResultSet resultSet) throws SQLException;
+    }
+}
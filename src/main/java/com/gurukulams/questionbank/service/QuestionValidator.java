@@ -0,0 +1,230 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import org.hibernate.validator.internal.engine.ConstraintViolationImpl;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates questions with rules compiled per question type. Rules are
+ * plain code and violations are built only for questions that fail
+ * them. Bean Validation is asked only when the constraints of Question
+ * can not be checked in code, or to report a question that fails them.
+ */
+public final class QuestionValidator {
+
+    /**
+     * Minimum no of choices of a choice question.
+     */
+    private static final int MIN_CHOICES = 2;
+
+    /**
+     * Bean Validator.
+     */
+    private final Validator validator;
+
+    /**
+     * Tells if the only constraint of Question is NotBlank of its text,
+     * so that it can be checked in code.
+     */
+    private final boolean textOnly;
+
+    /**
+     * Rules, by question type.
+     */
+    private final Map<QuestionType, Rule> rules =
+            new EnumMap<>(QuestionType.class);
+
+    /**
+     * Builds Validator.
+     *
+     * @param aValidator the bean validator
+     */
+    public QuestionValidator(final Validator aValidator) {
+        this.validator = aValidator;
+        this.textOnly = isTextOnly(aValidator
+                .getConstraintsForClass(Question.class));
+        for (QuestionType type : QuestionType.values()) {
+            switch (type) {
+                case MATCH_THE_FOLLOWING:
+                    rules.put(type, QuestionValidator::checkMatches);
+                    break;
+                case CHOOSE_THE_BEST:
+                case MULTI_CHOICE:
+                    rules.put(type, QuestionValidator::checkChoices);
+                    break;
+                default:
+                    rules.put(type, QuestionValidator::checkAnswer);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Validate Question. Rules of the type are checked only when the
+     * question satisfies its bean constraints.
+     *
+     * @param question the question
+     * @return violations; empty if valid
+     */
+    public Set<ConstraintViolation<Question>> validate(
+            final Question question) {
+        if (!textOnly || isBlank(question.getQuestion())) {
+            final Set<ConstraintViolation<Question>> violations =
+                    validator.validate(question);
+            if (!violations.isEmpty()) {
+                return violations;
+            }
+        }
+        if (question.getType() == null) {
+            return Set.of(violation(question, "Type is mandatory"));
+        }
+        return rules.get(question.getType()).check(question);
+    }
+
+    /**
+     * Tells if Question is constrained only by NotBlank on its text, in
+     * the default group.
+     *
+     * @param bean constraints of Question
+     * @return true if its constraints can be checked in code
+     */
+    private static boolean isTextOnly(final BeanDescriptor bean) {
+        if (!bean.getConstraintDescriptors().isEmpty()
+                || bean.getConstrainedProperties().size() != 1) {
+            return false;
+        }
+        final PropertyDescriptor text =
+                bean.getConstraintsForProperty("question");
+        if (text == null || text.isCascaded()
+                || !text.getConstrainedContainerElementTypes().isEmpty()
+                || text.getConstraintDescriptors().size() != 1) {
+            return false;
+        }
+        final ConstraintDescriptor<?> constraint =
+                text.getConstraintDescriptors().iterator().next();
+        return constraint.getAnnotation().annotationType()
+                == NotBlank.class
+                && constraint.getGroups().equals(Set.of(Default.class))
+                && constraint.getComposingConstraints().isEmpty();
+    }
+
+    /**
+     * Tells if text is blank, as NotBlank does.
+     *
+     * @param text the text
+     * @return true if null or only whitespace
+     */
+    private static boolean isBlank(final String text) {
+        return text == null || text.trim().isEmpty();
+    }
+
+    /**
+     * Checks match the following; choices and matches are present and
+     * there are as many matches as choices.
+     *
+     * @param question the question
+     * @return violations
+     */
+    private static Set<ConstraintViolation<Question>> checkMatches(
+            final Question question) {
+        final List<QuestionChoice> choices = question.getChoices();
+        final List<QuestionChoice> matches = question.getMatches();
+        final boolean noChoices = choices == null || choices.isEmpty();
+        final boolean noMatches = matches == null || matches.isEmpty();
+        if (noChoices || noMatches) {
+            final Set<ConstraintViolation<Question>> violations =
+                    new HashSet<>();
+            if (noChoices) {
+                violations.add(violation(question,
+                        "No choices are provided"));
+            }
+            if (noMatches) {
+                violations.add(violation(question,
+                        "No matches are provided"));
+            }
+            return violations;
+        }
+        if (choices.size() > matches.size()) {
+            return Set.of(violation(question, "Not Enough Matches"));
+        }
+        return Set.of();
+    }
+
+    /**
+     * Checks choose the best and multi choice; there are at least two
+     * choices and one of them is an answer.
+     *
+     * @param question the question
+     * @return violations
+     */
+    private static Set<ConstraintViolation<Question>> checkChoices(
+            final Question question) {
+        final List<QuestionChoice> choices = question.getChoices();
+        if (choices == null || choices.size() < MIN_CHOICES) {
+            return Set.of(violation(question, "Minimum 2 choices"));
+        }
+        for (QuestionChoice choice : choices) {
+            if (Boolean.TRUE.equals(choice.isAnswer())) {
+                return Set.of();
+            }
+        }
+        return Set.of(violation(question,
+                "At-least One Answer should be available"));
+    }
+
+    /**
+     * Checks other types; the answer is present.
+     *
+     * @param question the question
+     * @return violations
+     */
+    private static Set<ConstraintViolation<Question>> checkAnswer(
+            final Question question) {
+        if (question.getAnswer() == null) {
+            return Set.of(violation(question, "Answer should not be empty"));
+        }
+        return Set.of();
+    }
+
+    /**
+     * Builds violation of a rule.
+     *
+     * @param question the question
+     * @param message  the message
+     * @return violation
+     */
+    private static ConstraintViolation<Question> violation(
+            final Question question, final String message) {
+        return ConstraintViolationImpl.forBeanValidation(null, Map.of(),
+                Map.of(), message, Question.class, question, null, null,
+                null, null, null);
+    }
+
+    /**
+     * Rule of a question type.
+     */
+    @FunctionalInterface
+    private interface Rule {
+        /**
+         * Checks question.
+         *
+         * @param question the question
+         * @return violations; empty if valid
+         */
+        Set<ConstraintViolation<Question>> check(Question question);
+    }
+}
@@ -0,0 +1,131 @@
+package com.gurukulams.questionbank.service;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded, least recently used cache of questions rendered as students
+ * see them, keyed by id and locale. Renderings are immutable UTF-8 JSON,
+ * handed out as read only buffers over the same bytes, so they can be
+ * written to a socket as they are. All the localized renderings of a
+ * question are held (and evicted) together, so the bound is on the
+ * number of questions.
+ */
+public final class RenderedQuestionCache {
+
+    /**
+     * Renderings.
+     */
+    private final LocalizedLruCache<byte[]> entries;
+
+    /**
+     * Constructs Rendered Question Cache.
+     *
+     * @param theMaximumSize maximum no of questions held
+     */
+    public RenderedQuestionCache(final int theMaximumSize) {
+        this.entries = new LocalizedLruCache<>(theMaximumSize);
+    }
+
+    /**
+     * Gets the cached rendering.
+     *
+     * @param id     the id
+     * @param locale the locale
+     * @return read only rendering optional
+     */
+    Optional<ByteBuffer> get(final UUID id, final Locale locale) {
+        return Optional.ofNullable(entries.get(id, locale))
+                .map(RenderedQuestionCache::view);
+    }
+
+    /**
+     * Gets current generation. It is to be read before loading a question
+     * and given back on put.
+     *
+     * @return generation
+     */
+    long generation() {
+        return entries.generation();
+    }
+
+    /**
+     * Caches rendering of a question loaded at given generation.
+     *
+     * @param loadedAt the generation read before loading
+     * @param id       the id
+     * @param locale   the locale
+     * @param rendered the rendering; not to be changed afterwards
+     */
+    void put(final long loadedAt,
+             final UUID id,
+             final Locale locale,
+             final byte[] rendered) {
+        entries.put(loadedAt, id, locale, rendered);
+    }
+
+    /**
+     * Invalidates all the locales of a question.
+     *
+     * @param id the id
+     */
+    void invalidate(final UUID id) {
+        entries.invalidate(id);
+    }
+
+    /**
+     * Invalidates all questions.
+     */
+    void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * gets no of questions cached.
+     *
+     * @return size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * gets no of renders served from cache.
+     *
+     * @return hits
+     */
+    public long hitCount() {
+        return entries.hitCount();
+    }
+
+    /**
+     * gets no of renders not served from cache.
+     *
+     * @return misses
+     */
+    public long missCount() {
+        return entries.missCount();
+    }
+
+    /**
+     * gets no of questions evicted to stay within maximum size.
+     *
+     * @return evictions
+     */
+    public long evictionCount() {
+        return entries.evictionCount();
+    }
+
+    /**
+     * Wraps rendering in a buffer of its own position over the same
+     * bytes, which callers can not change.
+     *
+     * @param rendered the rendering
+     * @return read only buffer
+     */
+    static ByteBuffer view(final byte[] rendered) {
+        return ByteBuffer.wrap(rendered).asReadOnlyBuffer();
+    }
+}
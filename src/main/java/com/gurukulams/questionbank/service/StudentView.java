@@ -0,0 +1,66 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Renders a question as students see it, as UTF-8 JSON. The answer of
+ * the question and of its choices are left out, as in lists for users
+ * other than the owner, and so are the audit fields. Matches are held
+ * in the order of their choices, which is the answer, so they are
+ * rendered in the order of their ids.
+ */
+final class StudentView {
+
+    private StudentView() {
+    }
+
+    /**
+     * Renders question.
+     *
+     * @param question the question, localized
+     * @return UTF-8 JSON
+     */
+    static byte[] render(final Question question) {
+        final StringBuilder json = new StringBuilder("{\"id\":");
+        JsonText.appendString(json, question.getId().toString());
+        json.append(",\"type\":");
+        JsonText.appendString(json, question.getType() == null
+                ? null : question.getType().name());
+        json.append(",\"question\":");
+        JsonText.appendString(json, question.getQuestion());
+        json.append(",\"explanation\":");
+        JsonText.appendString(json, question.getExplanation());
+        json.append(",\"choices\":");
+        choices(json, question.getChoices());
+        json.append(",\"matches\":");
+        choices(json, question.getMatches() == null ? null
+                : question.getMatches().stream()
+                        .sorted(Comparator.comparing(QuestionChoice::id))
+                        .toList());
+        json.append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void choices(final StringBuilder json,
+                                final List<QuestionChoice> choices) {
+        json.append('[');
+        if (choices != null) {
+            for (int i = 0; i < choices.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"id\":");
+                JsonText.appendString(json, choices.get(i).id().toString());
+                json.append(",\"value\":");
+                JsonText.appendString(json, choices.get(i).cValue());
+                json.append('}');
+            }
+        }
+        json.append(']');
+    }
+}
@@ -0,0 +1,177 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import jakarta.validation.ConstraintViolation;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Validates questions of an import ahead of the writer. A producer
+ * thread reads the questions and submits each to the pool for
+ * validation, queueing its future; the writer takes them in the order
+ * of the import. The queue is bounded, so the producer waits when the
+ * writer falls behind. Without a pool questions are validated one after
+ * another as the writer takes them.
+ */
+final class ValidationPipeline implements AutoCloseable {
+
+    /**
+     * Marks end of the questions.
+     */
+    private static final Future<Validated> END =
+            CompletableFuture.completedFuture(null);
+
+    /**
+     * Validates a question.
+     */
+    private final Function<Question, Set<ConstraintViolation<Question>>>
+            validation;
+
+    /**
+     * Questions, when validated by the writer.
+     */
+    private final Iterator<Question> iterator;
+
+    /**
+     * Questions being validated, in the order of the import.
+     */
+    private final BlockingQueue<Future<Validated>> queue;
+
+    /**
+     * Thread reading the questions, if any.
+     */
+    private final Thread producer;
+
+    /**
+     * Tells if the end is taken.
+     */
+    private boolean done;
+
+    /**
+     * Builds Pipeline.
+     *
+     * @param questions     the questions
+     * @param theValidation validates a question
+     * @param pool          pool to validate on; null to validate in next
+     * @param capacity      max no of questions validated ahead
+     */
+    ValidationPipeline(final Stream<Question> questions,
+                       final Function<Question,
+                               Set<ConstraintViolation<Question>>>
+                               theValidation,
+                       final ExecutorService pool,
+                       final int capacity) {
+        this.validation = theValidation;
+        if (pool == null) {
+            this.iterator = questions.iterator();
+            this.queue = null;
+            this.producer = null;
+        } else {
+            this.iterator = null;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.producer = Thread.ofVirtual().name("question-import")
+                    .start(() -> produce(questions, pool));
+        }
+    }
+
+    /**
+     * Reads the questions and queues their validation, then the end. Any
+     * failure to read, errors included, is queued in place of the end, so
+     * the writer never waits for an end that does not come.
+     *
+     * @param questions the questions
+     * @param pool      the pool
+     */
+    private void produce(final Stream<Question> questions,
+                         final ExecutorService pool) {
+        Future<Validated> last = END;
+        try {
+            final Iterator<Question> read = questions.iterator();
+            while (read.hasNext()) {
+                final Question question = read.next();
+                queue.put(pool.submit(() -> new Validated(question,
+                        validation.apply(question))));
+            }
+        } catch (InterruptedException e) {
+            // the writer closed the pipeline
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            last = CompletableFuture.failedFuture(e);
+        } finally {
+            try {
+                queue.put(last);
+            } catch (InterruptedException e) {
+                // the writer closed the pipeline
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Takes next question, with its violations.
+     *
+     * @return validated question; null at the end
+     */
+    Validated next() throws SQLException {
+        if (done) {
+            return null;
+        }
+        if (queue == null) {
+            if (!iterator.hasNext()) {
+                done = true;
+                return null;
+            }
+            final Question question = iterator.next();
+            return new Validated(question, validation.apply(question));
+        }
+        try {
+            final Validated validated = queue.take().get();
+            done = validated == null;
+            return validated;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for validation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Validation failed",
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Stops the producer and drops questions not taken.
+     */
+    @Override
+    public void close() {
+        if (producer != null) {
+            producer.interrupt();
+            queue.forEach(future -> future.cancel(false));
+            queue.clear();
+        }
+    }
+
+    /**
+     * A question with its violations.
+     *
+     * @param question   the question
+     * @param violations violations; empty if valid
+     */
+    record Validated(Question question,
+                     Set<ConstraintViolation<Question>> violations) {
+    }
+}
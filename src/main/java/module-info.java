@@ -5,12 +5,16 @@ module gurukulams.questionbank {
     requires jakarta.validation;
     requires org.hibernate.validator;
     requires com.h2database;
+    requires org.postgresql.jdbc;
 
     opens com.gurukulams.questionbank.service;
     opens com.gurukulams.questionbank.payload;
     opens db.upgrades;
 
     exports com.gurukulams.questionbank.service;
+    exports com.gurukulams.questionbank.jdbc;
+    exports com.gurukulams.questionbank.codec;
+    exports com.gurukulams.questionbank.metrics;
     exports com.gurukulams.questionbank.payload;
     exports com.gurukulams.questionbank.model;
     exports com.gurukulams.questionbank;
@@ -0,0 +1,8 @@
+CREATE INDEX question_choice_question_id_idx
+    ON question_choice (question_id);
+
+CREATE INDEX matches_question_id_idx
+    ON matches (question_id);
+
+CREATE INDEX question_category_category_id_idx
+    ON question_category (category_id, question_id);
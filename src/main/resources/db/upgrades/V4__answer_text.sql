@@ -0,0 +1,2 @@
+ALTER TABLE answer
+    ALTER COLUMN student_answer SET DATA TYPE TEXT;
@@ -0,0 +1,162 @@
+package com.gurukulams.questionbank.codec;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class QuestionCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        for (QuestionType type : QuestionType.values()) {
+            Question question = getTestQuestion(type);
+            byte[] bytes = QuestionCodec.encode(question);
+            Assertions.assertEquals(QuestionCodec.encodedSize(question),
+                    bytes.length);
+            assertSame(question, QuestionCodec.decode(bytes));
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        Question question = new Question();
+        byte[] bytes = QuestionCodec.encode(question);
+        // version, flags and four null texts
+        Assertions.assertEquals(6, bytes.length);
+        Question decoded = QuestionCodec.decode(bytes);
+        assertSame(question, decoded);
+        Assertions.assertNull(decoded.getChoices());
+        Assertions.assertNull(decoded.getMatches());
+    }
+
+    @Test
+    void testText() {
+        Question question = new Question();
+        question.setQuestion("தமிழ் 😀 " + "x".repeat(300));
+        question.setExplanation("");
+        question.setAnswer("\uD800 unpaired");
+        byte[] bytes = QuestionCodec.encode(question);
+        Assertions.assertEquals(QuestionCodec.encodedSize(question),
+                bytes.length);
+        Question decoded = QuestionCodec.decode(bytes);
+        Assertions.assertEquals(question.getQuestion(),
+                decoded.getQuestion());
+        Assertions.assertEquals("", decoded.getExplanation());
+        Assertions.assertEquals("? unpaired", decoded.getAnswer());
+    }
+
+    @Test
+    void testView() {
+        Question first = getTestQuestion(QuestionType.MATCH_THE_FOLLOWING);
+        Question second = getTestQuestion(QuestionType.MULTI_CHOICE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(
+                QuestionCodec.encodedSize(first)
+                        + QuestionCodec.encodedSize(second));
+        QuestionCodec.encode(first, buffer);
+        QuestionCodec.encode(second, buffer);
+        buffer.flip();
+
+        QuestionView view = new QuestionView().wrap(buffer, 0);
+        Assertions.assertEquals(first.getId(), view.getId());
+        Assertions.assertEquals(first.getType(), view.getType());
+        Assertions.assertEquals(first.getQuestion(), view.getQuestion());
+        Assertions.assertEquals(first.getCreatedBy(), view.getCreatedBy());
+        Assertions.assertEquals(first.getUpdatedAt(), view.getUpdatedAt());
+        Assertions.assertEquals(4, view.matchCount());
+        Assertions.assertEquals(first.getMatches().get(3), view.match(3));
+
+        Assertions.assertSame(view, view.wrap(buffer, view.length()));
+        Assertions.assertEquals(second.getChoices().size(),
+                view.choiceCount());
+        for (int i = 0; i < view.choiceCount(); i++) {
+            Assertions.assertEquals(second.getChoices().get(i).id(),
+                    view.choiceId(i));
+            Assertions.assertEquals(second.getChoices().get(i).isAnswer(),
+                    view.isAnswer(i));
+        }
+        Assertions.assertFalse(view.hasMatches());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () ->
+                view.choice(view.choiceCount()));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () ->
+                view.match(0));
+
+        assertSame(first, QuestionCodec.decode(buffer));
+        assertSame(second, QuestionCodec.decode(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testVersion() {
+        byte[] bytes = QuestionCodec.encode(new Question());
+        bytes[0] = QuestionCodec.VERSION + 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                QuestionCodec.decode(bytes));
+    }
+
+    private Question getTestQuestion(final QuestionType type) {
+        Question question = new Question();
+        question.setId(UUID.randomUUID());
+        question.setType(type);
+        question.setQuestion("Which one of the following is a "
+                + "Object Oriented Language?");
+        question.setExplanation("Language that supports class and objects");
+        question.setAnswer(type.toString());
+        question.setCreatedBy("tom");
+        question.setCreatedAt(LocalDateTime.now());
+        if (type == QuestionType.MATCH_THE_FOLLOWING
+                || type == QuestionType.MULTI_CHOICE) {
+            question.setChoices(choices(question.getId(),
+                    List.of("Java", "C", "Tamil", "English")));
+        }
+        if (type == QuestionType.MATCH_THE_FOLLOWING) {
+            question.setUpdatedAt(LocalDateTime.now());
+            question.setMatches(choices(null,
+                    List.of("Object Oriented", "System Language",
+                            "Regional Language", "Universal Language")));
+        }
+        if (type == QuestionType.CHOOSE_THE_BEST) {
+            List<QuestionChoice> choices = new ArrayList<>();
+            choices.add(new QuestionChoice(null, UUID.randomUUID(), "Java",
+                    true));
+            choices.add(new QuestionChoice(UUID.randomUUID(), null, null,
+                    null));
+            question.setChoices(choices);
+        }
+        return question;
+    }
+
+    private List<QuestionChoice> choices(final UUID questionId,
+                                         final List<String> values) {
+        List<QuestionChoice> choices = new ArrayList<>();
+        for (String value : values) {
+            choices.add(new QuestionChoice(UUID.randomUUID(), questionId,
+                    value, value.equals("Java")));
+        }
+        return choices;
+    }
+
+    private void assertSame(final Question expected, final Question actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.getQuestion(), actual.getQuestion());
+        Assertions.assertEquals(expected.getExplanation(),
+                actual.getExplanation());
+        Assertions.assertEquals(expected.getAnswer(), actual.getAnswer());
+        Assertions.assertEquals(expected.getCreatedBy(),
+                actual.getCreatedBy());
+        Assertions.assertEquals(expected.getCreatedAt(),
+                actual.getCreatedAt());
+        Assertions.assertEquals(expected.getUpdatedAt(),
+                actual.getUpdatedAt());
+        Assertions.assertEquals(expected.getChoices(), actual.getChoices());
+        Assertions.assertEquals(expected.getMatches(), actual.getMatches());
+    }
+}
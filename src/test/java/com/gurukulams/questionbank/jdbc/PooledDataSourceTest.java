@@ -0,0 +1,253 @@
+package com.gurukulams.questionbank.jdbc;
+
+import com.gurukulams.questionbank.service.QuestionService;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class PooledDataSourceTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+    private static final String SELECT = "SELECT ?::int";
+
+    private PooledDataSource pool = new PooledDataSource(
+            TestUtil.getDataSource(), 2, TIMEOUT, Duration.ofMinutes(1));
+
+    @AfterEach
+    void after() {
+        pool.close();
+    }
+
+    @Test
+    void testReuse() throws SQLException {
+        PGConnection physical;
+        try (Connection connection = pool.getConnection()) {
+            physical = connection.unwrap(PGConnection.class);
+            connection.setAutoCommit(false);
+            Assertions.assertEquals(1, pool.getActiveCount());
+        }
+        Assertions.assertEquals(0, pool.getActiveCount());
+        Assertions.assertEquals(1, pool.getIdleCount());
+
+        try (Connection connection = pool.getConnection()) {
+            Assertions.assertSame(physical,
+                    connection.unwrap(PGConnection.class));
+            // returned connections are reset
+            Assertions.assertTrue(connection.getAutoCommit());
+        }
+        Assertions.assertEquals(2, pool.getAcquireCount());
+    }
+
+    @Test
+    void testClosedConnection() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close();
+        Assertions.assertTrue(connection.isClosed());
+        Assertions.assertThrows(SQLException.class,
+                connection::createStatement);
+        Assertions.assertEquals(1, pool.getIdleCount());
+
+        // invalid idle connections are replaced on borrow
+        try (Connection borrowed = pool.getConnection()) {
+            borrowed.unwrap(Connection.class).close();
+        }
+        Assertions.assertEquals(0, pool.getIdleCount());
+        try (Connection borrowed = pool.getConnection()) {
+            Assertions.assertTrue(borrowed.isValid(1));
+        }
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        Assertions.assertThrows(SQLTransientConnectionException.class,
+                pool::getConnection);
+        Assertions.assertEquals(1, pool.getTimeoutCount());
+        Assertions.assertTrue(pool.getWaitTime().compareTo(TIMEOUT) >= 0);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> waiter = executorService.submit(() -> {
+            try (Connection connection = pool.getConnection()) {
+                return connection.isValid(1);
+            }
+        });
+        while (pool.getWaitingCount() == 0) {
+            Thread.onSpinWait();
+        }
+        first.close();
+        Assertions.assertTrue(waiter.get());
+        second.close();
+        executorService.shutdown();
+        Assertions.assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    void testLeak() throws Exception {
+        pool.close();
+        pool = new PooledDataSource(TestUtil.getDataSource(), 2, TIMEOUT,
+                Duration.ofMillis(10));
+        Connection leaked = pool.getConnection();
+        Thread.sleep(20);
+        pool.getConnection().close();
+        Assertions.assertEquals(1, pool.getLeakCount());
+        pool.getConnection().close();
+        Assertions.assertEquals(1, pool.getLeakCount());
+        leaked.close();
+
+        // reported alike with the stack of the borrower
+        pool.setLeakTraces(true);
+        leaked = pool.getConnection();
+        Thread.sleep(20);
+        pool.getConnection().close();
+        Assertions.assertEquals(2, pool.getLeakCount());
+        leaked.close();
+    }
+
+    private static int value(final PreparedStatement statement)
+            throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Test
+    void testStatementCache() throws SQLException {
+        PreparedStatement physical;
+        try (Connection connection = pool.getConnection()) {
+            try (PreparedStatement statement =
+                         connection.prepareStatement(SELECT)) {
+                physical = statement.unwrap(PreparedStatement.class);
+                statement.setInt(1, 1);
+                Assertions.assertEquals(1, value(statement));
+            }
+            try (PreparedStatement statement =
+                         connection.prepareStatement(SELECT)) {
+                Assertions.assertSame(physical,
+                        statement.unwrap(PreparedStatement.class));
+                // parameters are cleared
+                Assertions.assertThrows(SQLException.class,
+                        statement::executeQuery);
+            }
+        }
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement =
+                     connection.prepareStatement(SELECT)) {
+            Assertions.assertSame(physical,
+                    statement.unwrap(PreparedStatement.class));
+            statement.setInt(1, 2);
+            Assertions.assertEquals(2, value(statement));
+            statement.close();
+            Assertions.assertTrue(statement.isClosed());
+            Assertions.assertThrows(SQLException.class,
+                    statement::executeQuery);
+        }
+        Assertions.assertEquals(1, pool.getStatementCacheMissCount());
+        Assertions.assertEquals(2, pool.getStatementCacheHitCount());
+
+        // statements of other shapes and the ones in use are not reused
+        try (Connection connection = pool.getConnection();
+             PreparedStatement inUse = connection.prepareStatement(SELECT);
+             PreparedStatement other = connection.prepareStatement(SELECT,
+                     ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY);
+             PreparedStatement again = connection.prepareStatement(SELECT)) {
+            Assertions.assertNotSame(inUse.unwrap(PreparedStatement.class),
+                    again.unwrap(PreparedStatement.class));
+            Assertions.assertNotSame(physical,
+                    other.unwrap(PreparedStatement.class));
+        }
+        Assertions.assertEquals(2, pool.getStatementCacheMissCount());
+        Assertions.assertEquals(3, pool.getStatementCacheHitCount());
+    }
+
+    @Test
+    void testStatementSettingsReset() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            int fetchSize;
+            int maxRows;
+            int queryTimeout;
+            try (PreparedStatement statement =
+                         connection.prepareStatement(SELECT)) {
+                fetchSize = statement.getFetchSize();
+                maxRows = statement.getMaxRows();
+                queryTimeout = statement.getQueryTimeout();
+                statement.setFetchSize(fetchSize + 10);
+                statement.setMaxRows(maxRows + 1);
+                statement.setQueryTimeout(queryTimeout + 1);
+            }
+            try (PreparedStatement statement =
+                         connection.prepareStatement(SELECT)) {
+                Assertions.assertEquals(fetchSize, statement.getFetchSize());
+                Assertions.assertEquals(maxRows, statement.getMaxRows());
+                Assertions.assertEquals(queryTimeout,
+                        statement.getQueryTimeout());
+            }
+        }
+        Assertions.assertEquals(1, pool.getStatementCacheHitCount());
+    }
+
+    @Test
+    void testStatementCacheSize() throws SQLException {
+        pool.setStatementCacheSize(1);
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement(SELECT).close();
+            connection.prepareStatement("SELECT 1").close();
+            // evicted as least recently used
+            connection.prepareStatement(SELECT).close();
+        }
+        Assertions.assertEquals(0, pool.getStatementCacheHitCount());
+
+        pool.close();
+        pool = new PooledDataSource(TestUtil.getDataSource());
+        pool.setStatementCacheSize(0);
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement(SELECT).close();
+            connection.prepareStatement(SELECT).close();
+        }
+        Assertions.assertEquals(0, pool.getStatementCacheHitCount());
+        Assertions.assertEquals(0, pool.getStatementCacheMissCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                pool.setStatementCacheSize(-1));
+    }
+
+    @Test
+    void testQuestionService() throws SQLException {
+        QuestionService questionService = new QuestionService(
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                TestUtil.questionBankManager(),
+                pool);
+        questionService.delete();
+        Assertions.assertTrue(questionService.list(
+                QuestionService.OWNER_USER, null, List.of("c1")).isEmpty());
+        final long misses = pool.getStatementCacheMissCount();
+        // same query, whatever the no of categories
+        Assertions.assertTrue(questionService.list(
+                QuestionService.OWNER_USER, null, List.of("c1", "c2"))
+                .isEmpty());
+        Assertions.assertEquals(misses, pool.getStatementCacheMissCount());
+        Assertions.assertEquals(0, pool.getActiveCount());
+        Assertions.assertEquals(1, pool.getIdleCount());
+        Assertions.assertTrue(pool.isWrapperFor(PooledDataSource.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                new PooledDataSource(TestUtil.getDataSource(), 0, TIMEOUT,
+                        TIMEOUT));
+    }
+}
@@ -0,0 +1,152 @@
+package com.gurukulams.questionbank.jdbc;
+
+import com.gurukulams.questionbank.service.QuestionService;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+class ProfilingDataSourceTest {
+
+    private final Logger logger =
+            Logger.getLogger(ProfilingDataSource.class.getName());
+
+    private final List<String> logged = new ArrayList<>();
+
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(final LogRecord record) {
+            logged.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final ProfilingDataSource dataSource = new ProfilingDataSource(
+            TestUtil.getDataSource(), Duration.ZERO, QuestionService.class);
+
+    @BeforeEach
+    void before() {
+        logger.addHandler(handler);
+    }
+
+    @AfterEach
+    void after() {
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    void testShapes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT 1").close();
+                statement.executeQuery("SELECT  2").close();
+            }
+            try (PreparedStatement statement =
+                         connection.prepareStatement("SELECT ?::int")) {
+                for (int i = 0; i < 3; i++) {
+                    statement.setInt(1, i);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        Assertions.assertTrue(resultSet.next());
+                    }
+                }
+            }
+        }
+        List<StatementProfile> profiles = dataSource.getTopStatements(10);
+        Assertions.assertEquals(2, profiles.size());
+        Assertions.assertTrue(profiles.get(0).getTotalTime()
+                .compareTo(profiles.get(1).getTotalTime()) >= 0);
+        StatementProfile literal = profile(profiles, "SELECT ?");
+        Assertions.assertEquals(2, literal.getExecutionCount());
+        Assertions.assertEquals(0, literal.getBindCount());
+        StatementProfile bound = profile(profiles, "SELECT ?::int");
+        Assertions.assertEquals(3, bound.getExecutionCount());
+        Assertions.assertEquals(3, bound.getBindCount());
+        Assertions.assertTrue(bound.getMaxTime()
+                .compareTo(bound.getMeanTime()) >= 0);
+
+        // every execution is slow with a zero threshold
+        Assertions.assertEquals(5, dataSource.getSlowCount());
+        Assertions.assertEquals(5, logged.size());
+        Assertions.assertTrue(logged.get(0).endsWith("in unknown: SELECT ?"));
+
+        Assertions.assertEquals(1, dataSource.getTopStatements(1).size());
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                dataSource.getTopStatements(-1));
+        dataSource.reset();
+        Assertions.assertTrue(dataSource.getTopStatements(1).isEmpty());
+        Assertions.assertEquals(0, dataSource.getSlowCount());
+    }
+
+    @Test
+    void testQuestionService() throws SQLException {
+        QuestionService questionService = new QuestionService(
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                TestUtil.questionBankManager(),
+                dataSource);
+        questionService.delete();
+        dataSource.reset();
+        logged.clear();
+        Assertions.assertTrue(questionService.list(
+                QuestionService.OWNER_USER, null, List.of("c1")).isEmpty());
+        Assertions.assertTrue(questionService.list(
+                QuestionService.OWNER_USER, null, List.of("c1", "c2"))
+                .isEmpty());
+
+        // same shape, whatever the no of categories
+        List<StatementProfile> profiles = dataSource.getTopStatements(10);
+        Assertions.assertEquals(1, profiles.size());
+        Assertions.assertEquals(2, profiles.get(0).getExecutionCount());
+        Assertions.assertTrue(profiles.get(0).getBindCount() > 0);
+        Assertions.assertEquals(2, logged.size());
+        logged.forEach(message -> Assertions.assertTrue(
+                message.contains(" in QuestionService.list: "), message));
+    }
+
+    @Test
+    void testNormalize() {
+        Assertions.assertEquals(
+                "SELECT id FROM question WHERE id IN (?) AND x = ? "
+                        + "AND y = ? AND c1 = ?",
+                ProfilingDataSource.normalize("SELECT  id FROM question\n"
+                        + " WHERE id IN (?, ?,?) AND x = 'it''s' "
+                        + "AND y = 42 AND c1 = 3.5"));
+        Assertions.assertEquals("INSERT INTO t (a, b) VALUES (?, ?)",
+                ProfilingDataSource.normalize("INSERT INTO t (a, b) "
+                        + "VALUES (?, ?), (?, ?), (?, ?)"));
+        Assertions.assertEquals("SELECT \"A1\" FROM t LIMIT ?",
+                ProfilingDataSource.normalize(
+                        "SELECT \"A1\" FROM t LIMIT 10 "));
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                new ProfilingDataSource(TestUtil.getDataSource(),
+                        Duration.ofMillis(-1), QuestionService.class));
+    }
+
+    private static StatementProfile profile(
+            final List<StatementProfile> profiles, final String sql) {
+        return profiles.stream()
+                .filter(profile -> profile.getSql().equals(sql))
+                .findFirst()
+                .orElseThrow();
+    }
+}
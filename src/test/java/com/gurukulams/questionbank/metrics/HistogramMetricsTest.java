@@ -0,0 +1,73 @@
+package com.gurukulams.questionbank.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class HistogramMetricsTest {
+
+    @Test
+    void testPercentiles() {
+        HistogramMetrics metrics = new HistogramMetrics();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            metrics.record(Operation.READ, micros * 1000, 2, 3);
+        }
+        Assertions.assertEquals(100_000, metrics.getCount(Operation.READ));
+        Assertions.assertEquals(200_000,
+                metrics.getStatementCount(Operation.READ));
+        Assertions.assertEquals(300_000, metrics.getRowCount(Operation.READ));
+        assertNear(Duration.ofMillis(50),
+                metrics.getLatency(Operation.READ, 50));
+        assertNear(Duration.ofMillis(99),
+                metrics.getLatency(Operation.READ, 99));
+        Assertions.assertEquals(Duration.ofMillis(100),
+                metrics.getLatency(Operation.READ, 100));
+        Assertions.assertEquals(Duration.ofMillis(100),
+                metrics.getMaxLatency(Operation.READ));
+
+        Assertions.assertEquals(Duration.ZERO,
+                metrics.getLatency(Operation.LIST, 50));
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                metrics.getLatency(Operation.READ, 101));
+
+        String[] lines = metrics.dump().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("operation"));
+        Assertions.assertTrue(lines[1].startsWith("READ"));
+        Assertions.assertTrue(lines[1].endsWith("2.0       3.0"));
+    }
+
+    @Test
+    void testBuckets() {
+        for (long value : new long[] {0, 1, 127, 128, 129, 255, 256,
+                1_000_000_007L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.index(value);
+            Assertions.assertTrue(LatencyHistogram.lowestValue(index)
+                    <= value);
+            Assertions.assertTrue(LatencyHistogram.highestValue(index)
+                    >= value);
+            Assertions.assertTrue(LatencyHistogram.highestValue(index)
+                    - LatencyHistogram.lowestValue(index)
+                    <= value / 64);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        Assertions.assertEquals(0, histogram.getValueAt(100));
+    }
+
+    @Test
+    void testNoop() {
+        QuestionMetrics noop = QuestionMetrics.noop();
+        Assertions.assertFalse(noop.isEnabled());
+        noop.record(Operation.READ, 1, 1, 1);
+        Assertions.assertTrue(new HistogramMetrics().isEnabled());
+    }
+
+    private static void assertNear(final Duration expected,
+                                   final Duration actual) {
+        Assertions.assertTrue(Math.abs(expected.toNanos() - actual.toNanos())
+                <= expected.toNanos() / 50, actual + " is not near "
+                + expected);
+    }
+}
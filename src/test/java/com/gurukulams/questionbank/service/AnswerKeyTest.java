@@ -0,0 +1,103 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class AnswerKeyTest {
+
+    private static final UUID A = UUID.randomUUID();
+    private static final UUID B = UUID.randomUUID();
+    private static final UUID C = UUID.randomUUID();
+    private static final UUID D = UUID.randomUUID();
+
+    @Test
+    void testChooseTheBest() {
+        AnswerKey answerKey = AnswerKey.of(question(
+                QuestionType.CHOOSE_THE_BEST,
+                choice(A, true), choice(B, false)));
+        Assertions.assertTrue(answerKey.isCorrect(A.toString()));
+        Assertions.assertFalse(answerKey.isCorrect(B.toString()));
+        Assertions.assertFalse(answerKey.isCorrect(
+                A.toString().toUpperCase()));
+        Assertions.assertFalse(answerKey.isCorrect(
+                A.toString().replace('-', '_')));
+        Assertions.assertFalse(answerKey.isCorrect(A + "," + B));
+        Assertions.assertFalse(answerKey.isCorrect(""));
+        Assertions.assertFalse(answerKey.isCorrect(null));
+    }
+
+    @Test
+    void testMultiChoice() {
+        AnswerKey answerKey = AnswerKey.of(question(
+                QuestionType.MULTI_CHOICE,
+                choice(A, true), choice(B, false), choice(C, true)));
+        Assertions.assertTrue(answerKey.isCorrect(A + "," + C));
+        Assertions.assertTrue(answerKey.isCorrect(C + "," + A));
+        Assertions.assertFalse(answerKey.isCorrect(A + "," + A));
+        Assertions.assertFalse(answerKey.isCorrect(A + "," + B));
+        Assertions.assertFalse(answerKey.isCorrect(A + ";" + C));
+        Assertions.assertFalse(answerKey.isCorrect(A.toString()));
+
+        // More answers than a bit mask holds
+        List<QuestionChoice> choices = IntStream.range(0, 70)
+                .mapToObj(i -> choice(UUID.randomUUID(), true))
+                .toList();
+        answerKey = AnswerKey.of(question(QuestionType.MULTI_CHOICE,
+                choices.toArray(QuestionChoice[]::new)));
+        String answer = choices.stream()
+                .map(choice -> choice.id().toString())
+                .collect(Collectors.joining(","));
+        Assertions.assertTrue(answerKey.isCorrect(answer));
+        Assertions.assertFalse(answerKey.isCorrect(answer.replace(
+                choices.get(1).id().toString(),
+                choices.get(0).id().toString())));
+    }
+
+    @Test
+    void testMatchTheFollowing() {
+        Question question = question(QuestionType.MATCH_THE_FOLLOWING,
+                choice(A, false), choice(B, false));
+        question.setMatches(new ArrayList<>(List.of(choice(C, false),
+                choice(D, false), choice(UUID.randomUUID(), false))));
+        AnswerKey answerKey = AnswerKey.of(question);
+        Assertions.assertTrue(answerKey.isCorrect(
+                A + "," + B + "," + C + "," + D));
+        Assertions.assertFalse(answerKey.isCorrect(
+                A + "," + B + "," + D + "," + C));
+        Assertions.assertFalse(answerKey.isCorrect(A + "," + B));
+    }
+
+    @Test
+    void testNoKey() {
+        Assertions.assertFalse(AnswerKey.of(question(
+                QuestionType.CHOOSE_THE_BEST, choice(A, false)))
+                .isCorrect(A.toString()));
+        Question question = question(QuestionType.SINGLE_LINE);
+        question.setAnswer("Answer");
+        Assertions.assertFalse(AnswerKey.of(question).isCorrect("Answer"));
+        Assertions.assertEquals(QuestionType.SINGLE_LINE,
+                AnswerKey.of(question).type());
+    }
+
+    private static Question question(final QuestionType type,
+                                     final QuestionChoice... choices) {
+        Question question = new Question();
+        question.setType(type);
+        question.setChoices(new ArrayList<>(List.of(choices)));
+        return question;
+    }
+
+    private static QuestionChoice choice(final UUID id,
+                                         final boolean isAnswer) {
+        return new QuestionChoice(id, null, id.toString(), isAnswer);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.ImportResult;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class BulkImportTest {
+
+    private static final int NO_OF_QUESTIONS = 2500;
+
+    private static final int INVALID_EVERY = 100;
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final MatchTheFollowingTest matchTheFollowing =
+            new MatchTheFollowingTest();
+
+    private final MultiChoiceTest multiChoice = new MultiChoiceTest();
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testCreateAll() throws SQLException {
+        ImportResult result = questionService.createAll(List.of("c1", "c2"),
+                Locale.GERMAN, OWNER_USER,
+                IntStream.range(0, NO_OF_QUESTIONS).mapToObj(this::question));
+
+        int invalid = NO_OF_QUESTIONS / INVALID_EVERY;
+        Assertions.assertEquals(NO_OF_QUESTIONS - invalid,
+                result.getCreated());
+        Assertions.assertEquals(invalid, result.getViolations().size());
+        Assertions.assertEquals(Set.of(0, 100, 200),
+                Set.copyOf(result.getViolations().keySet().stream()
+                        .limit(3).toList()));
+        Assertions.assertTrue(result.getThroughput() > 0);
+
+        List<Question> questions = questionService.list(OWNER_USER,
+                Locale.GERMAN, List.of("c1", "c2"));
+        Assertions.assertEquals(result.getCreated(), questions.size());
+        questions.forEach(question ->
+                Assertions.assertFalse(question.getChoices().isEmpty()));
+    }
+
+    @Test
+    void testImportParallelism() throws SQLException {
+        questionService.setImportParallelism(4);
+        ImportResult result = questionService.createAll(List.of("c1"),
+                null, OWNER_USER,
+                IntStream.range(0, NO_OF_QUESTIONS).mapToObj(this::question));
+
+        // violations are reported in the order of the import
+        Assertions.assertEquals(IntStream.range(0, NO_OF_QUESTIONS)
+                        .filter(index -> index % INVALID_EVERY == 0)
+                        .boxed().toList(),
+                List.copyOf(result.getViolations().keySet()));
+        Assertions.assertEquals(NO_OF_QUESTIONS
+                        - NO_OF_QUESTIONS / INVALID_EVERY,
+                result.getCreated());
+        Assertions.assertEquals(result.getCreated(), questionService.list(
+                OWNER_USER, null, List.of("c1")).size());
+
+        // failure to read the questions fails the import
+        Assertions.assertThrows(IllegalStateException.class, () ->
+                questionService.createAll(List.of("c1"), null, OWNER_USER,
+                        IntStream.range(0, NO_OF_QUESTIONS).mapToObj(index -> {
+                            if (index == NO_OF_QUESTIONS / 2) {
+                                throw new IllegalStateException("Unreadable");
+                            }
+                            return question(index);
+                        })));
+
+        // so does an error, rather than leaving the import waiting
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                Assertions.assertThrows(UnreadableError.class, () ->
+                        questionService.createAll(List.of("c1"), null,
+                                OWNER_USER, Stream.generate(() -> {
+                                    throw new UnreadableError();
+                                }))));
+
+        questionService.setImportParallelism(1);
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                questionService.setImportParallelism(0));
+    }
+
+    private static final class UnreadableError extends Error {
+    }
+
+    private Question question(final int index) {
+        if (index % INVALID_EVERY == 0) {
+            Question question = matchTheFollowing.getTestQuestion();
+            question.setMatches(null);
+            return question;
+        }
+        return index % 2 == 0
+                ? matchTheFollowing.getTestQuestion()
+                : multiChoice.getTestQuestion();
+    }
+}
@@ -0,0 +1,124 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class CategoryIndexTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final QuestionService indexedService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private CategoryIndex categoryIndex;
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        categoryIndex = CategoryIndex.load(TestUtil.getDataSource());
+        indexedService.setCategoryIndex(categoryIndex);
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testList() throws SQLException {
+        ChoseTheBestTest questions = new ChoseTheBestTest();
+        indexedService.createAll(List.of("c1", "c2"), null, OWNER_USER,
+                Stream.of(questions.getTestQuestion(),
+                        questions.getTestQuestion()));
+        indexedService.createAll(List.of("c2", "c3"), null, OWNER_USER,
+                Stream.of(questions.getTestQuestion()));
+        Question question = questions.getTestQuestion();
+        question = indexedService.create(List.of("c1", "c3"), null,
+                question.getType(), null, OWNER_USER, question).get();
+
+        Assertions.assertEquals(4, categoryIndex.size());
+        assertSameList(List.of("c1"), 3);
+        assertSameList(List.of("c2", "c1"), 2);
+        assertSameList(List.of("c3", "c1"), 1);
+        assertSameList(List.of("c1", "c2", "c3"), 0);
+        assertSameList(List.of("c4"), 0);
+
+        Assertions.assertEquals(Set.of(question.getId()),
+                new HashSet<>(categoryIndex.questionIds(
+                        List.of("c3", "c1"))));
+
+        indexedService.delete(question.getId(), question.getType());
+        Assertions.assertEquals(3, categoryIndex.size());
+        Assertions.assertTrue(categoryIndex
+                .questionIds(List.of("c3", "c1")).isEmpty());
+        assertSameList(List.of("c1"), 2);
+
+        // ordinal of the deleted question is given to the next one
+        Question next = questions.getTestQuestion();
+        indexedService.create(List.of("c3"), null, next.getType(), null,
+                OWNER_USER, next);
+        Assertions.assertEquals(4, categoryIndex.size());
+        Assertions.assertEquals(4, categoryIndex.capacity());
+        assertSameList(List.of("c3"), 2);
+
+        Assertions.assertEquals(
+                new HashSet<>(categoryIndex.questionIds(List.of("c2"))),
+                new HashSet<>(CategoryIndex.load(TestUtil.getDataSource())
+                        .questionIds(List.of("c2"))));
+
+        indexedService.delete();
+        Assertions.assertEquals(0, categoryIndex.size());
+    }
+
+    @Test
+    void testForEach() throws SQLException {
+        MultiChoiceTest questions = new MultiChoiceTest();
+        indexedService.createAll(List.of("c1", "c2"), Locale.GERMAN,
+                OWNER_USER, Stream.of(questions.getTestQuestion(),
+                        questions.getTestQuestion()));
+
+        List<UUID> expected = ids(questionService.list("NEW_USER",
+                Locale.GERMAN, List.of("c1", "c2")));
+        List<UUID> streamed = new ArrayList<>();
+        Assertions.assertEquals(2, indexedService.forEach("NEW_USER",
+                Locale.GERMAN, List.of("c1", "c2"),
+                q -> streamed.add(q.getId())));
+        Assertions.assertEquals(expected, streamed);
+        Assertions.assertEquals(0, indexedService.forEach("NEW_USER",
+                Locale.GERMAN, List.of("c3"), q -> { }));
+    }
+
+    private void assertSameList(final List<String> categories,
+                                final int expected) throws SQLException {
+        List<UUID> listed = ids(questionService.list(OWNER_USER, null,
+                categories));
+        Assertions.assertEquals(expected, listed.size());
+        Assertions.assertEquals(listed, ids(indexedService.list(OWNER_USER,
+                null, categories)));
+    }
+
+    private static List<UUID> ids(final List<Question> questions) {
+        return questions.stream().map(Question::getId).toList();
+    }
+}
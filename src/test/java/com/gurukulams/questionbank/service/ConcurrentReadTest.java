@@ -0,0 +1,73 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class ConcurrentReadTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final QuestionService concurrentService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    @BeforeEach
+    void before() throws SQLException {
+        concurrentService.setConcurrentReads(true);
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        concurrentService.setConcurrentReads(false);
+        questionService.delete();
+    }
+
+    @Test
+    void testRead() throws SQLException {
+        List<Question> questions = List.of(
+                new MatchTheFollowingTest().getTestQuestion(),
+                new MultiChoiceTest().getTestQuestion(),
+                new ChoseTheBestTest().getTestQuestion());
+        for (Question question : questions) {
+            Question created = questionService.create(List.of("c1"), null,
+                    question.getType(), Locale.GERMAN, OWNER_USER,
+                    question).get();
+            assertSameRead(created.getId(), null);
+            assertSameRead(created.getId(), Locale.GERMAN);
+        }
+
+        long connections = concurrentService.getConnectionCount();
+        Assertions.assertTrue(concurrentService.read(UUID.randomUUID(),
+                null).isEmpty());
+        // question, choices and matches on their own connections, all
+        // given back by the time the read returns
+        Assertions.assertEquals(connections + 3,
+                concurrentService.getConnectionCount());
+    }
+
+    private void assertSameRead(final UUID id, final Locale locale)
+            throws SQLException {
+        Question expected = questionService.read(id, locale).get();
+        Question actual = concurrentService.read(id, locale).get();
+        Assertions.assertEquals(expected.getQuestion(), actual.getQuestion());
+        Assertions.assertEquals(expected.getChoices(), actual.getChoices());
+        Assertions.assertEquals(expected.getMatches(), actual.getMatches());
+    }
+}
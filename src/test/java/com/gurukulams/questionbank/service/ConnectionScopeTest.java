@@ -0,0 +1,109 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class ConnectionScopeTest {
+
+    private final CountingDataSource dataSource =
+            new CountingDataSource(TestUtil.getDataSource());
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            dataSource);
+
+    private final AnswerService answerService =
+            new AnswerService(questionService);
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testOneConnectionPerOperation() throws SQLException {
+        MatchTheFollowingTest questions = new MatchTheFollowingTest();
+        Question question = questions.getTestQuestion();
+
+        Question created = assertOneConnection(() -> questionService.create(
+                List.of("c1"), null, question.getType(), Locale.GERMAN,
+                OWNER_USER, question).get());
+
+        assertOneConnection(() -> questionService.read(created.getId(),
+                Locale.GERMAN));
+        created.setQuestion("Updated");
+        assertOneConnection(() -> questionService.update(created.getType(),
+                created.getId(), Locale.GERMAN, created));
+        assertOneConnection(() -> questionService.list(OWNER_USER,
+                Locale.GERMAN, List.of("c1")));
+        assertOneConnection(() -> answerService.gradeExam(UUID.randomUUID(),
+                Map.of(created.getId(), questions.getCorrectAnswer(created))));
+        assertOneConnection(() -> {
+            questionService.delete(created.getId(), created.getType());
+            return null;
+        });
+
+        Assertions.assertEquals(questionService.getOperationCount(),
+                questionService.getConnectionCount());
+    }
+
+    @Test
+    void testScope() throws SQLException {
+        LongAdder connections = new LongAdder();
+        Connection closed;
+        try (ConnectionScope scope =
+                     new ConnectionScope(dataSource, connections)) {
+            Assertions.assertEquals(0, connections.sum());
+            final Connection connection = scope.getConnection();
+            connection.close();
+            Assertions.assertSame(connection, scope.getConnection());
+            Assertions.assertFalse(connection.isClosed());
+
+            Assertions.assertThrows(IllegalStateException.class, () ->
+                    scope.inTransaction(() -> {
+                        connection.createStatement().execute(
+                                "DELETE FROM question");
+                        throw new IllegalStateException("Rolled back");
+                    }));
+            Assertions.assertTrue(connection.getAutoCommit());
+            Assertions.assertEquals(Integer.valueOf(1),
+                    scope.inTransaction(() -> scope.inTransaction(() -> 1)));
+            closed = connection;
+        }
+        Assertions.assertTrue(closed.isClosed());
+        Assertions.assertEquals(1, connections.sum());
+    }
+
+    private <T> T assertOneConnection(final ConnectionScope.Work<T> work)
+            throws SQLException {
+        dataSource.reset();
+        long operations = questionService.getOperationCount();
+        T result = work.run();
+        Assertions.assertEquals(1, dataSource.getCount());
+        Assertions.assertEquals(operations + 1,
+                questionService.getOperationCount());
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.ExamResult;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class GradeExamTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final AnswerService answerService =
+            new AnswerService(questionService);
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testGradeExam() throws SQLException {
+        ChoseTheBestTest choseTheBest = new ChoseTheBestTest();
+        MultiChoiceTest multiChoice = new MultiChoiceTest();
+        MatchTheFollowingTest matchTheFollowing = new MatchTheFollowingTest();
+
+        Question chooseQuestion = create(choseTheBest.getTestQuestion());
+        Question multiQuestion = create(multiChoice.getTestQuestion());
+        Question matchQuestion = create(matchTheFollowing.getTestQuestion());
+
+        Map<UUID, String> answers = new LinkedHashMap<>();
+        answers.put(chooseQuestion.getId(),
+                choseTheBest.getCorrectAnswer(chooseQuestion));
+        answers.put(multiQuestion.getId(),
+                multiChoice.getWrongAnswers(multiQuestion).get(0));
+        answers.put(matchQuestion.getId(),
+                matchTheFollowing.getCorrectAnswer(matchQuestion));
+        answers.put(UUID.randomUUID(), "unknown");
+
+        UUID examId = UUID.randomUUID();
+        ExamResult result = answerService.gradeExam(examId, answers);
+
+        Assertions.assertEquals(examId, result.getExamId());
+        Assertions.assertEquals(2, result.getScore());
+        Assertions.assertEquals(List.of(true, false, true, false),
+                List.copyOf(result.getResults().values()));
+        Assertions.assertEquals(List.copyOf(answers.keySet()),
+                List.copyOf(result.getResults().keySet()));
+        Assertions.assertEquals(3, countAnswers(examId));
+    }
+
+    @Test
+    void testGradeLongMatchAnswer() throws SQLException {
+        MatchTheFollowingTest matchTheFollowing = new MatchTheFollowingTest();
+        Question question = matchTheFollowing.getTestQuestion();
+        List<QuestionChoice> choices = new ArrayList<>();
+        List<QuestionChoice> matches = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            choices.add(new QuestionChoice(null, null, "Choice " + i, false));
+            matches.add(new QuestionChoice(null, null, "Match " + i, false));
+        }
+        question.setChoices(choices);
+        question.setMatches(matches);
+        question = create(question);
+
+        // 16 ids, well beyond the 500 characters answers once had
+        String answer = matchTheFollowing.getCorrectAnswer(question);
+        Assertions.assertTrue(answer.length() > 500);
+
+        UUID examId = UUID.randomUUID();
+        ExamResult result = answerService.gradeExam(examId,
+                Map.of(question.getId(), answer));
+        Assertions.assertEquals(1, result.getScore());
+        Assertions.assertEquals(1, countAnswers(examId));
+    }
+
+    @Test
+    void testGradeExamLoadsKeys() throws SQLException {
+        ChoseTheBestTest choseTheBest = new ChoseTheBestTest();
+        Question question = create(choseTheBest.getTestQuestion());
+
+        // A fresh service has no answer keys indexed
+        AnswerService freshService = new AnswerService(new QuestionService(
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                TestUtil.questionBankManager(),
+                TestUtil.getDataSource()));
+        ExamResult result = freshService.gradeExam(UUID.randomUUID(),
+                Map.of(question.getId(),
+                        choseTheBest.getCorrectAnswer(question)));
+        Assertions.assertEquals(1, result.getScore());
+    }
+
+    private Question create(final Question question) throws SQLException {
+        return questionService.create(List.of("c1"), null,
+                question.getType(), null, OWNER_USER, question).get();
+    }
+
+    private int countAnswers(final UUID examId) throws SQLException {
+        try (Connection connection = TestUtil.getDataSource()
+                .getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM answer WHERE exam_id = ?")) {
+            statement.setObject(1, examId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+/**
+ * Compares round trips of the batched list against loading questions
+ * one by one.
+ */
+class ListRoundTripTest {
+
+    private static final int NO_OF_QUESTIONS = 50;
+
+    private static final List<String> CATEGORIES = List.of("c1", "c2");
+
+    private final CountingDataSource dataSource =
+            new CountingDataSource(TestUtil.getDataSource());
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            dataSource);
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testListRoundTrips() throws SQLException {
+        testListRoundTrips(null);
+        testListRoundTrips(Locale.GERMAN);
+    }
+
+    private void testListRoundTrips(final Locale locale) throws SQLException {
+        MatchTheFollowingTest questions = new MatchTheFollowingTest();
+        for (int i = 0; i < NO_OF_QUESTIONS; i++) {
+            Question question = questions.getTestQuestion();
+            questionService.create(CATEGORIES, null, question.getType(),
+                    locale, OWNER_USER, question);
+        }
+
+        dataSource.reset();
+        List<Question> listed = questionService.list(OWNER_USER, locale,
+                CATEGORIES);
+        int batchedRoundTrips = dataSource.getStatementCount();
+        int batchedConnections = dataSource.getCount();
+
+        dataSource.reset();
+        for (Question question : listed) {
+            questionService.read(question.getId(), locale);
+        }
+        int loopRoundTrips = dataSource.getStatementCount();
+        int loopConnections = dataSource.getCount();
+
+        // questions + choices + matches
+        Assertions.assertEquals(3, batchedRoundTrips);
+        Assertions.assertEquals(NO_OF_QUESTIONS * 3, loopRoundTrips);
+        // one connection per operation
+        Assertions.assertEquals(1, batchedConnections);
+        Assertions.assertEquals(NO_OF_QUESTIONS, loopConnections);
+        listed.forEach(question -> {
+            Assertions.assertEquals(4, question.getChoices().size());
+            Assertions.assertEquals(4, question.getMatches().size());
+        });
+        questionService.delete();
+    }
+}
@@ -0,0 +1,186 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+/**
+ * Proves that the locale fallback join gives what the NOT IN based
+ * queries used to give.
+ */
+class LocalizationQueryTest {
+
+    private static final String LEGACY_QUESTION_QUERY = """
+            SELECT CASE WHEN ql.LOCALE = ?
+                   THEN ql.question ELSE q.question END AS question,
+                   CASE WHEN ql.LOCALE = ?
+                   THEN ql.explanation ELSE q.explanation
+                   END AS explanation
+            FROM question q
+            LEFT JOIN question_localized ql ON q.ID = ql.QUESTION_ID
+            WHERE q.id = ?
+            AND (ql.LOCALE IS NULL OR ql.LOCALE = ? OR q.ID NOT IN (
+                SELECT question_id
+                FROM question_localized
+                WHERE QUESTION_ID = q.ID AND LOCALE = ?
+            ))
+            """;
+
+    private static final String LEGACY_CHOICE_QUERY = """
+            SELECT id,
+                   CASE WHEN qcl.LOCALE = ?
+                   THEN qcl.c_value ELSE qc.c_value END AS c_value
+            FROM question_choice qc
+            LEFT JOIN question_choice_localized qcl ON qc.ID = qcl.choice_id
+            WHERE question_id = ? AND ( qcl.LOCALE IS NULL OR
+            qcl.LOCALE = ? OR qc.ID NOT IN (SELECT choice_id FROM
+            question_choice_localized WHERE choice_id=qc.ID AND LOCALE = ?))
+            """;
+
+    private static final List<Locale> LOCALES = Arrays.asList(null,
+            Locale.GERMAN, Locale.FRENCH, Locale.of("ta"));
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final MatchTheFollowingTest questions =
+            new MatchTheFollowingTest();
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testLocaleFallback() throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        // Not localized, localized in one and in two locales
+        ids.add(create(List.of()));
+        ids.add(create(List.of(Locale.GERMAN)));
+        ids.add(create(List.of(Locale.FRENCH)));
+        ids.add(create(List.of(Locale.GERMAN, Locale.FRENCH)));
+
+        for (Locale locale : LOCALES) {
+            List<Question> listed = questionService.list(OWNER_USER, locale,
+                    List.of("c1"));
+            Assertions.assertEquals(ids.size(), listed.size());
+            for (UUID id : ids) {
+                Question question = questionService.read(id, locale).get();
+                Question listedQuestion = listed.stream()
+                        .filter(q -> q.getId().equals(id))
+                        .findFirst().get();
+                Assertions.assertEquals(question.getQuestion(),
+                        listedQuestion.getQuestion());
+                Assertions.assertEquals(question.getChoices(),
+                        listedQuestion.getChoices());
+                if (locale != null) {
+                    Assertions.assertEquals(legacyQuestion(id, locale),
+                            Set.of(List.of(question.getQuestion(),
+                                    question.getExplanation())));
+                    List<QuestionChoice> choices = new ArrayList<>(
+                            question.getChoices());
+                    choices.addAll(question.getMatches());
+                    Assertions.assertEquals(legacyChoices(id, locale),
+                            choices.stream()
+                                    .map(choice -> List.of(
+                                            choice.id().toString(),
+                                            choice.cValue()))
+                                    .collect(Collectors.toSet()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a question localized in given locales, each with its own
+     * text.
+     */
+    private UUID create(final List<Locale> locales) throws SQLException {
+        Question question = questions.getTestQuestion();
+        question = questionService.create(List.of("c1"), null,
+                question.getType(), null, OWNER_USER, question).get();
+        for (Locale locale : locales) {
+            question.setQuestion("Question in " + locale);
+            question.setExplanation("Explanation in " + locale);
+            question.getChoices().replaceAll(choice ->
+                    choice.withCValue(choice.cValue() + " in " + locale));
+            questionService.update(question.getType(), question.getId(),
+                    locale, question);
+        }
+        return question.getId();
+    }
+
+    private Set<List<String>> legacyQuestion(final UUID id,
+                                             final Locale locale)
+            throws SQLException {
+        try (Connection connection = TestUtil.getDataSource()
+                .getConnection();
+             PreparedStatement statement = connection
+                     .prepareStatement(LEGACY_QUESTION_QUERY)) {
+            statement.setString(1, locale.getLanguage());
+            statement.setString(2, locale.getLanguage());
+            statement.setObject(3, id);
+            statement.setString(4, locale.getLanguage());
+            statement.setString(5, locale.getLanguage());
+            return rows(statement);
+        }
+    }
+
+    private Set<List<String>> legacyChoices(final UUID id,
+                                            final Locale locale)
+            throws SQLException {
+        try (Connection connection = TestUtil.getDataSource()
+                .getConnection();
+             PreparedStatement statement = connection
+                     .prepareStatement(LEGACY_CHOICE_QUERY)) {
+            statement.setString(1, locale.getLanguage());
+            statement.setObject(2, id);
+            statement.setString(3, locale.getLanguage());
+            statement.setString(4, locale.getLanguage());
+            return rows(statement);
+        }
+    }
+
+    /**
+     * Distinct rows; the legacy queries repeat a row for every other
+     * locale a question is localized in.
+     */
+    private static Set<List<String>> rows(final PreparedStatement statement)
+            throws SQLException {
+        Set<List<String>> rows = new HashSet<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows.add(List.of(resultSet.getString(1),
+                        resultSet.getString(2)));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,108 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.metrics.HistogramMetrics;
+import com.gurukulams.questionbank.metrics.Operation;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class MetricsTest {
+
+    private final CountingDataSource dataSource =
+            new CountingDataSource(TestUtil.getDataSource());
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            dataSource);
+
+    private final AnswerService answerService =
+            new AnswerService(questionService);
+
+    private final HistogramMetrics metrics = new HistogramMetrics();
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        questionService.setMetrics(metrics);
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.setMetrics(null);
+        questionService.dropSnapshot();
+        questionService.delete();
+    }
+
+    @Test
+    void testOperations() throws SQLException {
+        MatchTheFollowingTest questions = new MatchTheFollowingTest();
+        Question question = questions.getTestQuestion();
+        Question created = questionService.create(List.of("c1"), null,
+                question.getType(), Locale.GERMAN, OWNER_USER,
+                question).get();
+        Assertions.assertEquals(1, metrics.getCount(Operation.CREATE));
+        Assertions.assertEquals(1, metrics.getCount(Operation.VALIDATE));
+        Assertions.assertTrue(metrics.getStatementCount(Operation.CREATE)
+                > 0);
+
+        dataSource.reset();
+        questionService.read(created.getId(), Locale.GERMAN);
+        Assertions.assertEquals(1, metrics.getCount(Operation.READ));
+        // the question, its choices and its match pairs
+        Assertions.assertEquals(dataSource.getStatementCount(),
+                metrics.getStatementCount(Operation.READ));
+        Assertions.assertEquals(1 + created.getChoices().size()
+                        + 2 * created.getMatches().size(),
+                metrics.getRowCount(Operation.READ));
+        Assertions.assertTrue(metrics.getLatency(Operation.READ, 50)
+                .toNanos() > 0);
+
+        questionService.list(OWNER_USER, null, List.of("c1"));
+        answerService.answer(created.getId(), "wrong");
+        answerService.gradeExam(UUID.randomUUID(), Map.of(created.getId(),
+                questions.getCorrectAnswer(created)));
+        questionService.createAll(List.of("c1"), null, OWNER_USER,
+                Stream.of(questions.getTestQuestion(), new Question()));
+        Assertions.assertEquals(1, metrics.getCount(Operation.LIST));
+        Assertions.assertEquals(1, metrics.getCount(Operation.ANSWER));
+        Assertions.assertEquals(1, metrics.getCount(Operation.GRADE_EXAM));
+        Assertions.assertEquals(1, metrics.getCount(Operation.CREATE_ALL));
+        // answer key of answer is reused; only answers are inserted
+        Assertions.assertEquals(1,
+                metrics.getStatementCount(Operation.GRADE_EXAM));
+        Assertions.assertEquals(3, metrics.getCount(Operation.VALIDATE));
+
+        // served from snapshot without statements
+        long statements = metrics.getStatementCount(Operation.READ);
+        questionService.snapshot(List.of("c1"));
+        questionService.read(created.getId(), null);
+        Assertions.assertEquals(2, metrics.getCount(Operation.READ));
+        Assertions.assertEquals(statements,
+                metrics.getStatementCount(Operation.READ));
+        Assertions.assertTrue(metrics.dump().contains("SNAPSHOT"));
+    }
+
+    @Test
+    void testNoMetrics() throws SQLException {
+        questionService.setMetrics(null);
+        questionService.list(OWNER_USER, null, List.of("c1"));
+        Assertions.assertEquals(0, metrics.getCount(Operation.LIST));
+        Assertions.assertFalse(questionService.probe(Operation.LIST)
+                .isActive());
+    }
+}
@@ -0,0 +1,103 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionPage;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class PaginationTest {
+
+    private static final int NO_OF_QUESTIONS = 1234;
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final List<String> CATEGORIES = List.of("c1", "c2");
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        MatchTheFollowingTest questions = new MatchTheFollowingTest();
+        questionService.createAll(CATEGORIES, Locale.GERMAN, OWNER_USER,
+                IntStream.range(0, NO_OF_QUESTIONS)
+                        .mapToObj(i -> questions.getTestQuestion()));
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testPages() throws SQLException {
+        List<UUID> expected = questionService.list(OWNER_USER, Locale.GERMAN,
+                CATEGORIES).stream().map(Question::getId).toList();
+
+        List<UUID> paged = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String token = null;
+        do {
+            QuestionPage page = questionService.list("NEW_USER",
+                    Locale.GERMAN, CATEGORIES, token, PAGE_SIZE);
+            page.getQuestions().forEach(question -> {
+                Assertions.assertNull(question.getAnswer());
+                Assertions.assertEquals(4, question.getMatches().size());
+                paged.add(question.getId());
+            });
+            pageSizes.add(page.getQuestions().size());
+            token = page.getContinuationToken();
+        } while (token != null);
+
+        Assertions.assertEquals(List.of(500, 500, 234), pageSizes);
+        Assertions.assertEquals(expected, paged);
+    }
+
+    @Test
+    void testForEach() throws SQLException {
+        List<UUID> expected = questionService.list(OWNER_USER, null,
+                CATEGORIES).stream().map(Question::getId).toList();
+
+        List<UUID> streamed = new ArrayList<>();
+        long count = questionService.forEach(OWNER_USER, null, CATEGORIES,
+                question -> {
+                    Assertions.assertEquals(4, question.getChoices().size());
+                    streamed.add(question.getId());
+                });
+
+        Assertions.assertEquals(NO_OF_QUESTIONS, count);
+        Assertions.assertEquals(expected, streamed);
+
+        Assertions.assertEquals(NO_OF_QUESTIONS,
+                questionService.forEach("NEW_USER", Locale.GERMAN,
+                        CATEGORIES, question -> { }));
+    }
+
+    @Test
+    void testInvalidPage() {
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                questionService.list(OWNER_USER, null, CATEGORIES, null, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                questionService.list(OWNER_USER, null, CATEGORIES,
+                        "invalid", 10));
+        UUID id = UUID.randomUUID();
+        Assertions.assertEquals(id,
+                QuestionPage.decode(QuestionPage.encode(id)));
+    }
+}
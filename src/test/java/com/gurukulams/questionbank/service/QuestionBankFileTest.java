@@ -0,0 +1,173 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class QuestionBankFileTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final QuestionService fileService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        List<Question> questions = List.of(
+                new MatchTheFollowingTest().getTestQuestion(),
+                new MultiChoiceTest().getTestQuestion(),
+                new ChoseTheBestTest().getTestQuestion());
+        for (Question question : questions) {
+            ids.add(questionService.create(List.of("c1", "c2"), null,
+                    question.getType(), null, OWNER_USER,
+                    question).get().getId());
+        }
+        Question localized = questionService.read(ids.get(0), null).get();
+        localized.setQuestion("Localized " + localized.getQuestion());
+        questionService.update(localized.getType(), ids.get(0),
+                Locale.GERMAN, localized);
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        fileService.setBankFile(null);
+        questionService.delete();
+    }
+
+    @Test
+    void testRead() throws SQLException, IOException {
+        Path file = directory.resolve("bank.qb");
+        questionService.export(file, List.of("c1"));
+
+        try (QuestionBankFile bankFile = QuestionBankFile.open(file)) {
+            Assertions.assertEquals(ids.size(), bankFile.size());
+            Assertions.assertEquals(file, bankFile.getPath());
+            fileService.setBankFile(bankFile);
+
+            long operations = fileService.getOperationCount();
+            for (UUID id : ids) {
+                for (Locale locale : new Locale[] {null, Locale.GERMAN,
+                        Locale.FRENCH}) {
+                    assertSame(questionService.read(id, locale).get(),
+                            fileService.read(id, locale).get());
+                }
+                Assertions.assertEquals(List.of("c1", "c2"),
+                        bankFile.categories(id));
+                Assertions.assertNotNull(fileService.answerKey(Probe.NONE, id));
+            }
+            Assertions.assertEquals("Localized",
+                    fileService.read(ids.get(0), Locale.GERMAN).get()
+                            .getQuestion().split(" ")[0]);
+            // served without touching the database
+            Assertions.assertEquals(operations,
+                    fileService.getOperationCount());
+
+            UUID unknown = UUID.randomUUID();
+            Assertions.assertTrue(bankFile.categories(unknown).isEmpty());
+            Assertions.assertTrue(fileService.read(unknown, null).isEmpty());
+            Assertions.assertEquals(operations + 1,
+                    fileService.getOperationCount());
+        }
+    }
+
+    @Test
+    void testWriteDuringExport() throws SQLException, IOException {
+        CountingDataSource dataSource =
+                new CountingDataSource(TestUtil.getDataSource());
+        QuestionService exportService = new QuestionService(
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                TestUtil.questionBankManager(),
+                dataSource);
+        Question deleted = questionService.read(ids.get(0), null).get();
+        AtomicBoolean written = new AtomicBoolean();
+        // the question is deleted after it is read, before its choices
+        dataSource.setOnPrepare(sql -> {
+            if (sql.contains("question_choice")
+                    && written.compareAndSet(false, true)) {
+                try {
+                    questionService.delete(deleted.getId(),
+                            deleted.getType());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        Path file = directory.resolve("bank.qb");
+        exportService.export(file, List.of("c1"));
+        Assertions.assertTrue(written.get());
+        Assertions.assertTrue(questionService.read(deleted.getId(), null)
+                .isEmpty());
+
+        // the file holds the bank as it was when the export started
+        try (QuestionBankFile bankFile = QuestionBankFile.open(file)) {
+            Assertions.assertEquals(ids.size(), bankFile.size());
+            Assertions.assertEquals(List.of("c1", "c2"),
+                    bankFile.categories(deleted.getId()));
+            fileService.setBankFile(bankFile);
+            assertSame(deleted, fileService.read(deleted.getId(), null)
+                    .get());
+        }
+    }
+
+    @Test
+    void testEmpty() throws SQLException, IOException {
+        Path file = directory.resolve("empty.qb");
+        questionService.export(file, List.of("c3"));
+        try (QuestionBankFile bankFile = QuestionBankFile.open(file)) {
+            Assertions.assertEquals(0, bankFile.size());
+            fileService.setBankFile(bankFile);
+            Assertions.assertEquals(ids.get(0),
+                    fileService.read(ids.get(0), null).get().getId());
+        }
+    }
+
+    @Test
+    void testInvalid() throws IOException {
+        Path file = Files.writeString(directory.resolve("invalid.qb"),
+                "Not a question bank");
+        Assertions.assertThrows(IOException.class, () ->
+                QuestionBankFile.open(file));
+    }
+
+    private void assertSame(final Question expected, final Question actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.getQuestion(), actual.getQuestion());
+        Assertions.assertEquals(expected.getExplanation(),
+                actual.getExplanation());
+        Assertions.assertEquals(expected.getAnswer(), actual.getAnswer());
+        Assertions.assertEquals(expected.getCreatedAt(),
+                actual.getCreatedAt());
+        Assertions.assertEquals(expected.getChoices(), actual.getChoices());
+        Assertions.assertEquals(expected.getMatches(), actual.getMatches());
+    }
+}
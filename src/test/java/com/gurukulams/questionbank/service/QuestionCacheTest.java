@@ -0,0 +1,112 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class QuestionCacheTest {
+
+    private final CountingDataSource dataSource =
+            new CountingDataSource(TestUtil.getDataSource());
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            dataSource);
+
+    private final QuestionCache cache = new QuestionCache(2);
+
+    private final MatchTheFollowingTest questions =
+            new MatchTheFollowingTest();
+
+    QuestionCacheTest() {
+        questionService.setCache(cache);
+    }
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testReadThrough() throws SQLException {
+        Question question = create(Locale.GERMAN);
+
+        Question read = questionService.read(question.getId(), Locale.GERMAN)
+                .get();
+        dataSource.reset();
+        Question cached = questionService.read(question.getId(),
+                Locale.GERMAN).get();
+
+        Assertions.assertEquals(0, dataSource.getCount());
+        Assertions.assertEquals(1, cache.hitCount());
+        Assertions.assertEquals(1, cache.missCount());
+        Assertions.assertNotSame(read, cached);
+        Assertions.assertEquals(read.getQuestion(), cached.getQuestion());
+        Assertions.assertEquals(read.getChoices(), cached.getChoices());
+        Assertions.assertEquals(read.getMatches(), cached.getMatches());
+
+        // Locales are cached independently
+        questionService.read(question.getId(), null);
+        Assertions.assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    void testInvalidation() throws SQLException {
+        Question question = create(null);
+        questionService.read(question.getId(), null);
+
+        question.setQuestion("Updated");
+        questionService.update(question.getType(), question.getId(), null,
+                question);
+        Assertions.assertEquals("Updated",
+                questionService.read(question.getId(), null)
+                        .get().getQuestion());
+
+        questionService.delete(question.getId(), question.getType());
+        Assertions.assertTrue(questionService.read(question.getId(), null)
+                .isEmpty());
+
+        question = create(null);
+        questionService.read(question.getId(), null);
+        questionService.delete();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEviction() throws SQLException {
+        for (int i = 0; i < 3; i++) {
+            questionService.read(create(null).getId(), null);
+        }
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void testInvalidSize() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new QuestionCache(0));
+    }
+
+    private Question create(final Locale locale) throws SQLException {
+        Question question = questions.getTestQuestion();
+        return questionService.create(List.of("c1"), null,
+                question.getType(), locale, OWNER_USER, question).get();
+    }
+}
@@ -0,0 +1,181 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class QuestionDiffTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testMinimalStatements() throws SQLException {
+        Question question = create(null);
+
+        Assertions.assertEquals(0, update(question, null));
+
+        // Typo in one choice: the choice and modified_at of question
+        List<QuestionChoice> choices = new ArrayList<>(question.getChoices());
+        UUID fixed = choices.get(1).id();
+        choices.set(1, choices.get(1).withCValue("Typo Fixed"));
+        question.setChoices(choices);
+        Assertions.assertEquals(2, update(question, null));
+        Assertions.assertTrue(read(question, null).getChoices().stream()
+                .anyMatch(choice -> choice.id().equals(fixed)
+                        && choice.cValue().equals("Typo Fixed")));
+
+        question.setExplanation("Explained");
+        Assertions.assertEquals(1, update(question, null));
+
+        Assertions.assertEquals(4, questionService.getUpdateCount());
+        Assertions.assertEquals(3,
+                questionService.getUpdateStatementCount());
+    }
+
+    @Test
+    void testMatches() throws SQLException {
+        Question question = create(null);
+        UUID removed = question.getMatches().get(0).id();
+
+        // Reordered matches are a choice_id update each
+        List<QuestionChoice> matches = new ArrayList<>(question.getMatches());
+        matches.set(0, question.getMatches().get(1));
+        matches.set(1, question.getMatches().get(0));
+        question.setMatches(matches);
+        Assertions.assertEquals(3, update(question, null));
+        Assertions.assertEquals(ids(matches),
+                ids(read(question, null).getMatches()));
+        Assertions.assertEquals(pairs(question),
+                pairs(read(question, null)));
+
+        // An updated choice keeps its match, wherever its row is moved
+        List<QuestionChoice> choices = new ArrayList<>(question.getChoices());
+        QuestionChoice first = choices.get(0);
+        choices.set(0, new QuestionChoice(first.id(), first.questionId(),
+                "Updated", first.isAnswer()));
+        question.setChoices(choices);
+        update(question, null);
+        Assertions.assertEquals(pairs(question),
+                pairs(read(question, null)));
+
+        // Replaced match removes the choice, its localized and match row
+        matches.set(1, new QuestionChoice(null, null, "New", false));
+        Assertions.assertEquals(6, update(question, null));
+        Question read = read(question, null);
+        Assertions.assertTrue(read.getMatches().stream()
+                .noneMatch(match -> match.id().equals(removed)));
+        Assertions.assertTrue(read.getMatches().stream()
+                .anyMatch(match -> match.cValue().equals("New")));
+        Assertions.assertEquals(question.getMatches().size(),
+                read.getMatches().size());
+        Assertions.assertEquals(pairs(question), pairs(read));
+    }
+
+    @Test
+    void testLocalized() throws SQLException {
+        Question question = create(null);
+        int choices = question.getChoices().size()
+                + question.getMatches().size();
+
+        // First update in a locale adds every localized row
+        Assertions.assertEquals(choices + 2,
+                update(question, Locale.GERMAN));
+        Assertions.assertEquals(0, update(question, Locale.GERMAN));
+
+        question.setQuestion("Frage");
+        Assertions.assertEquals(2, update(question, Locale.GERMAN));
+        Assertions.assertEquals("Frage",
+                read(question, Locale.GERMAN).getQuestion());
+        Assertions.assertNotEquals("Frage",
+                read(question, null).getQuestion());
+    }
+
+    @Test
+    void testUnknownMatch() throws SQLException {
+        Question question = create(null);
+        UUID unknown = UUID.randomUUID();
+
+        // A match not of the question is ignored, as unknown choices are
+        List<QuestionChoice> matches = new ArrayList<>(question.getMatches());
+        matches.set(0, new QuestionChoice(unknown, null, "Unknown", false));
+        question.setMatches(matches);
+        questionService.update(question.getType(), question.getId(), null,
+                question);
+        Question read = read(question, null);
+        Assertions.assertEquals(matches.size() - 1, read.getMatches().size());
+        Assertions.assertTrue(read.getMatches().stream()
+                .noneMatch(match -> match.id().equals(unknown)));
+    }
+
+    @Test
+    void testNotFound() throws SQLException {
+        Question question = create(null);
+        long updates = questionService.getUpdateCount();
+        Assertions.assertTrue(questionService.update(
+                QuestionType.MATCH_THE_FOLLOWING, UUID.randomUUID(), null,
+                question).isEmpty());
+        Assertions.assertEquals(updates, questionService.getUpdateCount());
+    }
+
+    private Question create(final Locale locale) throws SQLException {
+        Question question = new MatchTheFollowingTest().getTestQuestion();
+        return questionService.create(List.of("c1"), null,
+                question.getType(), locale, OWNER_USER, question).get();
+    }
+
+    private Question read(final Question question, final Locale locale)
+            throws SQLException {
+        return questionService.read(question.getId(), locale).get();
+    }
+
+    private static List<UUID> ids(final List<QuestionChoice> choices) {
+        return choices.stream().map(QuestionChoice::id).toList();
+    }
+
+    private static Map<String, String> pairs(final Question question) {
+        Map<String, String> pairs = new HashMap<>();
+        for (int i = 0; i < question.getChoices().size()
+                && i < question.getMatches().size(); i++) {
+            pairs.put(question.getChoices().get(i).cValue(),
+                    question.getMatches().get(i).cValue());
+        }
+        return pairs;
+    }
+
+    private long update(final Question question, final Locale locale)
+            throws SQLException {
+        long before = questionService.getUpdateStatementCount();
+        questionService.update(question.getType(), question.getId(),
+                locale, question);
+        return questionService.getUpdateStatementCount() - before;
+    }
+}
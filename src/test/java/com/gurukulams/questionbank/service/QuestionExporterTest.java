@@ -0,0 +1,121 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.ExportResult;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class QuestionExporterTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final List<Question> created = new ArrayList<>();
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        Question special = new ChoseTheBestTest().getTestQuestion();
+        special.setQuestion("Say \"Hello\"\n\tto\\ \u0001 வணக்கம்");
+        List<Question> questions = List.of(
+                new MatchTheFollowingTest().getTestQuestion(),
+                new MultiChoiceTest().getTestQuestion(),
+                special);
+        for (Question question : questions) {
+            created.add(questionService.create(List.of("c1", "c2"), null,
+                    question.getType(), Locale.GERMAN, OWNER_USER,
+                    question).get());
+        }
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testExport() throws SQLException, IOException {
+        StringWriter writer = new StringWriter();
+        ExportResult result = questionService.exportJson(writer);
+
+        Assertions.assertEquals(created.size(), result.getQuestions());
+        Assertions.assertTrue(result.getRows() > result.getQuestions());
+        Assertions.assertTrue(result.getRowsPerSecond() > 0);
+
+        String[] lines = writer.toString().split("\n");
+        Assertions.assertEquals(created.size(), lines.length);
+        List<UUID> ids = created.stream().map(Question::getId)
+                .sorted(QuestionSnapshot.ID_ORDER).toList();
+        for (int i = 0; i < lines.length; i++) {
+            Assertions.assertTrue(lines[i].startsWith("{\"id\":\""
+                    + ids.get(i) + "\""));
+            Assertions.assertTrue(lines[i].endsWith("]}"));
+            Assertions.assertTrue(lines[i]
+                    .contains("\"categories\":[\"c1\",\"c2\"]"));
+        }
+
+        for (Question question : created) {
+            String line = lineOf(lines, question.getId());
+            List<QuestionChoice> choices = new ArrayList<>(
+                    question.getChoices());
+            if (question.getMatches() != null) {
+                choices.addAll(question.getMatches());
+                Assertions.assertEquals(question.getMatches().size(),
+                        count(line, "\"matchId\""));
+            } else {
+                Assertions.assertTrue(line.endsWith("\"matches\":[]}"));
+            }
+            Assertions.assertEquals(choices.size(),
+                    count(line, "\"isAnswer\""));
+            for (QuestionChoice choice : choices) {
+                Assertions.assertTrue(line.contains("{\"id\":\""
+                        + choice.id() + "\""));
+            }
+            Assertions.assertTrue(line.contains("\"localized\":{\"de\":"));
+        }
+        Assertions.assertTrue(lineOf(lines, created.get(2).getId())
+                .contains("Say \\\"Hello\\\"\\n\\tto\\\\ \\u0001 வணக்கம்"));
+    }
+
+    @Test
+    void testEmpty() throws SQLException, IOException {
+        questionService.delete();
+        StringWriter writer = new StringWriter();
+        ExportResult result = questionService.exportJson(writer);
+        Assertions.assertEquals(0, result.getQuestions());
+        Assertions.assertEquals(0, result.getRows());
+        Assertions.assertEquals("", writer.toString());
+    }
+
+    private static String lineOf(final String[] lines, final UUID id) {
+        for (String line : lines) {
+            if (line.startsWith("{\"id\":\"" + id + "\"")) {
+                return line;
+            }
+        }
+        throw new AssertionError("No line of " + id);
+    }
+
+    private static int count(final String line, final String text) {
+        return line.split(Pattern.quote(text), -1).length
+                - 1;
+    }
+}
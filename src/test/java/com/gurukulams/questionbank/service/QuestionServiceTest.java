@@ -11,6 +11,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
@@ -144,6 +146,29 @@ abstract class QuestionServiceTest {
         testUpdate(question, Locale.GERMAN);
     }
 
+    @Test
+    void testCreateIsAtomic() throws SQLException {
+        Question crateQuestion = getTestQuestion();
+
+        // Category longer than the column fails the last insert
+        Assertions.assertThrows(SQLException.class, () ->
+                questionService.create(List.of("c1",
+                                "c".repeat(100)),
+                        null,
+                        crateQuestion.getType(),
+                        Locale.GERMAN,
+                        OWNER_USER,
+                        crateQuestion));
+
+        try (Connection connection = TestUtil.getDataSource()
+                .getConnection();
+             ResultSet resultSet = connection.createStatement()
+                     .executeQuery("SELECT COUNT(*) FROM question")) {
+            resultSet.next();
+            Assertions.assertEquals(0, resultSet.getInt(1));
+        }
+    }
+
     @Test
     void testDelete() throws SQLException {
         Question crateQuestion = getTestQuestion();
@@ -0,0 +1,160 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionPage;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class QuestionSnapshotTest {
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final QuestionService snapshotService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            TestUtil.getDataSource());
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    private UUID otherId;
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        List<Question> questions = List.of(
+                new MatchTheFollowingTest().getTestQuestion(),
+                new MultiChoiceTest().getTestQuestion(),
+                new ChoseTheBestTest().getTestQuestion());
+        for (Question question : questions) {
+            ids.add(questionService.create(List.of("c1", "c2"), null,
+                    question.getType(), null, OWNER_USER,
+                    question).get().getId());
+        }
+        for (UUID id : ids) {
+            Question question = questionService.read(id, null).get();
+            question.setQuestion("Localized " + question.getQuestion());
+            questionService.update(question.getType(), id, Locale.GERMAN,
+                    question);
+        }
+        Question other = new ChoseTheBestTest().getTestQuestion();
+        otherId = questionService.create(List.of("c3"), null,
+                other.getType(), null, OWNER_USER, other).get().getId();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        snapshotService.dropSnapshot();
+        questionService.delete();
+    }
+
+    @Test
+    void testRead() throws SQLException {
+        QuestionSnapshot snapshot = snapshotService.snapshot(List.of("c1"));
+        Assertions.assertEquals(ids.size(), snapshot.size());
+        Assertions.assertSame(snapshot, snapshotService.getSnapshot());
+
+        long operations = snapshotService.getOperationCount();
+        for (UUID id : ids) {
+            assertSame(questionService.read(id, null).get(),
+                    snapshotService.read(id, null).get());
+            assertSame(questionService.read(id, Locale.GERMAN).get(),
+                    snapshotService.read(id, Locale.GERMAN).get());
+            Assertions.assertNotNull(snapshotService.answerKey(Probe.NONE, id));
+        }
+        assertSameList(OWNER_USER, null);
+        assertSameList("NEW_USER", Locale.GERMAN);
+        QuestionPage page = snapshotService.list("NEW_USER", Locale.GERMAN,
+                List.of("c1"), null, 2);
+        Assertions.assertEquals(2, page.getQuestions().size());
+        page = snapshotService.list("NEW_USER", Locale.GERMAN,
+                List.of("c1"), page.getContinuationToken(), 2);
+        Assertions.assertEquals(1, page.getQuestions().size());
+        Assertions.assertNull(page.getContinuationToken());
+        Assertions.assertEquals(ids.size(), snapshotService.forEach(
+                OWNER_USER, null, List.of("c1", "c2"), question -> { }));
+        Assertions.assertTrue(snapshotService.list(OWNER_USER, null,
+                List.of("c1", "c3")).isEmpty());
+        // served without touching the database
+        Assertions.assertEquals(operations,
+                snapshotService.getOperationCount());
+
+        Assertions.assertTrue(snapshotService.read(otherId, null)
+                .isPresent());
+        Assertions.assertEquals(1, snapshotService.list(OWNER_USER, null,
+                List.of("c3")).size());
+        Assertions.assertEquals(operations + 2,
+                snapshotService.getOperationCount());
+    }
+
+    @Test
+    void testRefresh() throws SQLException {
+        Assertions.assertNull(snapshotService.refresh());
+        QuestionSnapshot snapshot = snapshotService.snapshot(List.of("c1"));
+
+        UUID id = ids.get(0);
+        Question question = questionService.read(id, null).get();
+        question.setQuestion("Changed");
+        questionService.update(question.getType(), id, null, question);
+        questionService.delete(ids.get(1),
+                questionService.read(ids.get(1), null).get().getType());
+
+        Assertions.assertNotEquals("Changed",
+                snapshotService.read(id, null).get().getQuestion());
+        Assertions.assertEquals(ids.size(), snapshotService.list(OWNER_USER,
+                null, List.of("c1")).size());
+
+        QuestionSnapshot refreshed = snapshotService.refresh();
+        Assertions.assertNotSame(snapshot, refreshed);
+        Assertions.assertEquals(snapshot.getCategories(),
+                refreshed.getCategories());
+        Assertions.assertEquals("Changed",
+                snapshotService.read(id, null).get().getQuestion());
+        Assertions.assertEquals(ids.size() - 1, snapshotService.list(
+                OWNER_USER, null, List.of("c1")).size());
+
+        snapshotService.dropSnapshot();
+        Assertions.assertNull(snapshotService.getSnapshot());
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                snapshotService.snapshot(List.of()));
+    }
+
+    private void assertSameList(final String userName, final Locale locale)
+            throws SQLException {
+        List<Question> expected = questionService.list(userName, locale,
+                List.of("c1", "c2"));
+        List<Question> actual = snapshotService.list(userName, locale,
+                List.of("c1", "c2"));
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    private void assertSame(final Question expected, final Question actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.getQuestion(), actual.getQuestion());
+        Assertions.assertEquals(expected.getExplanation(),
+                actual.getExplanation());
+        Assertions.assertEquals(expected.getAnswer(), actual.getAnswer());
+        Assertions.assertEquals(expected.getCreatedAt(),
+                actual.getCreatedAt());
+        Assertions.assertEquals(expected.getChoices(), actual.getChoices());
+        Assertions.assertEquals(expected.getMatches(), actual.getMatches());
+    }
+}
@@ -0,0 +1,109 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class QuestionValidatorTest {
+
+    private final QuestionValidator validator = new QuestionValidator(
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void testValid() {
+        for (QuestionType type : QuestionType.values()) {
+            Assertions.assertTrue(validator.validate(question(type))
+                    .isEmpty(), type.name());
+        }
+    }
+
+    @Test
+    void testText() {
+        Question question = question(QuestionType.SINGLE_LINE);
+        question.setQuestion(" ");
+        Set<ConstraintViolation<Question>> violations =
+                validator.validate(question);
+        Assertions.assertEquals(1, violations.size());
+        ConstraintViolation<Question> violation =
+                violations.iterator().next();
+        Assertions.assertEquals("question is mandatory",
+                violation.getMessage());
+        Assertions.assertEquals("question",
+                violation.getPropertyPath().toString());
+
+        // rules of the type are not checked
+        question.setQuestion(null);
+        question.setAnswer(null);
+        Assertions.assertEquals(Set.of("question is mandatory"),
+                messages(question));
+    }
+
+    @Test
+    void testRules() {
+        Question question = question(QuestionType.SINGLE_LINE);
+        question.setType(null);
+        Assertions.assertEquals(Set.of("Type is mandatory"),
+                messages(question));
+
+        question = question(QuestionType.CODE_JAVA);
+        question.setAnswer(null);
+        Assertions.assertEquals(Set.of("Answer should not be empty"),
+                messages(question));
+
+        question = question(QuestionType.MULTI_CHOICE);
+        question.setChoices(question.getChoices().subList(0, 1));
+        Assertions.assertEquals(Set.of("Minimum 2 choices"),
+                messages(question));
+        question.setChoices(List.of(choice("A", false),
+                choice("B", null)));
+        Assertions.assertEquals(
+                Set.of("At-least One Answer should be available"),
+                messages(question));
+
+        question = question(QuestionType.MATCH_THE_FOLLOWING);
+        question.setMatches(question.getMatches().subList(0, 1));
+        Assertions.assertEquals(Set.of("Not Enough Matches"),
+                messages(question));
+        question.setChoices(null);
+        question.setMatches(List.of());
+        Assertions.assertEquals(Set.of("No choices are provided",
+                "No matches are provided"), messages(question));
+    }
+
+    private Set<String> messages(final Question question) {
+        return validator.validate(question).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+    }
+
+    private static Question question(final QuestionType type) {
+        Question question = new Question();
+        question.setType(type);
+        question.setQuestion("Which one is an Object Oriented Language?");
+        switch (type) {
+            case CHOOSE_THE_BEST, MULTI_CHOICE -> question.setChoices(
+                    List.of(choice("Java", true), choice("C", false)));
+            case MATCH_THE_FOLLOWING -> {
+                question.setChoices(List.of(choice("Java", false),
+                        choice("C", false)));
+                question.setMatches(List.of(choice("Object Oriented", false),
+                        choice("System Language", false)));
+            }
+            default -> question.setAnswer("Java");
+        }
+        return question;
+    }
+
+    private static QuestionChoice choice(final String value,
+                                         final Boolean isAnswer) {
+        return new QuestionChoice(null, null, value, isAnswer);
+    }
+}
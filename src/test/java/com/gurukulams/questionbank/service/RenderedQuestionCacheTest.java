@@ -0,0 +1,160 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class RenderedQuestionCacheTest {
+
+    private final CountingDataSource dataSource =
+            new CountingDataSource(TestUtil.getDataSource());
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            dataSource);
+
+    private final RenderedQuestionCache cache = new RenderedQuestionCache(2);
+
+    private final ChoseTheBestTest questions = new ChoseTheBestTest();
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.delete();
+    }
+
+    @Test
+    void testRender() throws SQLException {
+        Question question = create(Locale.GERMAN);
+        String rendered = text(questionService.render(question.getId(),
+                Locale.GERMAN).get());
+
+        Assertions.assertTrue(rendered.startsWith("{\"id\":\""
+                + question.getId() + "\",\"type\":\"CHOOSE_THE_BEST\""));
+        Assertions.assertTrue(rendered.contains(question.getQuestion()));
+        question.getChoices().forEach(choice -> Assertions.assertTrue(
+                rendered.contains("{\"id\":\"" + choice.id()
+                        + "\",\"value\":")));
+        // answers are not rendered
+        Assertions.assertFalse(rendered.contains("answer"), rendered);
+        Assertions.assertTrue(rendered.endsWith("\"matches\":[]}"));
+
+        Assertions.assertTrue(questionService.render(UUID.randomUUID(),
+                null).isEmpty());
+    }
+
+    @Test
+    void testRenderMatches() throws SQLException {
+        Question question = new MatchTheFollowingTest().getTestQuestion();
+        question = questionService.create(List.of("c1"), null,
+                question.getType(), null, OWNER_USER, question).get();
+        String rendered = text(questionService.render(question.getId(),
+                null).get());
+        String matches = rendered.substring(
+                rendered.indexOf("\"matches\":"));
+
+        // matches are rendered in the order of ids, not of their pairs
+        List<UUID> ids = question.getMatches().stream()
+                .map(QuestionChoice::id)
+                .sorted()
+                .toList();
+        int from = 0;
+        for (UUID id : ids) {
+            int at = matches.indexOf(id.toString());
+            Assertions.assertTrue(at > from, rendered);
+            from = at;
+        }
+        question.getChoices().forEach(choice -> Assertions.assertFalse(
+                matches.contains(choice.id().toString())));
+        Assertions.assertFalse(rendered.contains("answer"), rendered);
+    }
+
+    @Test
+    void testReadThrough() throws SQLException {
+        questionService.setRenderedCache(cache);
+        Question question = create(Locale.GERMAN);
+
+        ByteBuffer rendered = questionService.render(question.getId(),
+                Locale.GERMAN).get();
+        dataSource.reset();
+        ByteBuffer cached = questionService.render(question.getId(),
+                Locale.GERMAN).get();
+
+        Assertions.assertEquals(0, dataSource.getCount());
+        Assertions.assertEquals(1, cache.hitCount());
+        Assertions.assertEquals(1, cache.missCount());
+        Assertions.assertEquals(rendered, cached);
+        Assertions.assertTrue(cached.isReadOnly());
+        Assertions.assertThrows(ReadOnlyBufferException.class, () ->
+                cached.put(0, (byte) 0));
+
+        // reading a buffer leaves the cached rendering as it is
+        text(cached);
+        Assertions.assertEquals(rendered, questionService.render(
+                question.getId(), Locale.GERMAN).get());
+
+        // Locales are cached independently
+        questionService.render(question.getId(), null);
+        Assertions.assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    void testInvalidation() throws SQLException {
+        questionService.setRenderedCache(cache);
+        Question question = create(null);
+        questionService.render(question.getId(), null);
+
+        question.setQuestion("Updated");
+        questionService.update(question.getType(), question.getId(), null,
+                question);
+        Assertions.assertTrue(text(questionService.render(question.getId(),
+                null).get()).contains("\"question\":\"Updated\""));
+
+        questionService.delete(question.getId(), question.getType());
+        Assertions.assertTrue(questionService.render(question.getId(), null)
+                .isEmpty());
+
+        for (int i = 0; i < 3; i++) {
+            questionService.render(create(null).getId(), null);
+        }
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.evictionCount());
+        questionService.delete();
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new RenderedQuestionCache(0));
+    }
+
+    private Question create(final Locale locale) throws SQLException {
+        Question question = questions.getTestQuestion();
+        return questionService.create(List.of("c1"), null,
+                question.getType(), locale, OWNER_USER, question).get();
+    }
+
+    private static String text(final ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+package com.gurukulams.questionbank.service;
+
+import com.gurukulams.questionbank.model.QuestionChoice;
+import com.gurukulams.questionbank.payload.Question;
+import com.gurukulams.questionbank.payload.QuestionType;
+import com.gurukulams.questionbank.util.CountingDataSource;
+import com.gurukulams.questionbank.util.TestUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.gurukulams.questionbank.service.QuestionService.OWNER_USER;
+
+class SampleTest {
+
+    private static final List<String> CATEGORIES = List.of("c1", "c2");
+
+    private static final Map<QuestionType, Integer> QUOTA = Map.of(
+            QuestionType.CHOOSE_THE_BEST, 3,
+            QuestionType.MULTI_CHOICE, 2,
+            QuestionType.MATCH_THE_FOLLOWING, 10,
+            QuestionType.SINGLE_LINE, 0);
+
+    private final CountingDataSource dataSource =
+            new CountingDataSource(TestUtil.getDataSource());
+
+    private final QuestionService questionService = new QuestionService(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            TestUtil.questionBankManager(),
+            dataSource);
+
+    @BeforeEach
+    void before() throws SQLException {
+        questionService.delete();
+        create(new ChoseTheBestTest(), 10, CATEGORIES);
+        create(new MultiChoiceTest(), 10, CATEGORIES);
+        create(new MatchTheFollowingTest(), 5, CATEGORIES);
+        create(new ChoseTheBestTest(), 10, List.of("c1"));
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        questionService.dropSnapshot();
+        questionService.delete();
+    }
+
+    @Test
+    void testSample() throws SQLException {
+        dataSource.reset();
+        List<Question> sampled = questionService.sample(CATEGORIES, QUOTA,
+                Locale.GERMAN, 42);
+        // ids and types, questions, choices and matches
+        Assertions.assertEquals(4, dataSource.getStatementCount());
+
+        Assertions.assertEquals(List.of(
+                QuestionType.CHOOSE_THE_BEST, QuestionType.CHOOSE_THE_BEST,
+                QuestionType.CHOOSE_THE_BEST, QuestionType.MULTI_CHOICE,
+                QuestionType.MULTI_CHOICE,
+                QuestionType.MATCH_THE_FOLLOWING,
+                QuestionType.MATCH_THE_FOLLOWING,
+                QuestionType.MATCH_THE_FOLLOWING,
+                QuestionType.MATCH_THE_FOLLOWING,
+                QuestionType.MATCH_THE_FOLLOWING),
+                sampled.stream().map(Question::getType).toList());
+        Set<UUID> inBoth = new HashSet<>(questionService.list(OWNER_USER,
+                null, CATEGORIES).stream().map(Question::getId).toList());
+        assertNoAnswers(sampled);
+        assertNoPairs(sampled);
+        sampled.forEach(question -> {
+            Assertions.assertFalse(question.getChoices().isEmpty());
+            Assertions.assertTrue(inBoth.contains(question.getId()));
+        });
+        Assertions.assertEquals(sampled.size(), sampled.stream()
+                .map(Question::getId).distinct().count());
+
+        Assertions.assertEquals(ids(sampled), ids(questionService.sample(
+                CATEGORIES, QUOTA, Locale.GERMAN, 42)));
+        Assertions.assertTrue(IntStream.range(0, 5).anyMatch(seed -> {
+            try {
+                return !ids(sampled).equals(ids(questionService.sample(
+                        CATEGORIES, QUOTA, null, seed)));
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+
+        // same sample from snapshot
+        questionService.snapshot(List.of("c2"));
+        dataSource.reset();
+        List<Question> fromSnapshot = questionService.sample(CATEGORIES,
+                QUOTA, Locale.GERMAN, 42);
+        Assertions.assertEquals(0, dataSource.getCount());
+        Assertions.assertEquals(ids(sampled), ids(fromSnapshot));
+        assertNoAnswers(fromSnapshot);
+        assertNoPairs(fromSnapshot);
+    }
+
+    @Test
+    void testEmpty() throws SQLException {
+        Assertions.assertTrue(questionService.sample(List.of("c3"), QUOTA,
+                null, 1).isEmpty());
+        Assertions.assertTrue(questionService.sample(CATEGORIES,
+                Map.of(QuestionType.CODE_JAVA, 1), null, 1).isEmpty());
+        Assertions.assertTrue(questionService.sample(CATEGORIES, Map.of(),
+                null, 1).isEmpty());
+        Assertions.assertTrue(questionService.sample(List.of(), QUOTA,
+                null, 1).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                questionService.sample(CATEGORIES,
+                        Map.of(QuestionType.CHOOSE_THE_BEST, -1), null, 1));
+    }
+
+    private void create(final QuestionServiceTest questions,
+                        final int count,
+                        final List<String> categories) throws SQLException {
+        questionService.createAll(categories, Locale.GERMAN, OWNER_USER,
+                IntStream.range(0, count)
+                        .mapToObj(i -> questions.getTestQuestion()));
+    }
+
+    private static void assertNoAnswers(final List<Question> questions) {
+        questions.forEach(question -> {
+            Assertions.assertNull(question.getAnswer());
+            question.getChoices().forEach(choice ->
+                    Assertions.assertNull(choice.isAnswer()));
+            if (question.getMatches() != null) {
+                question.getMatches().forEach(match ->
+                        Assertions.assertNull(match.isAnswer()));
+            }
+        });
+    }
+
+    private void assertNoPairs(final List<Question> questions)
+            throws SQLException {
+        // matches are in the order of id, so match i is not the pair of
+        // choice i, as it is when read by the owner
+        boolean anyUnpaired = false;
+        for (Question question : questions) {
+            if (question.getType() == QuestionType.MATCH_THE_FOLLOWING) {
+                List<UUID> matchIds = question.getMatches().stream()
+                        .map(QuestionChoice::id).toList();
+                Assertions.assertEquals(matchIds.stream().sorted().toList(),
+                        matchIds);
+                Question read = questionService.read(question.getId(),
+                        null).get();
+                anyUnpaired |= !matchIds.equals(read.getMatches().stream()
+                        .map(QuestionChoice::id).toList());
+            }
+        }
+        Assertions.assertTrue(anyUnpaired);
+    }
+
+    private static List<UUID> ids(final List<Question> questions) {
+        return questions.stream().map(Question::getId).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.gurukulams.questionbank.util;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * DataSource that counts connections borrowed and statements prepared on
+ * them. Every statement is a round trip. A hook can run before every
+ * statement is prepared, with its sql.
+ */
+public class CountingDataSource implements DataSource {
+
+    private final DataSource dataSource;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final AtomicInteger statements = new AtomicInteger();
+
+    private volatile Consumer<String> onPrepare = sql -> { };
+
+    public CountingDataSource(final DataSource theDataSource) {
+        this.dataSource = theDataSource;
+    }
+
+    public int getCount() {
+        return connections.get();
+    }
+
+    public int getStatementCount() {
+        return statements.get();
+    }
+
+    public void setOnPrepare(final Consumer<String> theOnPrepare) {
+        this.onPrepare = theOnPrepare;
+    }
+
+    public void reset() {
+        connections.set(0);
+        statements.set(0);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        connections.incrementAndGet();
+        return counting(dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+                                    final String password)
+            throws SQLException {
+        connections.incrementAndGet();
+        return counting(dataSource.getConnection(username, password));
+    }
+
+    private Connection counting(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare")
+                            || method.getName().equals("createStatement")) {
+                        statements.incrementAndGet();
+                    }
+                    if (method.getName().startsWith("prepare")) {
+                        onPrepare.accept((String) args[0]);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return dataSource.isWrapperFor(iface);
+    }
+}